@@ -0,0 +1,428 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.iban4j.bban.BbanEntryType;
+import org.iban4j.bban.BbanStructure;
+import org.iban4j.bban.BbanStructureEntry;
+import org.iban4j.bban.BbanStructureEntry.EntryCharacterType;
+
+/**
+ * Index deriving the BIC of an IBAN from its national bank code, and for countries whose
+ * directory needs it, its branch code, in a memory-mapped file.
+ *
+ * <p>The file is written by {@link Builder#write(Path)} and holds one table per country, sorted
+ * by national code. Every record takes 16 bytes: the bank code, and optionally the branch code,
+ * packed into a long according to the country's BBAN structure, and the {@link Bic#toLong()
+ * packed BIC}. {@link #open(Path)} maps the file and only reads its small country directory,
+ * records are paged in by the operating system on lookup. Lookups binary search the table of
+ * the IBAN's country, first by bank and branch code, then by bank code alone, and don't
+ * allocate.</p>
+ *
+ * <p>Instances are thread-safe. {@link #reload()} maps the file again and switches lookups to
+ * it once it is opened, without blocking them. As {@link Builder#write(Path)} replaces the file
+ * atomically, an index file can be rewritten and reloaded while it's in use.</p>
+ *
+ * <pre>
+ * BankCodeIndex.Builder builder = BankCodeIndex.builder();
+ * builder.add(CountryCode.DE, "37040044", Bic.valueOf("COBADEFFXXX"));
+ * builder.write(path);
+ *
+ * BankCodeIndex index = BankCodeIndex.open(path);
+ * Bic bic = index.getBic(iban);
+ * </pre>
+ */
+public final class BankCodeIndex {
+
+  // "BKCX"
+  private static final int MAGIC = 0x424B4358;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int DIRECTORY_ENTRY_SIZE = 8;
+  private static final int RECORD_SIZE = 2 * Long.BYTES;
+  private static final int BBAN_INDEX = 4;
+  private static final int LETTERS = 26;
+  private static final int DIGITS = 10;
+  private static final int COUNTRIES = LETTERS * LETTERS;
+  // bits of a packed bank and branch code with its flag, leaving room for the country
+  private static final int NATIONAL_CODE_BITS = 48;
+  // records of one file mapping
+  private static final long MAX_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE
+      - (long) COUNTRIES * DIRECTORY_ENTRY_SIZE) / RECORD_SIZE;
+
+  /**
+   * Mapped records with the first record and record count of every country's table.
+   */
+  private static final class Tables {
+
+    private final ByteBuffer records;
+    private final int[] starts;
+    private final int[] counts;
+    private final long size;
+
+    private Tables(final ByteBuffer records, final int[] starts, final int[] counts,
+        final long size) {
+      this.records = records;
+      this.starts = starts;
+      this.counts = counts;
+      this.size = size;
+    }
+  }
+
+  private final Path path;
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  private volatile Tables tables;
+
+  private BankCodeIndex(final Path path, final Tables tables) {
+    this.path = path;
+    this.tables = tables;
+  }
+
+  /**
+   * Creates a new builder for a BankCodeIndex file.
+   *
+   * @return a new, empty builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Opens an index file written by {@link Builder#write(Path)}.
+   *
+   * @param path the index file.
+   * @return the index, backed by a read-only mapping of the file.
+   * @throws IOException if the file can't be read or is no index file.
+   */
+  public static BankCodeIndex open(final Path path) throws IOException {
+    return new BankCodeIndex(path, map(path));
+  }
+
+  /**
+   * Returns the number of records.
+   *
+   * @return the number of national codes in all tables.
+   */
+  public long size() {
+    return tables.size;
+  }
+
+  /**
+   * Maps the file again, e.g. after it has been rewritten. Lookups keep using the current
+   * mapping until the file is opened, and keep it if opening fails.
+   *
+   * @throws IOException if the file can't be read or is no index file.
+   */
+  public void reload() throws IOException {
+    reloadLock.lock();
+    try {
+      tables = map(path);
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Derives the BIC of the given IBAN.
+   *
+   * @param iban the IBAN.
+   * @return the BIC, or {@code null} if the index has none for the IBAN's national code.
+   */
+  public Bic getBic(final Iban iban) {
+    return iban == null ? null : getBic(iban.toString());
+  }
+
+  /**
+   * Derives the BIC of the given IBAN in electronic format.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return the BIC, or {@code null} if the index has none for the IBAN's national code.
+   */
+  public Bic getBic(final CharSequence iban) {
+    final long bic = getPackedBic(iban);
+    return bic == 0 ? null : Bic.ofValidated(BicUtil.unpack(bic));
+  }
+
+  /**
+   * Derives the packed BIC of the given IBAN in electronic format, without allocating.
+   * The IBAN's structure is checked, its check digit is not.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return the BIC as returned by {@link Bic#toLong()}, or 0 if the index has none for the
+   * IBAN's national code.
+   */
+  public long getPackedBic(final CharSequence iban) {
+    final BbanStructure structure = PackedIban.packableStructure(iban);
+    if (structure == null) {
+      return 0;
+    }
+    final Tables current = tables;
+    final int country = countryIndex(iban.charAt(0), iban.charAt(1));
+    final long bankCode = pack(iban, BBAN_INDEX + structure.getEntryOffset(BbanEntryType.bank_code),
+        structure, BbanEntryType.bank_code, 0);
+    if (structure.getEntry(BbanEntryType.branch_code) != null) {
+      final long bic = find(current, country, withBranchCode(pack(iban,
+          BBAN_INDEX + structure.getEntryOffset(BbanEntryType.branch_code),
+          structure, BbanEntryType.branch_code, bankCode)));
+      if (bic != 0) {
+        return bic;
+      }
+    }
+    return find(current, country, withoutBranchCode(bankCode));
+  }
+
+  @Override
+  public String toString() {
+    return "BankCodeIndex{path=" + path + ", size=" + size() + '}';
+  }
+
+  private static Tables map(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long fileSize = channel.size();
+      if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+        throw new IOException(path + " is no bank code index file.");
+      }
+      final ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      if (file.getInt(0) != MAGIC) {
+        throw new IOException(path + " is no bank code index file.");
+      }
+      final int version = file.getInt(Integer.BYTES);
+      if (version != VERSION) {
+        throw new IOException("Unsupported bank code index version " + version + '.');
+      }
+      final int countries = file.getInt(2 * Integer.BYTES);
+      if (countries < 0 || countries > COUNTRIES
+          || fileSize < HEADER_SIZE + (long) countries * DIRECTORY_ENTRY_SIZE) {
+        throw new IOException(path + " is a corrupt bank code index file.");
+      }
+      final int[] starts = new int[COUNTRIES];
+      final int[] counts = new int[COUNTRIES];
+      long size = 0;
+      for (int i = 0; i < countries; i++) {
+        final int country = file.getInt(HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE);
+        final int count = file.getInt(HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE + Integer.BYTES);
+        if (country < 0 || country >= COUNTRIES || counts[country] != 0 || count <= 0) {
+          throw new IOException(path + " is a corrupt bank code index file.");
+        }
+        starts[country] = (int) size;
+        counts[country] = count;
+        size += count;
+      }
+      final int recordsOffset = HEADER_SIZE + countries * DIRECTORY_ENTRY_SIZE;
+      if (fileSize != recordsOffset + size * RECORD_SIZE) {
+        throw new IOException(path + " is a corrupt bank code index file.");
+      }
+      file.position(recordsOffset);
+      return new Tables(file.slice(), starts, counts, size);
+    }
+  }
+
+  /**
+   * Binary searches the table of the given country for the given key.
+   *
+   * @return the packed bic, or 0 if the key is absent.
+   */
+  private static long find(final Tables tables, final int country, final long key) {
+    int low = tables.starts[country];
+    int high = low + tables.counts[country] - 1;
+    while (low <= high) {
+      final int middle = low + high >>> 1;
+      final long current = tables.records.getLong(middle * RECORD_SIZE);
+      if (current < key) {
+        low = middle + 1;
+      } else if (current > key) {
+        high = middle - 1;
+      } else {
+        return tables.records.getLong(middle * RECORD_SIZE + Long.BYTES);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Appends the characters of a bban entry found at the given index of value to packed,
+   * as digits of the radix of their character type. Bank and branch code of every supported
+   * country take at most 47 bits.
+   */
+  private static long pack(final CharSequence value, final int index,
+      final BbanStructure structure, final BbanEntryType entryType, long packed) {
+    final int offset = structure.getEntryOffset(entryType);
+    final int length = structure.getEntry(entryType).getLength();
+    for (int i = 0; i < length; i++) {
+      final EntryCharacterType type = structure.getCharacterType(offset + i);
+      final char ch = value.charAt(index + i);
+      switch (type) {
+        case n:
+          packed = packed * DIGITS + ch - '0';
+          break;
+        case a:
+          packed = packed * LETTERS + ch - 'A';
+          break;
+        default:
+          packed = packed * (DIGITS + LETTERS) + (ch <= '9' ? ch - '0' : ch - 'A' + DIGITS);
+      }
+    }
+    return packed;
+  }
+
+  private static long withBranchCode(final long packed) {
+    return packed << 1 | 1;
+  }
+
+  private static long withoutBranchCode(final long packed) {
+    return packed << 1;
+  }
+
+  private static int countryIndex(final char first, final char second) {
+    return (first - 'A') * LETTERS + second - 'A';
+  }
+
+  /**
+   * Builder of a BankCodeIndex file.
+   */
+  public static final class Builder {
+
+    // key is the country index followed by the national code, keeping the last bic of a code
+    private final TreeMap<Long, Long> records = new TreeMap<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Adds the BIC of a national bank code. A code added twice keeps its last BIC.
+     *
+     * @param countryCode the country of the bank code.
+     * @param bankCode the bank code, as returned by {@link Iban#getBankCode()}.
+     * @param bic the BIC of the bank code.
+     * @return this builder for method chaining.
+     * @throws UnsupportedCountryException if the country has no BBAN structure.
+     * @throws IbanFormatException if the bank code doesn't match the BBAN structure.
+     */
+    public Builder add(final CountryCode countryCode, final String bankCode, final Bic bic) {
+      BbanStructure.validateBbanEntry(countryCode, BbanEntryType.bank_code, bankCode);
+      final BbanStructure structure = BbanStructure.forCountry(countryCode);
+      return add(countryCode, withoutBranchCode(
+          pack(bankCode, 0, structure, BbanEntryType.bank_code, 0)), bic);
+    }
+
+    /**
+     * Adds the BIC of a national bank and branch code. Lookups of IBANs with this branch code
+     * return it rather than the BIC of the bank code alone. A code added twice keeps its last BIC.
+     *
+     * @param countryCode the country of the bank code.
+     * @param bankCode the bank code, as returned by {@link Iban#getBankCode()}.
+     * @param branchCode the branch code, as returned by {@link Iban#getBranchCode()}.
+     * @param bic the BIC of the bank and branch code.
+     * @return this builder for method chaining.
+     * @throws UnsupportedCountryException if the country has no BBAN structure.
+     * @throws IbanFormatException if the country's BBAN has no branch code, or a code doesn't
+     * match the BBAN structure.
+     */
+    public Builder add(final CountryCode countryCode, final String bankCode,
+        final String branchCode, final Bic bic) {
+      BbanStructure.validateBbanEntry(countryCode, BbanEntryType.bank_code, bankCode);
+      BbanStructure.validateBbanEntry(countryCode, BbanEntryType.branch_code, branchCode);
+      final BbanStructure structure = BbanStructure.forCountry(countryCode);
+      return add(countryCode, withBranchCode(pack(branchCode, 0, structure,
+          BbanEntryType.branch_code, pack(bankCode, 0, structure, BbanEntryType.bank_code, 0))),
+          bic);
+    }
+
+    /**
+     * Writes the index file, replacing any existing file at the given path atomically
+     * where the file system supports it, so that processes opening it see either file.
+     *
+     * @param path the index file.
+     * @return the number of distinct national codes written.
+     * @throws IOException if the file can't be written.
+     */
+    public long write(final Path path) throws IOException {
+      final int[] counts = new int[COUNTRIES];
+      int countries = 0;
+      for (final Long key : records.keySet()) {
+        if (counts[country(key)]++ == 0) {
+          countries++;
+        }
+      }
+      final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE
+          + countries * DIRECTORY_ENTRY_SIZE + records.size() * RECORD_SIZE);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(countries).putInt(0);
+      for (int country = 0; country < COUNTRIES; country++) {
+        if (counts[country] > 0) {
+          buffer.putInt(country).putInt(counts[country]);
+        }
+      }
+      for (final Map.Entry<Long, Long> record : records.entrySet()) {
+        buffer.putLong(nationalCode(record.getKey())).putLong(record.getValue());
+      }
+      buffer.flip();
+
+      final Path absolute = path.toAbsolutePath();
+      final Path temporary = Files.createTempFile(absolute.getParent(),
+          absolute.getFileName().toString(), ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+          channel.force(true);
+        }
+        try {
+          Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE,
+              StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+      return records.size();
+    }
+
+    private Builder add(final CountryCode countryCode, final long nationalCode, final Bic bic) {
+      if (nationalCode >>> NATIONAL_CODE_BITS != 0) {
+        throw new IllegalArgumentException("National code of " + countryCode + " is too long.");
+      }
+      if (records.size() == MAX_RECORDS) {
+        throw new IllegalStateException("Bank code index is full.");
+      }
+      final String alpha2 = countryCode.getAlpha2();
+      final long country = countryIndex(alpha2.charAt(0), alpha2.charAt(1));
+      records.put(country << NATIONAL_CODE_BITS | nationalCode, bic.toLong());
+      return this;
+    }
+
+    private static int country(final long key) {
+      return (int) (key >>> NATIONAL_CODE_BITS);
+    }
+
+    private static long nationalCode(final long key) {
+      return key & (1L << NATIONAL_CODE_BITS) - 1;
+    }
+  }
+}
@@ -42,6 +42,38 @@ public final class Bic {
     return new Bic(bic);
   }
 
+  /**
+   * Wraps a BIC string which has already passed validation.
+   *
+   * @param bic The validated BIC string.
+   * @return A {@code Bic} object holding the given value.
+   */
+  static Bic ofValidated(final String bic) {
+    return new Bic(bic);
+  }
+
+  /**
+   * Returns a Bic object from its packed form.
+   *
+   * @param packed the value returned by {@link #toLong()}.
+   * @return a Bic object holding the unpacked value.
+   * @throws IllegalArgumentException if the value is no packed Bic.
+   * @throws org.iban4j.UnsupportedCountryException if bic's country is not supported.
+   */
+  public static Bic fromLong(final long packed) {
+    return valueOf(BicUtil.unpack(packed));
+  }
+
+  /**
+   * Returns the Bic packed into a single long, e.g. as a compact key.
+   * Packed Bics compare like their string values and a Bic11 never packs like its Bic8 form.
+   *
+   * @return the positive value read back by {@link #fromLong(long)}.
+   */
+  public long toLong() {
+    return BicUtil.pack(value);
+  }
+
   /**
    * Returns the bank code from the Bic.
    *
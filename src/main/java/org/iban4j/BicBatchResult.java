@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.BitSet;
+import org.iban4j.BicFormatException.BicFormatViolation;
+
+/**
+ * Per-item outcome of validating a batch of BICs, indexed like the input.
+ *
+ * <p>The outcome of every item is kept in a single byte and valid items are
+ * additionally tracked in a {@link BitSet}.</p>
+ *
+ * @see BicUtil#validateAll(java.util.List)
+ */
+public final class BicBatchResult {
+
+  private final BitSet valid;
+  private final byte[] codes;
+
+  BicBatchResult(final BitSet valid, final byte[] codes) {
+    this.valid = valid;
+    this.codes = codes;
+  }
+
+  /**
+   * Returns the number of validated items.
+   *
+   * @return the size of the input.
+   */
+  public int size() {
+    return codes.length;
+  }
+
+  /**
+   * Checks whether the item at the given index is valid.
+   *
+   * @param index index of the item in the input.
+   * @return {@code true} if the item is valid.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public boolean isValid(final int index) {
+    checkIndex(index);
+    return valid.get(index);
+  }
+
+  /**
+   * Returns the number of valid items.
+   *
+   * @return the number of valid items.
+   */
+  public int getValidCount() {
+    return valid.cardinality();
+  }
+
+  /**
+   * Returns the indices of the valid items.
+   *
+   * @return a copy of the set of valid indices.
+   */
+  public BitSet getValid() {
+    return (BitSet) valid.clone();
+  }
+
+  /**
+   * Checks whether the item at the given index has a country code which is not supported,
+   * i.e. {@link BicUtil#validate(String)} would throw {@link UnsupportedCountryException}.
+   *
+   * @param index index of the item in the input.
+   * @return {@code true} if the item's country is not supported.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public boolean isUnsupportedCountry(final int index) {
+    checkIndex(index);
+    return getValidationResult(index) == BicValidationResult.UNSUPPORTED_COUNTRY;
+  }
+
+  /**
+   * Returns the format violation of the item at the given index.
+   *
+   * @param index index of the item in the input.
+   * @return the {@link BicFormatViolation}, or {@code null} if the item is valid
+   * or its country is not supported.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public BicFormatViolation getFormatViolation(final int index) {
+    checkIndex(index);
+    return getValidationResult(index).getFormatViolation();
+  }
+
+  /**
+   * Returns the validation result of the item at the given index.
+   *
+   * @param index index of the item in the input.
+   * @return the shared {@link BicValidationResult} of the item.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public BicValidationResult getValidationResult(final int index) {
+    checkIndex(index);
+    return BicValidationResult.ofCode(codes[index]);
+  }
+
+  @Override
+  public String toString() {
+    return "BicBatchResult{size=" + size() + ", valid=" + getValidCount() + '}';
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= codes.length) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index %d out of bounds for length %d", index, codes.length));
+    }
+  }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Directory of BIC entries resolving a BIC to its most specific entry: the entry of its branch,
+ * else the entry of its primary office, else the entry of its institution.
+ *
+ * <p>Entries are keyed by a BIC11 for a branch, by a BIC8, or equivalently a BIC11 with the
+ * {@code XXX} branch code, for a primary office, and by the 6 characters of bank and country
+ * code for an institution. Each key carries an opaque string value, such as a routing target.
+ * Keys are held in a {@link BicHashMap} by their {@link Bic#toLong() packed form}, so that
+ * {@link #resolve(CharSequence)} takes at most 3 lookups and doesn't allocate.</p>
+ *
+ * <p>Directories are loaded from a UTF-8 CSV file of {@code key,value} lines, where the value
+ * is the rest of the line and may be empty, blank lines and lines whose first non-blank
+ * character is {@code #} being skipped, or from the binary file written by
+ * {@link #writeBinary(Path)}, which loads without any parsing. A leading byte order mark is
+ * ignored. A key appearing twice keeps its last value.</p>
+ *
+ * <p>Instances are thread-safe. Lookups read an immutable snapshot of the entries without
+ * locking and {@link #reload()} replaces the snapshot once the new one is completely loaded,
+ * so lookups never wait for a reload and never see a partly loaded directory.</p>
+ *
+ * <pre>
+ * BicDirectory directory = BicDirectory.fromCsv(path);
+ * BicDirectory.Entry entry = directory.resolve("DEUTDEFF500");
+ * </pre>
+ */
+public final class BicDirectory {
+
+  // "BICD"
+  private static final int MAGIC = 0x42494344;
+  private static final int VERSION = 1;
+  private static final char CSV_DELIMITER = ',';
+  private static final char CSV_COMMENT = '#';
+  private static final String BYTE_ORDER_MARK = "\uFEFF";
+  private static final int INSTITUTION_LENGTH = 6;
+  private static final int BIC8_LENGTH = 8;
+  private static final int BIC11_LENGTH = 11;
+  private static final String PRIMARY_OFFICE_BRANCH_CODE = "XXX";
+  // completes an institution key to a bic8 for validation
+  private static final String ANY_LOCATION_CODE = "XX";
+
+  /**
+   * Granularity of a directory entry.
+   */
+  public enum Level {
+    /** Entry of a single branch, keyed by a BIC11. */
+    BRANCH,
+    /** Entry of the primary office, keyed by a BIC8 or a BIC11 with branch code {@code XXX}. */
+    PRIMARY_OFFICE,
+    /** Entry of an institution in a country, keyed by bank and country code. */
+    INSTITUTION
+  }
+
+  /**
+   * An entry of the directory.
+   */
+  public static final class Entry {
+
+    private final String key;
+    private final Level level;
+    private final String value;
+    private final long packedKey;
+
+    private Entry(final String key, final Level level, final String value) {
+      this.key = key;
+      this.level = level;
+      this.value = value;
+      this.packedKey = BicUtil.packPrefix(key, packedLength(level));
+    }
+
+    /**
+     * Returns the key as given in the loaded file.
+     *
+     * @return the BIC11, BIC8 or bank and country code.
+     */
+    public String getKey() {
+      return key;
+    }
+
+    /**
+     * Returns the granularity of the entry.
+     *
+     * @return the {@link Level}.
+     */
+    public Level getLevel() {
+      return level;
+    }
+
+    /**
+     * Returns the value of the entry.
+     *
+     * @return the value, empty if the file had none.
+     */
+    public String getValue() {
+      return value;
+    }
+
+    @Override
+    public String toString() {
+      return key + CSV_DELIMITER + value;
+    }
+  }
+
+  private enum Format {
+    CSV,
+    BINARY
+  }
+
+  /**
+   * Immutable entries published by {@link #reload()}.
+   */
+  private static final class Snapshot {
+
+    private final BicHashMap<Entry> map;
+    private final List<Entry> entries;
+
+    private Snapshot(final BicHashMap<Entry> map, final List<Entry> entries) {
+      this.map = map;
+      this.entries = entries;
+    }
+  }
+
+  private final Path path;
+  private final Format format;
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  private volatile Snapshot snapshot;
+
+  private BicDirectory(final Path path, final Format format) throws IOException {
+    this.path = path;
+    this.format = format;
+    this.snapshot = load();
+  }
+
+  /**
+   * Loads a directory from a CSV file of {@code key,value} lines.
+   *
+   * @param path the CSV file, UTF-8 encoded.
+   * @return the loaded directory.
+   * @throws IOException if the file can't be read or holds an invalid key.
+   */
+  public static BicDirectory fromCsv(final Path path) throws IOException {
+    return new BicDirectory(path, Format.CSV);
+  }
+
+  /**
+   * Loads a directory from a binary file written by {@link #writeBinary(Path)}.
+   *
+   * @param path the binary file.
+   * @return the loaded directory.
+   * @throws IOException if the file can't be read or is no directory file.
+   */
+  public static BicDirectory fromBinary(final Path path) throws IOException {
+    return new BicDirectory(path, Format.BINARY);
+  }
+
+  /**
+   * Resolves a BIC to its most specific entry, without allocating.
+   *
+   * @param bic the BIC8 or BIC11, may be anything.
+   * @return the entry of the BIC's branch, else of its primary office, else of its institution,
+   * or {@code null} if there is none.
+   */
+  public Entry resolve(final CharSequence bic) {
+    if (BicUtil.pack(bic) == 0) {
+      return null;
+    }
+    final BicHashMap<Entry> map = snapshot.map;
+    Entry entry = bic.length() == BIC11_LENGTH ? map.getPacked(BicUtil.pack(bic)) : null;
+    if (entry == null) {
+      entry = map.getPacked(BicUtil.packPrefix(bic, BIC8_LENGTH));
+    }
+    if (entry == null) {
+      entry = map.getPacked(BicUtil.packPrefix(bic, INSTITUTION_LENGTH));
+    }
+    return entry;
+  }
+
+  /**
+   * Resolves a BIC to its most specific entry, see {@link #resolve(CharSequence)}.
+   *
+   * @param bic the BIC.
+   * @return the most specific entry, or {@code null} if there is none.
+   */
+  public Entry resolve(final Bic bic) {
+    return bic == null ? null : resolve(bic.toString());
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the number of distinct keys.
+   */
+  public int size() {
+    return snapshot.entries.size();
+  }
+
+  /**
+   * Reloads the directory from its file. Lookups keep using the current entries until the file
+   * is completely loaded, and keep them if loading fails.
+   *
+   * @throws IOException if the file can't be read or holds an invalid entry.
+   */
+  public void reload() throws IOException {
+    reloadLock.lock();
+    try {
+      snapshot = load();
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Writes the current entries to a binary file read by {@link #fromBinary(Path)}, replacing any
+   * existing file atomically where the file system supports it.
+   *
+   * @param target the binary file.
+   * @throws IOException if the file can't be written.
+   */
+  public void writeBinary(final Path target) throws IOException {
+    final List<Entry> entries = snapshot.entries;
+    final Path absolute = target.toAbsolutePath();
+    final Path temporary = Files.createTempFile(absolute.getParent(),
+        absolute.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        for (final Entry entry : entries) {
+          out.writeUTF(entry.key);
+          out.writeUTF(entry.value);
+        }
+      }
+      try {
+        Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "BicDirectory{path=" + path + ", size=" + size() + '}';
+  }
+
+  private Snapshot load() throws IOException {
+    final List<Entry> loaded = format == Format.CSV ? readCsv() : readBinary();
+    final BicHashMap<Entry> map = new BicHashMap<>(loaded.size());
+    for (final Entry entry : loaded) {
+      map.putPacked(entry.packedKey, entry);
+    }
+    // keeps the last entry of every key
+    final List<Entry> entries = new ArrayList<>(map.size());
+    for (final Entry entry : loaded) {
+      if (map.getPacked(entry.packedKey) == entry) {
+        entries.add(entry);
+      }
+    }
+    return new Snapshot(map, entries);
+  }
+
+  private List<Entry> readCsv() throws IOException {
+    final List<Entry> entries = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      int lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (lineNumber == 1 && line.startsWith(BYTE_ORDER_MARK)) {
+          line = line.substring(BYTE_ORDER_MARK.length());
+        }
+        final String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.charAt(0) == CSV_COMMENT) {
+          continue;
+        }
+        final int delimiter = line.indexOf(CSV_DELIMITER);
+        final String key = (delimiter < 0 ? line : line.substring(0, delimiter)).trim();
+        final String value = delimiter < 0 ? "" : line.substring(delimiter + 1);
+        entries.add(entry(key, value, "line " + lineNumber));
+      }
+    }
+    return entries;
+  }
+
+  private List<Entry> readBinary() throws IOException {
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException(path + " is no BIC directory file.");
+      }
+      final int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported BIC directory version " + version + '.');
+      }
+      final int count = in.readInt();
+      if (count < 0) {
+        throw new IOException(path + " is a corrupt BIC directory file.");
+      }
+      final List<Entry> entries = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        entries.add(entry(in.readUTF(), in.readUTF(), "entry " + i));
+      }
+      return entries;
+    }
+  }
+
+  private Entry entry(final String key, final String value, final String position)
+      throws IOException {
+    final Level level = levelOf(key);
+    if (level == null) {
+      throw new IOException("Invalid BIC directory key [" + key + "] at " + position
+          + " of " + path + '.');
+    }
+    return new Entry(key, level, value);
+  }
+
+  /**
+   * Returns the level of a valid key, or null if the key is invalid.
+   */
+  private static Level levelOf(final String key) {
+    switch (key.length()) {
+      case INSTITUTION_LENGTH:
+        return BicUtil.isValid(key + ANY_LOCATION_CODE) ? Level.INSTITUTION : null;
+      case BIC8_LENGTH:
+        return BicUtil.isValid(key) ? Level.PRIMARY_OFFICE : null;
+      case BIC11_LENGTH:
+        if (!BicUtil.isValid(key)) {
+          return null;
+        }
+        return key.endsWith(PRIMARY_OFFICE_BRANCH_CODE) ? Level.PRIMARY_OFFICE : Level.BRANCH;
+      default:
+        return null;
+    }
+  }
+
+  private static int packedLength(final Level level) {
+    switch (level) {
+      case BRANCH:
+        return BIC11_LENGTH;
+      case PRIMARY_OFFICE:
+        return BIC8_LENGTH;
+      default:
+        return INSTITUTION_LENGTH;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Map from BICs kept in their {@link Bic#toLong() packed form}, for large mappings such as
+ * routing tables or correspondent bank lookups.
+ *
+ * <p>Keys are stored as longs in one flat array, with the values in a parallel array: 12 bytes
+ * per slot with compressed references, besides the values themselves. A slot is empty if its key
+ * is 0, which no packed BIC is; see {@link PackedHashTable} for the table itself. Lookups take a BIC as any
+ * {@link CharSequence} and don't create a {@link Bic} or any other object; a {@link Bic} is
+ * looked up by its {@link Bic#toString() string form}.
+ * {@code null} values are permitted.</p>
+ *
+ * <p>This class is not thread-safe. Concurrent lookups are safe as long as the map is not
+ * modified.</p>
+ *
+ * @param <V> the type of the values.
+ */
+public final class BicHashMap<V> extends PackedHashTable {
+
+  /**
+   * Creates an empty map.
+   */
+  public BicHashMap() {
+    this(0);
+  }
+
+  /**
+   * Creates an empty map holding the given number of BICs without resizing.
+   *
+   * @param expectedSize the expected number of BICs.
+   * @throws IllegalArgumentException if expectedSize is negative or too large.
+   */
+  public BicHashMap(final int expectedSize) {
+    super(1, expectedSize, true);
+  }
+
+  /**
+   * Associates the given value with the given BIC.
+   *
+   * @param bic the BIC.
+   * @param value the value.
+   * @return the previous value of the BIC, or {@code null} if there was none.
+   */
+  public V put(final Bic bic, final V value) {
+    return put(bic.toLong(), value, false);
+  }
+
+  /**
+   * Associates the given value with the given BIC after validating it like
+   * {@link BicUtil#validate(String)}.
+   *
+   * @param bic the BIC.
+   * @param value the value.
+   * @return the previous value of the BIC, or {@code null} if there was none.
+   * @throws BicFormatException if the BIC is invalid.
+   * @throws UnsupportedCountryException if the BIC's country is not supported.
+   */
+  public V put(final CharSequence bic, final V value) {
+    BicUtil.validate(bic == null ? null : bic.toString());
+    return put(BicUtil.pack(bic), value, false);
+  }
+
+  /**
+   * Associates the given value with the given BIC unless it already has a value.
+   *
+   * @param bic the BIC.
+   * @param value the value.
+   * @return the current value of the BIC, or {@code null} if there was none.
+   */
+  public V putIfAbsent(final Bic bic, final V value) {
+    return put(bic.toLong(), value, true);
+  }
+
+  /**
+   * Returns the value of the given BIC, without allocating.
+   *
+   * @param bic the BIC, may be anything.
+   * @return the value, or {@code null} if the BIC has none.
+   */
+  public V get(final CharSequence bic) {
+    return getOrDefault(BicUtil.pack(bic), null);
+  }
+
+  /**
+   * Returns the value of the given BIC, without allocating.
+   *
+   * @param bic the BIC, may be anything.
+   * @param defaultValue the value to return if the BIC is not a key.
+   * @return the value, or defaultValue if the BIC is not a key.
+   */
+  public V getOrDefault(final CharSequence bic, final V defaultValue) {
+    return getOrDefault(BicUtil.pack(bic), defaultValue);
+  }
+
+  /**
+   * Checks whether the given BIC is a key, without allocating.
+   *
+   * @param bic the BIC, may be anything.
+   * @return {@code true} if the BIC is a key.
+   */
+  public boolean containsKey(final CharSequence bic) {
+    return indexOf(BicUtil.pack(bic)) >= 0;
+  }
+
+  /**
+   * Removes the given BIC.
+   *
+   * @param bic the BIC, may be anything.
+   * @return the removed value, or {@code null} if the BIC had none.
+   */
+  public V remove(final CharSequence bic) {
+    return remove(BicUtil.pack(bic));
+  }
+
+  /**
+   * Unpacks every BIC and passes it with its value to the given action, in no particular order.
+   *
+   * @param action the action to perform on every entry.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(final BiConsumer<? super Bic, ? super V> action) {
+    for (int slot = 0; slot < capacity(); slot++) {
+      if (isOccupied(slot)) {
+        action.accept(Bic.ofValidated(BicUtil.unpack(wordAt(slot, 0))), (V) valueAt(slot));
+      }
+    }
+  }
+
+  /**
+   * Returns the value of a packed key, which may be any packed bic prefix.
+   */
+  V getPacked(final long key) {
+    return getOrDefault(key, null);
+  }
+
+  /**
+   * Associates a value with a packed key, which may be any packed bic prefix.
+   * A map holding keys which are no whole bics can't be iterated by {@link #forEach(BiConsumer)}.
+   */
+  V putPacked(final long key, final V value) {
+    return put(key, value, false);
+  }
+
+  @Override
+  public String toString() {
+    return "BicHashMap{size=" + size() + '}';
+  }
+
+  @SuppressWarnings("unchecked")
+  private V getOrDefault(final long key, final V defaultValue) {
+    final int slot = indexOf(key);
+    return slot < 0 ? defaultValue : (V) valueAt(slot);
+  }
+
+  /**
+   * Returns the slot of the given packed bic or -1 if it's absent.
+   */
+  private int indexOf(final long key) {
+    return key == 0 ? -1 : indexOf(key, 0, 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private V put(final long key, final V value, final boolean onlyIfAbsent) {
+    final int slot = insert(key, 0, 0);
+    if (slot < 0) {
+      setValueAt(~slot, value);
+      return null;
+    }
+    final V previous = (V) valueAt(slot);
+    if (!onlyIfAbsent || previous == null) {
+      setValueAt(slot, value);
+    }
+    return previous;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V remove(final long key) {
+    final int slot = indexOf(key);
+    if (slot < 0) {
+      return null;
+    }
+    final V removed = (V) valueAt(slot);
+    removeAt(slot);
+    return removed;
+  }
+
+  /**
+   * MurmurHash3's fmix64, so that bics differing only in their branch code
+   * still spread over the table. Packed bics are a single word.
+   */
+  @Override
+  int hash(final long key, final long word1, final long word2) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+}
@@ -17,6 +17,9 @@ package org.iban4j;
 
 import static org.iban4j.BicFormatException.BicFormatViolation.*;
 
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * Utility class for validating and extracting information from Business Identifier Codes (BICs).
  * <p>
@@ -36,6 +39,11 @@ public class BicUtil {
   private static final int BRANCH_CODE_INDEX = LOCATION_CODE_INDEX + LOCATION_CODE_LENGTH;
   private static final int BRANCH_CODE_LENGTH = 3;
 
+  // packed digit of every character, 0 standing for the missing branch code of a bic8
+  private static final int PACKED_RADIX = 37;
+  private static final int PACKED_DIGIT_OFFSET = 1;
+  private static final int PACKED_LETTER_OFFSET = PACKED_DIGIT_OFFSET + 10;
+
   // hidden constructor of utility class
   private BicUtil() {
   }
@@ -52,6 +60,100 @@ public class BicUtil {
    */
   public static void validate(final String bic)
       throws BicFormatException, UnsupportedCountryException {
+    if (!getValidationResult(bic).isValid()) {
+      // only the failure path builds the detailed exception
+      validateDetailed(bic);
+    }
+  }
+
+  /**
+   * Validates a BIC without throwing exceptions.
+   * Performs the same checks, in the same order, as {@link #validate(String)},
+   * in a single pass over the characters and without allocating.
+   *
+   * @param bic The BIC to be validated.
+   * @return {@link BicValidationResult#VALID} if the BIC is valid, otherwise the result
+   * describing the first violation found.
+   */
+  public static BicValidationResult getValidationResult(final CharSequence bic) {
+    if (bic == null) {
+      return BicValidationResult.of(BIC_NOT_NULL);
+    }
+    final int length = bic.length();
+    if (length == 0) {
+      return BicValidationResult.of(BIC_NOT_EMPTY);
+    }
+    if (length != BIC8_LENGTH && length != BIC11_LENGTH) {
+      return BicValidationResult.of(BIC_LENGTH_8_OR_11);
+    }
+    // the case check covers the whole bic before any section is checked,
+    // so the first section violation is only returned after the walk
+    BicValidationResult result = BicValidationResult.VALID;
+    boolean nonAscii = false;
+    for (int i = 0; i < length; i++) {
+      final char ch = bic.charAt(i);
+      if (ch >= 'a' && ch <= 'z') {
+        return BicValidationResult.of(BIC_ONLY_UPPER_CASE_LETTERS);
+      }
+      nonAscii |= ch > 0x7F;
+      if (result.isValid()) {
+        result = getCharacterResult(bic, i, ch);
+      }
+    }
+    if (nonAscii) {
+      // rare non ascii input, checked exactly as validateCase does
+      final String value = bic.toString();
+      if (!value.equals(value.toUpperCase())) {
+        return BicValidationResult.of(BIC_ONLY_UPPER_CASE_LETTERS);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether a BIC is valid, see {@link #getValidationResult(CharSequence)}.
+   *
+   * @param bic The BIC to be validated.
+   * @return {@code true} if the BIC is valid.
+   */
+  public static boolean isValid(final CharSequence bic) {
+    return getValidationResult(bic).isValid();
+  }
+
+  /**
+   * Returns the violation of the character at the given index of a bic of valid length,
+   * or VALID; the country's existence is checked at its last character.
+   */
+  private static BicValidationResult getCharacterResult(final CharSequence bic, final int index,
+      final char ch) {
+    if (index < COUNTRY_CODE_INDEX) {
+      return CharacterUtil.isValidAlphanumeric(ch)
+          ? BicValidationResult.VALID : BicValidationResult.of(BANK_CODE_ONLY_ALPHANUMERIC);
+    }
+    if (index < LOCATION_CODE_INDEX) {
+      if (!CharacterUtil.isAsciiUppercaseLetter(ch)) {
+        return BicValidationResult.of(COUNTRY_CODE_ONLY_UPPER_CASE_LETTERS);
+      }
+      if (index == LOCATION_CODE_INDEX - 1
+          && CharacterUtil.isAsciiUppercaseLetter(bic.charAt(COUNTRY_CODE_INDEX))
+          && CountryCode.getByAlpha2Code(bic.charAt(COUNTRY_CODE_INDEX), ch) == null) {
+        return BicValidationResult.UNSUPPORTED_COUNTRY;
+      }
+      return BicValidationResult.VALID;
+    }
+    if (index < BRANCH_CODE_INDEX) {
+      return CharacterUtil.isValidAlphanumeric(ch)
+          ? BicValidationResult.VALID : BicValidationResult.of(LOCATION_CODE_ONLY_LETTERS_OR_DIGITS);
+    }
+    return CharacterUtil.isValidAlphanumeric(ch)
+        ? BicValidationResult.VALID : BicValidationResult.of(BRANCH_CODE_ONLY_LETTERS_OR_DIGITS);
+  }
+
+  /**
+   * Validates the bic check by check, throwing the exception of the first failing one.
+   */
+  static void validateDetailed(final String bic)
+      throws BicFormatException, UnsupportedCountryException {
     try {
       validateEmpty(bic);
       validateLength(bic);
@@ -70,6 +172,25 @@ public class BicUtil {
     }
   }
 
+  /**
+   * Validates all given BICs without letting any exception escape.
+   * Each item gets the outcome {@link #validate(String)} would have reported for it.
+   *
+   * @param bics The BICs to be validated, may contain {@code null} items.
+   * @return The per-item results, indexed like the input.
+   */
+  public static BicBatchResult validateAll(final List<? extends CharSequence> bics) {
+    final BitSet valid = new BitSet(bics.size());
+    final byte[] codes = new byte[bics.size()];
+    int index = 0;
+    for (final CharSequence bic : bics) {
+      final BicValidationResult result = getValidationResult(bic);
+      valid.set(index, result.isValid());
+      codes[index++] = (byte) result.getCode();
+    }
+    return new BicBatchResult(valid, codes);
+  }
+
   private static void validateEmpty(final String bic) {
     if (bic == null) {
       throw new BicFormatException(BIC_NOT_NULL, "Null can't be a valid Bic.");
@@ -145,6 +266,76 @@ public class BicUtil {
     }
   }
 
+  /**
+   * Packs a bic into a long, as the base 37 number whose digits are its characters,
+   * numbered so that packed bics compare like their strings and the 3 missing branch code
+   * characters of a bic8 are zeros. A bic11 is thus never equal to its bic8 form.
+   * Only length and characters are checked, so that lookups don't allocate; the country isn't.
+   *
+   * @return the packed bic, always positive, or 0 if the value can't be packed.
+   */
+  static long pack(final CharSequence bic) {
+    final int length = bic == null ? 0 : bic.length();
+    if (length != BIC8_LENGTH && length != BIC11_LENGTH) {
+      return 0;
+    }
+    return packPrefix(bic, length);
+  }
+
+  /**
+   * Packs the first characters of a bic like {@link #pack(CharSequence)} packs a whole bic,
+   * as if all following characters were missing.
+   *
+   * @return the packed prefix, or 0 if the bic is too short or a character can't be packed.
+   */
+  static long packPrefix(final CharSequence bic, final int length) {
+    if (bic.length() < length) {
+      return 0;
+    }
+    long packed = 0;
+    for (int i = 0; i < BIC11_LENGTH; i++) {
+      int digit = 0;
+      if (i < length) {
+        final char ch = bic.charAt(i);
+        if (CharacterUtil.isAsciiDigit(ch)) {
+          digit = PACKED_DIGIT_OFFSET + ch - '0';
+        } else if (CharacterUtil.isAsciiUppercaseLetter(ch)) {
+          digit = PACKED_LETTER_OFFSET + ch - 'A';
+        } else {
+          return 0;
+        }
+      }
+      packed = packed * PACKED_RADIX + digit;
+    }
+    return packed;
+  }
+
+  /**
+   * Unpacks a bic packed by {@link #pack(CharSequence)}, without validating it.
+   *
+   * @throws IllegalArgumentException if the value is no packed bic.
+   */
+  static String unpack(long packed) {
+    final char[] bic = new char[BIC11_LENGTH];
+    int length = BIC11_LENGTH;
+    for (int i = BIC11_LENGTH - 1; i >= 0 && packed > 0; i--) {
+      final int digit = (int) (packed % PACKED_RADIX);
+      packed /= PACKED_RADIX;
+      if (digit == 0 && length == i + 1 && i >= BRANCH_CODE_INDEX) {
+        length = i;
+      } else if (digit == 0 || length != BIC11_LENGTH && length != BIC8_LENGTH) {
+        throw new IllegalArgumentException("Value is no packed bic.");
+      } else {
+        bic[i] = (char) (digit < PACKED_LETTER_OFFSET
+            ? '0' + digit - PACKED_DIGIT_OFFSET : 'A' + digit - PACKED_LETTER_OFFSET);
+      }
+    }
+    if (packed != 0 || bic[0] == 0) {
+      throw new IllegalArgumentException("Value is no packed bic.");
+    }
+    return new String(bic, 0, length);
+  }
+
   /**
    * Extracts the bank code (first 4 characters) from the given BIC string.
    *
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import org.iban4j.BicFormatException.BicFormatViolation;
+
+/**
+ * Outcome of an exception-free BIC validation.
+ *
+ * <p>Instances are immutable and shared: there is exactly one instance per possible outcome,
+ * so results can be compared by reference and obtaining one never allocates.
+ * The {@link Status} tells which exception the throwing validation would have raised,
+ * and for {@link Status#INVALID_FORMAT} the {@link BicFormatViolation} tells why.</p>
+ *
+ * @see BicUtil#getValidationResult(CharSequence)
+ */
+public final class BicValidationResult {
+
+  /**
+   * Validation outcome category.
+   */
+  public enum Status {
+    /** The BIC is valid. */
+    VALID,
+    /** The BIC violates the format rules, see {@link BicFormatException}. */
+    INVALID_FORMAT,
+    /** The BIC's country is not supported, see {@link UnsupportedCountryException}. */
+    UNSUPPORTED_COUNTRY
+  }
+
+  /** Result of a valid BIC. */
+  public static final BicValidationResult VALID =
+      new BicValidationResult(Status.VALID, null, 0);
+
+  /** Result of a BIC whose country is not supported. */
+  public static final BicValidationResult UNSUPPORTED_COUNTRY =
+      new BicValidationResult(Status.UNSUPPORTED_COUNTRY, null, 1);
+
+  private static final int FORMAT_VIOLATION_CODE = 2;
+
+  private static final BicValidationResult[] FORMAT_VIOLATIONS;
+  private static final BicValidationResult[] CODES;
+
+  static {
+    final BicFormatViolation[] violations = BicFormatViolation.values();
+    FORMAT_VIOLATIONS = new BicValidationResult[violations.length];
+    CODES = new BicValidationResult[FORMAT_VIOLATION_CODE + violations.length];
+    CODES[VALID.code] = VALID;
+    CODES[UNSUPPORTED_COUNTRY.code] = UNSUPPORTED_COUNTRY;
+    for (final BicFormatViolation violation : violations) {
+      final BicValidationResult result = new BicValidationResult(Status.INVALID_FORMAT,
+          violation, FORMAT_VIOLATION_CODE + violation.ordinal());
+      FORMAT_VIOLATIONS[violation.ordinal()] = result;
+      CODES[result.code] = result;
+    }
+  }
+
+  private final Status status;
+  private final BicFormatViolation formatViolation;
+  private final int code;
+
+  private BicValidationResult(final Status status, final BicFormatViolation formatViolation,
+      final int code) {
+    this.status = status;
+    this.formatViolation = formatViolation;
+    this.code = code;
+  }
+
+  /**
+   * Returns the shared result for the given format violation.
+   *
+   * @param violation the format violation, must not be {@code null}.
+   * @return the result with {@link Status#INVALID_FORMAT} status.
+   */
+  public static BicValidationResult of(final BicFormatViolation violation) {
+    return FORMAT_VIOLATIONS[violation.ordinal()];
+  }
+
+  /**
+   * Returns the result identified by a code obtained from {@link #getCode()}.
+   */
+  static BicValidationResult ofCode(final int code) {
+    return CODES[code];
+  }
+
+  /**
+   * Compact identifier of this result, small enough to be stored in a byte.
+   * Codes are only meant for in-memory storage, e.g. in {@link BicBatchResult},
+   * they are not stable between versions.
+   */
+  int getCode() {
+    return code;
+  }
+
+  /**
+   * Checks whether the validated BIC is valid.
+   *
+   * @return {@code true} if the status is {@link Status#VALID}.
+   */
+  public boolean isValid() {
+    return status == Status.VALID;
+  }
+
+  /**
+   * Returns the validation outcome category.
+   *
+   * @return the {@link Status}.
+   */
+  public Status getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the format violation.
+   *
+   * @return the {@link BicFormatViolation}, or {@code null} if the status
+   * is not {@link Status#INVALID_FORMAT}.
+   */
+  public BicFormatViolation getFormatViolation() {
+    return formatViolation;
+  }
+
+  @Override
+  public String toString() {
+    return formatViolation == null ? status.name() : status.name() + "(" + formatViolation + ")";
+  }
+}
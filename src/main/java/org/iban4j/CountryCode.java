@@ -530,11 +530,15 @@ public enum CountryCode {
     /**
      * Map that stores CountryCode instances by their <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3">ISO 3166-1 alpha-3</a> codes.
      */
+    private static final Map<String, CountryCode> alpha2Map = new HashMap<String, CountryCode>();
     private static final Map<String, CountryCode> alpha3Map = new HashMap<String, CountryCode>();
+    private static final CountryCode[] alpha2Table = new CountryCode[26 * 26];
 
     static {
         for (final CountryCode cc : values()) {
+            alpha2Map.put(cc.getAlpha2(), cc);
             alpha3Map.put(cc.getAlpha3(), cc);
+            alpha2Table[alpha2Index(cc.getAlpha2().charAt(0), cc.getAlpha2().charAt(1))] = cc;
         }
     }
 
@@ -595,11 +599,28 @@ public enum CountryCode {
      * @return A {@code CountryCode} instance, or {@code null} if no matching country code is found.
      */
     private static CountryCode getByAlpha2Code(final String code) {
-        try {
-            return Enum.valueOf(CountryCode.class, code);
-        } catch (IllegalArgumentException e) {
+        return alpha2Map.get(code);
+    }
+
+    /**
+     * Retrieves a {@code CountryCode} instance for the alpha-2 code given as two characters,
+     * without creating a {@link String}. Unlike {@link #getByCode(String)} the lookup is
+     * case-sensitive and only accepts ASCII upper case letters.
+     *
+     * @param first The first letter of the alpha-2 code.
+     * @param second The second letter of the alpha-2 code.
+     * @return A {@code CountryCode} instance, or {@code null} if no matching country code is found.
+     */
+    static CountryCode getByAlpha2Code(final char first, final char second) {
+        if (!CharacterUtil.isAsciiUppercaseLetter(first) ||
+            !CharacterUtil.isAsciiUppercaseLetter(second)) {
             return null;
         }
+        return alpha2Table[alpha2Index(first, second)];
+    }
+
+    private static int alpha2Index(final char first, final char second) {
+        return (first - 'A') * 26 + (second - 'A');
     }
 
     /**
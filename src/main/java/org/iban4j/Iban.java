@@ -19,6 +19,7 @@ import static org.iban4j.IbanFormatException.IbanFormatViolation.*;
 
 import java.util.List;
 import java.util.Random;
+import org.iban4j.bban.BbanEntryType;
 import org.iban4j.bban.BbanStructure;
 import org.iban4j.bban.BbanStructureEntry;
 
@@ -42,61 +43,98 @@ public final class Iban {
    */
   private final String value;
 
+  /**
+   * Country and bban structure resolved once at parse time, so component getters
+   * only cut the value at the structure's precomputed offsets.
+   */
+  private final CountryCode countryCode;
+  private final BbanStructure structure;
+
   /**
    * Private constructor to create an IBAN instance.
-   * Use {@link #valueOf(String)}, {@link #valueOf(String, IbanFormat)},
+   * Use {@link #valueOf(CharSequence)}, {@link #valueOf(CharSequence, IbanFormat)},
    * or the {@link Iban.Builder} to create instances.
    *
-   * @param value The raw IBAN string.
+   * @param value The raw IBAN string, with a supported country code.
    */
   private Iban(final String value) {
     this.value = value;
+    this.countryCode = CountryCode.getByAlpha2Code(value.charAt(0), value.charAt(1));
+    this.structure = BbanStructure.forCountry(countryCode);
   }
 
   /**
-   * Returns an {@code Iban} object holding the value of the specified String.
-   * The provided IBAN string will be validated against ISO 13616 standard.
+   * {@code String} variant of {@link #valueOf(CharSequence)}.
    *
-   * @param iban The String to be parsed and validated.
-   * @return An {@code Iban} object holding the value represented by the string argument.
-   * @throws org.iban4j.IbanFormatException If the String does not contain a parsable IBAN
+   * @param iban A String containing the IBAN.
+   * @return An {@code Iban} object holding the value of the string.
+   */
+  public static Iban valueOf(final String iban)
+      throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+    return valueOf((CharSequence) iban);
+  }
+
+  /**
+   * Returns an {@code Iban} object holding the value of the specified character sequence.
+   * The provided IBAN will be validated against ISO 13616 standard.
+   * The sequence is validated in place, e.g. a slice of a reused {@code CharBuffer},
+   * and only copied into a String once it is known to be valid.
+   *
+   * @param iban The character sequence to be parsed and validated.
+   * @return An {@code Iban} object holding the value represented by the argument.
+   * @throws org.iban4j.IbanFormatException If the sequence does not contain a parsable IBAN
    * or has a format violation.
    * @throws org.iban4j.InvalidCheckDigitException If the IBAN has an invalid check digit.
    * @throws org.iban4j.UnsupportedCountryException If the IBAN's country is not supported.
    */
-  public static Iban valueOf(final String iban)
+  public static Iban valueOf(final CharSequence iban)
       throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
     IbanUtil.validate(iban);
+    return new Iban(iban.toString());
+  }
+
+  /**
+   * Wraps an IBAN string which has already passed validation.
+   *
+   * @param iban The validated IBAN string.
+   * @return An {@code Iban} object holding the given value.
+   */
+  static Iban ofValidated(final String iban) {
     return new Iban(iban);
   }
 
+  /**
+   * {@code String} variant of {@link #valueOf(CharSequence, IbanFormat)}.
+   *
+   * @param iban A String containing the IBAN.
+   * @param format The formatting style of the IBAN string.
+   * @return An {@code Iban} object holding the value of the string.
+   */
+  public static Iban valueOf(final String iban, final IbanFormat format)
+      throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+    return valueOf((CharSequence) iban, format);
+  }
+
   /**
    * Returns an {@code Iban} object holding the value of the specified String,
    * applying a specific formatting style during parsing.
    *
-   * @param iban The String to be parsed.
+   * @param iban The character sequence to be parsed.
    * @param format The {@link IbanFormat} to be used during parsing and validation.
-   * @return An {@code Iban} object holding the value represented by the string argument.
-   * @throws org.iban4j.IbanFormatException If the String does not contain a parsable IBAN,
+   * @return An {@code Iban} object holding the value represented by the argument.
+   * @throws org.iban4j.IbanFormatException If the sequence does not contain a parsable IBAN,
    * has a format violation, or does not match the specified format.
    * @throws org.iban4j.InvalidCheckDigitException If the IBAN has an invalid check digit.
    * @throws org.iban4j.UnsupportedCountryException If the IBAN's Country is not supported.
    */
-  public static Iban valueOf(final String iban, final IbanFormat format)
+  public static Iban valueOf(final CharSequence iban, final IbanFormat format)
       throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
     switch (format) {
       case Default:
-        final String ibanWithoutSpaces = iban.replace(" ", "");
-        final Iban ibanObj = valueOf(ibanWithoutSpaces);
-        if (ibanObj.toFormattedString().equals(iban)) {
-          return ibanObj;
-        }
-        throw new IbanFormatException(
-            IBAN_FORMATTING,
-            String.format(
-                "Iban must be formatted using 4 characters and space combination. "
-                    + "Instead of [%s]",
-                iban));
+        IbanUtil.validate(iban, format);
+        return new Iban(IbanUtil.removeSpaces(iban));
+      case Lenient:
+        return IbanParser.parse(iban).toIban();
       default:
         return valueOf(iban);
     }
@@ -146,7 +184,7 @@ public final class Iban {
    * @return The {@link CountryCode} enum constant representing the IBAN's country.
    */
   public CountryCode getCountryCode() {
-    return CountryCode.getByCode(IbanUtil.getCountryCode(value));
+    return countryCode;
   }
 
   /**
@@ -166,7 +204,7 @@ public final class Iban {
    * @return A {@link String} representing the account number.
    */
   public String getAccountNumber() {
-    return IbanUtil.getAccountNumber(value);
+    return IbanUtil.extractBbanEntry(value, structure, BbanEntryType.account_number);
   }
 
   /**
@@ -176,7 +214,7 @@ public final class Iban {
    * @return A {@link String} representing the bank code.
    */
   public String getBankCode() {
-    return IbanUtil.getBankCode(value);
+    return IbanUtil.extractBbanEntry(value, structure, BbanEntryType.bank_code);
   }
 
   /**
@@ -186,7 +224,7 @@ public final class Iban {
    * @return A {@link String} representing the branch code, or an empty string if not present.
    */
   public String getBranchCode() {
-    return IbanUtil.getBranchCode(value);
+    return IbanUtil.extractBbanEntry(value, structure, BbanEntryType.branch_code);
   }
 
   /**
@@ -196,7 +234,7 @@ public final class Iban {
    * @return A {@link String} representing the national check digit, or an empty string if not applicable.
    */
   public String getNationalCheckDigit() {
-    return IbanUtil.getNationalCheckDigit(value);
+    return IbanUtil.extractBbanEntry(value, structure, BbanEntryType.national_check_digit);
   }
 
   /**
@@ -206,7 +244,7 @@ public final class Iban {
    * @return A {@link String} representing the account type, or an empty string if not applicable.
    */
   public String getAccountType() {
-    return IbanUtil.getAccountType(value);
+    return IbanUtil.extractBbanEntry(value, structure, BbanEntryType.account_type);
   }
 
   /**
@@ -216,7 +254,7 @@ public final class Iban {
    * @return A {@link String} representing the owner account type, or an empty string if not applicable.
    */
   public String getOwnerAccountType() {
-    return IbanUtil.getOwnerAccountType(value);
+    return IbanUtil.extractBbanEntry(value, structure, BbanEntryType.owner_account_number);
   }
 
   /**
@@ -226,7 +264,7 @@ public final class Iban {
    * @return A {@link String} representing the identification number, or an empty string if not applicable.
    */
   public String getIdentificationNumber() {
-    return IbanUtil.getIdentificationNumber(value);
+    return IbanUtil.extractBbanEntry(value, structure, BbanEntryType.identification_number);
   }
 
   /**
@@ -239,6 +277,41 @@ public final class Iban {
     return IbanUtil.getBban(value);
   }
 
+  /**
+   * Returns the packed binary form of this IBAN, 12 bytes for a German IBAN.
+   *
+   * @return the bytes read back by {@link #fromBytes(byte[])}.
+   * @throws IllegalArgumentException if this IBAN was built without validation
+   * and doesn't match its country's BBAN structure.
+   * @see PackedIban
+   */
+  public byte[] toBytes() {
+    return PackedIban.pack(value);
+  }
+
+  /**
+   * Returns an {@code Iban} object from its packed binary form.
+   *
+   * @param bytes the bytes returned by {@link #toBytes()}.
+   * @return An {@code Iban} object holding the unpacked value.
+   * @throws IllegalArgumentException if the bytes are no packed IBAN of a supported country.
+   * @throws org.iban4j.InvalidCheckDigitException If the IBAN has an invalid check digit.
+   */
+  public static Iban fromBytes(final byte[] bytes) {
+    return valueOf(PackedIban.unpack(bytes));
+  }
+
+  /**
+   * Returns the canonical instance of this IBAN from the {@link IbanPool#getDefault() default
+   * pool}, so that equal IBANs kept in long-lived objects share one instance.
+   *
+   * @return the pooled {@code Iban} equal to this one.
+   * @see IbanPool
+   */
+  public Iban intern() {
+    return IbanPool.getDefault().intern(this);
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.BitSet;
+
+/**
+ * Per-item outcome of validating a batch of IBANs, indexed like the input.
+ *
+ * <p>The outcome of every item is kept in a single byte and valid items are
+ * additionally tracked in a {@link BitSet}, so a result for millions of IBANs
+ * stays compact and checking validity never allocates.</p>
+ *
+ * @see IbanValidator#validateAll(java.util.List)
+ */
+public final class IbanBatchResult {
+
+  private final BitSet valid;
+  private final byte[] codes;
+
+  IbanBatchResult(final BitSet valid, final byte[] codes) {
+    this.valid = valid;
+    this.codes = codes;
+  }
+
+  /**
+   * Returns the number of validated items.
+   *
+   * @return the size of the input.
+   */
+  public int size() {
+    return codes.length;
+  }
+
+  /**
+   * Checks whether the item at the given index is valid.
+   *
+   * @param index index of the item in the input.
+   * @return {@code true} if the item is valid.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public boolean isValid(final int index) {
+    checkIndex(index);
+    return valid.get(index);
+  }
+
+  /**
+   * Returns the number of valid items.
+   *
+   * @return the number of valid items.
+   */
+  public int getValidCount() {
+    return valid.cardinality();
+  }
+
+  /**
+   * Returns the indices of the valid items.
+   *
+   * @return a copy of the set of valid indices.
+   */
+  public BitSet getValid() {
+    return (BitSet) valid.clone();
+  }
+
+  /**
+   * Returns the validation result of the item at the given index.
+   *
+   * @param index index of the item in the input.
+   * @return the shared {@link IbanValidationResult} describing the item.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public IbanValidationResult getResult(final int index) {
+    checkIndex(index);
+    return IbanValidationResult.ofCode(codes[index]);
+  }
+
+  @Override
+  public String toString() {
+    return "IbanBatchResult{size=" + size() + ", valid=" + getValidCount() + '}';
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= codes.length) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index %d out of bounds for length %d", index, codes.length));
+    }
+  }
+}
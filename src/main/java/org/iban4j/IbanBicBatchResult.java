@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.BitSet;
+
+/**
+ * Per-row outcome of validating a batch of (IBAN, BIC) pairs, indexed like the input.
+ *
+ * <p>Every row keeps the result of its IBAN and of its BIC in one byte each. Valid rows, i.e.
+ * rows whose IBAN and BIC are valid and of consistent countries, and rows of valid identifiers
+ * whose countries don't match are additionally tracked in {@link BitSet}s.</p>
+ *
+ * @see IbanBicValidator#validateAll(java.util.List, java.util.List)
+ */
+public final class IbanBicBatchResult {
+
+  private final BitSet valid;
+  private final BitSet countryMismatches;
+  private final byte[] ibanCodes;
+  private final byte[] bicCodes;
+
+  IbanBicBatchResult(final BitSet valid, final BitSet countryMismatches, final byte[] ibanCodes,
+      final byte[] bicCodes) {
+    this.valid = valid;
+    this.countryMismatches = countryMismatches;
+    this.ibanCodes = ibanCodes;
+    this.bicCodes = bicCodes;
+  }
+
+  /**
+   * Returns the number of validated rows.
+   *
+   * @return the size of the input.
+   */
+  public int size() {
+    return ibanCodes.length;
+  }
+
+  /**
+   * Checks whether the row at the given index is valid: its IBAN and BIC are valid
+   * and their countries are consistent.
+   *
+   * @param index index of the row in the input.
+   * @return {@code true} if the row is valid.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public boolean isValid(final int index) {
+    checkIndex(index);
+    return valid.get(index);
+  }
+
+  /**
+   * Returns the number of valid rows.
+   *
+   * @return the number of valid rows.
+   */
+  public int getValidCount() {
+    return valid.cardinality();
+  }
+
+  /**
+   * Returns the indices of the valid rows.
+   *
+   * @return a copy of the set of valid indices.
+   */
+  public BitSet getValid() {
+    return (BitSet) valid.clone();
+  }
+
+  /**
+   * Returns the validation result of the IBAN of the row at the given index.
+   *
+   * @param index index of the row in the input.
+   * @return the shared {@link IbanValidationResult} of the row's IBAN.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public IbanValidationResult getIbanResult(final int index) {
+    checkIndex(index);
+    return IbanValidationResult.ofCode(ibanCodes[index]);
+  }
+
+  /**
+   * Returns the validation result of the BIC of the row at the given index.
+   *
+   * @param index index of the row in the input.
+   * @return the shared {@link BicValidationResult} of the row's BIC.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public BicValidationResult getBicResult(final int index) {
+    checkIndex(index);
+    return BicValidationResult.ofCode(bicCodes[index]);
+  }
+
+  /**
+   * Checks whether the row at the given index has a valid IBAN and a valid BIC
+   * whose countries don't match.
+   *
+   * @param index index of the row in the input.
+   * @return {@code true} if the countries of the row's valid identifiers don't match.
+   * @throws IndexOutOfBoundsException if index is not within the input.
+   */
+  public boolean isCountryMismatch(final int index) {
+    checkIndex(index);
+    return countryMismatches.get(index);
+  }
+
+  /**
+   * Returns the number of rows whose valid identifiers have countries which don't match.
+   *
+   * @return the number of country mismatches.
+   */
+  public int getCountryMismatchCount() {
+    return countryMismatches.cardinality();
+  }
+
+  @Override
+  public String toString() {
+    return "IbanBicBatchResult{size=" + size() + ", valid=" + getValidCount()
+        + ", countryMismatches=" + getCountryMismatchCount() + '}';
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= ibanCodes.length) {
+      throw new IndexOutOfBoundsException(
+          String.format("Index %d out of bounds for length %d", index, ibanCodes.length));
+    }
+  }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validates (IBAN, BIC) pairs, such as the rows of a payment batch, without throwing exceptions.
+ *
+ * <p>Every row is checked in one pass: the IBAN like {@link IbanUtil#getValidationResult(
+ * CharSequence)}, or by the configured {@link IbanValidator}, the BIC like
+ * {@link BicUtil#getValidationResult(CharSequence)}, and, if both are valid, whether the BIC's
+ * country matches the IBAN's country. Territories using the IBAN structure of their country,
+ * like the French overseas departments, Åland or the Crown Dependencies, match that country in
+ * either direction. Neither an {@link Iban} nor a {@link Bic} is created.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ *
+ * <pre>
+ * IbanBicBatchResult result = IbanBicValidator.builder().build()
+ *     .validateAllParallel(ibans, bics);
+ * </pre>
+ */
+public final class IbanBicValidator {
+
+  /**
+   * Receives the validation result of every row of a stream of pairs.
+   */
+  @FunctionalInterface
+  public interface Listener {
+
+    /**
+     * Called once per row, in input order.
+     *
+     * @param index zero based index of the row.
+     * @param ibanResult the validation result of the row's IBAN.
+     * @param bicResult the validation result of the row's BIC.
+     * @param countryMismatch {@code true} if IBAN and BIC are valid but their countries
+     * don't match.
+     */
+    void onResult(long index, IbanValidationResult ibanResult, BicValidationResult bicResult,
+        boolean countryMismatch);
+  }
+
+  // rows validated by one task, a multiple of 64 so tasks never share a bitset word
+  private static final int CHUNK_SIZE = 4096;
+  private static final int BIC_COUNTRY_CODE_INDEX = 4;
+  // validates like IbanUtil.getValidationResult, grouping a chunk's ibans by country
+  private static final IbanValidator DEFAULT_VALIDATOR = IbanValidator.builder().build();
+
+  private final IbanValidator validator;
+  private final Map<CountryCode, CountryCode> territories;
+
+  private IbanBicValidator(final Builder builder) {
+    this.validator = builder.validator != null ? builder.validator : DEFAULT_VALIDATOR;
+    this.territories = new EnumMap<>(builder.territories);
+  }
+
+  /**
+   * Creates a new builder for IbanBicValidator.
+   *
+   * @return a new builder instance, knowing the territories sharing the IBAN structure
+   * of France, the United Kingdom and Finland.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Validates all given pairs. The rows are validated in chunks like
+   * {@link IbanValidator#validateAll(List)}, the IBANs of each chunk grouped by country.
+   *
+   * @param ibans the IBANs, may contain {@code null} items.
+   * @param bics the BICs of the IBANs at the same index, may contain {@code null} items.
+   * @return the per-row results, indexed like the input.
+   * @throws IllegalArgumentException if the lists differ in size.
+   */
+  public IbanBicBatchResult validateAll(final List<? extends CharSequence> ibans,
+      final List<? extends CharSequence> bics) {
+    return validateAll(ibans, bics, null);
+  }
+
+  /**
+   * Validates all given pairs like {@link #validateAll(List, List)}, spreading the work
+   * over the common {@link ForkJoinPool}.
+   *
+   * @param ibans the IBANs, may contain {@code null} items.
+   * @param bics the BICs of the IBANs at the same index, may contain {@code null} items.
+   * @return the per-row results, indexed like the input.
+   * @throws IllegalArgumentException if the lists differ in size.
+   */
+  public IbanBicBatchResult validateAllParallel(final List<? extends CharSequence> ibans,
+      final List<? extends CharSequence> bics) {
+    return validateAllParallel(ibans, bics, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Validates all given pairs like {@link #validateAll(List, List)}, spreading the work
+   * over the given pool. Every task writes only its own slice of the result, so the outcome
+   * is the same as the sequential one.
+   *
+   * @param ibans the IBANs, may contain {@code null} items.
+   * @param bics the BICs of the IBANs at the same index, may contain {@code null} items.
+   * @param pool the pool running the validation.
+   * @return the per-row results, indexed like the input.
+   * @throws IllegalArgumentException if the lists differ in size.
+   */
+  public IbanBicBatchResult validateAllParallel(final List<? extends CharSequence> ibans,
+      final List<? extends CharSequence> bics, final ForkJoinPool pool) {
+    return validateAll(ibans, bics, pool);
+  }
+
+  /**
+   * Validates pairs as they are iterated, without keeping them, e.g. while streaming
+   * a batch file.
+   *
+   * @param ibans the IBANs, may contain {@code null} items.
+   * @param bics the BICs of the IBANs in the same position, may contain {@code null} items.
+   * @param listener receives the result of every row.
+   * @return the number of rows validated.
+   * @throws IllegalArgumentException if the inputs differ in size; the rows
+   * of the shorter input have been validated by then.
+   */
+  public long validate(final Iterable<? extends CharSequence> ibans,
+      final Iterable<? extends CharSequence> bics, final Listener listener) {
+    final Iterator<? extends CharSequence> ibanIterator = ibans.iterator();
+    final Iterator<? extends CharSequence> bicIterator = bics.iterator();
+    long index = 0;
+    while (ibanIterator.hasNext() && bicIterator.hasNext()) {
+      final CharSequence iban = ibanIterator.next();
+      final CharSequence bic = bicIterator.next();
+      final IbanValidationResult ibanResult = validator.getValidationResult(iban);
+      final BicValidationResult bicResult = BicUtil.getValidationResult(bic);
+      listener.onResult(index++, ibanResult, bicResult,
+          ibanResult.isValid() && bicResult.isValid() && !isCountryMatch(iban, bic));
+    }
+    if (ibanIterator.hasNext() || bicIterator.hasNext()) {
+      throw new IllegalArgumentException("IBANs and BICs differ in size.");
+    }
+    return index;
+  }
+
+  /**
+   * Checks whether the countries of a valid IBAN and a valid BIC match, territories
+   * matching their country.
+   *
+   * @param iban the valid IBAN.
+   * @param bic the valid BIC.
+   * @return {@code true} if the countries match.
+   */
+  boolean isCountryMatch(final CharSequence iban, final CharSequence bic) {
+    if (iban.charAt(0) == bic.charAt(BIC_COUNTRY_CODE_INDEX)
+        && iban.charAt(1) == bic.charAt(BIC_COUNTRY_CODE_INDEX + 1)) {
+      return true;
+    }
+    final CountryCode ibanCountry = CountryCode.getByAlpha2Code(iban.charAt(0), iban.charAt(1));
+    final CountryCode bicCountry = CountryCode.getByAlpha2Code(
+        bic.charAt(BIC_COUNTRY_CODE_INDEX), bic.charAt(BIC_COUNTRY_CODE_INDEX + 1));
+    return countryOf(ibanCountry) == countryOf(bicCountry);
+  }
+
+  private IbanBicBatchResult validateAll(List<? extends CharSequence> ibans,
+      List<? extends CharSequence> bics, final ForkJoinPool pool) {
+    if (ibans.size() != bics.size()) {
+      throw new IllegalArgumentException("IBANs and BICs differ in size.");
+    }
+    if (!(ibans instanceof RandomAccess)) {
+      ibans = new ArrayList<>(ibans);
+    }
+    if (!(bics instanceof RandomAccess)) {
+      bics = new ArrayList<>(bics);
+    }
+    final int size = ibans.size();
+    final byte[] ibanCodes = new byte[size];
+    final byte[] bicCodes = new byte[size];
+    final long[] validWords = new long[(size + Long.SIZE - 1) / Long.SIZE];
+    final long[] mismatchWords = new long[validWords.length];
+    if (pool == null) {
+      for (int from = 0; from < size; from += CHUNK_SIZE) {
+        validateAll(ibans, bics, from, Math.min(from + CHUNK_SIZE, size),
+            ibanCodes, bicCodes, validWords, mismatchWords);
+      }
+    } else {
+      pool.invoke(new ValidationTask(this, ibans, bics, 0, size,
+          ibanCodes, bicCodes, validWords, mismatchWords));
+    }
+    return new IbanBicBatchResult(BitSet.valueOf(validWords), BitSet.valueOf(mismatchWords),
+        ibanCodes, bicCodes);
+  }
+
+  /**
+   * Validates the rows in the range {@code [from, to)}, whose start is a multiple of 64 so
+   * ranges never share a bitset word. The IBANs go through the validator's per-country grouped
+   * path, which sets the valid bit of every valid IBAN; the bit is then kept only if the row's
+   * BIC is valid and its country matches.
+   */
+  private void validateAll(final List<? extends CharSequence> ibans,
+      final List<? extends CharSequence> bics, final int from, final int to,
+      final byte[] ibanCodes, final byte[] bicCodes, final long[] validWords,
+      final long[] mismatchWords) {
+    validator.validateAll(ibans, from, to, ibanCodes, validWords);
+    for (int i = from; i < to; i++) {
+      final CharSequence bic = bics.get(i);
+      final BicValidationResult bicResult = BicUtil.getValidationResult(bic);
+      bicCodes[i] = (byte) bicResult.getCode();
+      final long bit = 1L << i;
+      if ((validWords[i >>> 6] & bit) == 0) {
+        continue;
+      }
+      if (!bicResult.isValid()) {
+        validWords[i >>> 6] &= ~bit;
+      } else if (!isCountryMatch(ibans.get(i), bic)) {
+        validWords[i >>> 6] &= ~bit;
+        mismatchWords[i >>> 6] |= bit;
+      }
+    }
+  }
+
+  private CountryCode countryOf(final CountryCode countryCode) {
+    final CountryCode country = territories.get(countryCode);
+    return country == null ? countryCode : country;
+  }
+
+  /**
+   * Splits a range in halves on chunk boundaries until it is a single chunk.
+   */
+  private static final class ValidationTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final IbanBicValidator validator;
+    private final List<? extends CharSequence> ibans;
+    private final List<? extends CharSequence> bics;
+    private final int from;
+    private final int to;
+    private final byte[] ibanCodes;
+    private final byte[] bicCodes;
+    private final long[] validWords;
+    private final long[] mismatchWords;
+
+    ValidationTask(final IbanBicValidator validator, final List<? extends CharSequence> ibans,
+        final List<? extends CharSequence> bics, final int from, final int to,
+        final byte[] ibanCodes, final byte[] bicCodes, final long[] validWords,
+        final long[] mismatchWords) {
+      this.validator = validator;
+      this.ibans = ibans;
+      this.bics = bics;
+      this.from = from;
+      this.to = to;
+      this.ibanCodes = ibanCodes;
+      this.bicCodes = bicCodes;
+      this.validWords = validWords;
+      this.mismatchWords = mismatchWords;
+    }
+
+    @Override
+    protected void compute() {
+      final int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+      if (chunks <= 1) {
+        validator.validateAll(ibans, bics, from, to,
+            ibanCodes, bicCodes, validWords, mismatchWords);
+        return;
+      }
+      final int middle = from + chunks / 2 * CHUNK_SIZE;
+      invokeAll(new ValidationTask(validator, ibans, bics, from, middle,
+              ibanCodes, bicCodes, validWords, mismatchWords),
+          new ValidationTask(validator, ibans, bics, middle, to,
+              ibanCodes, bicCodes, validWords, mismatchWords));
+    }
+  }
+
+  /**
+   * Builder for IbanBicValidator.
+   */
+  public static final class Builder {
+
+    private final Map<CountryCode, CountryCode> territories = new EnumMap<>(CountryCode.class);
+    private IbanValidator validator;
+
+    private Builder() {
+      // territories with the IBAN structure of their country (see https://www.iban.com/structure)
+      for (final CountryCode territory : new CountryCode[] {CountryCode.GF, CountryCode.GP,
+          CountryCode.MQ, CountryCode.RE, CountryCode.PF, CountryCode.TF, CountryCode.YT,
+          CountryCode.NC, CountryCode.BL, CountryCode.MF, CountryCode.PM, CountryCode.WF}) {
+        territories.put(territory, CountryCode.FR);
+      }
+      territories.put(CountryCode.IM, CountryCode.GB);
+      territories.put(CountryCode.GG, CountryCode.GB);
+      territories.put(CountryCode.JE, CountryCode.GB);
+      territories.put(CountryCode.AX, CountryCode.FI);
+    }
+
+    /**
+     * Validates IBANs with the given validator's options, e.g. country specific rules,
+     * instead of {@link IbanUtil#getValidationResult(CharSequence)}.
+     *
+     * @param validator the validator to use.
+     * @return this builder for method chaining.
+     */
+    public Builder validator(final IbanValidator validator) {
+      this.validator = validator;
+      return this;
+    }
+
+    /**
+     * Lets the given territory match the given country, in addition to the default
+     * territories.
+     *
+     * @param territory the territory, e.g. {@link CountryCode#MC}.
+     * @param country the country it matches, e.g. {@link CountryCode#FR}.
+     * @return this builder for method chaining.
+     */
+    public Builder territory(final CountryCode territory, final CountryCode country) {
+      if (territory == null || country == null) {
+        throw new IllegalArgumentException("Territory and country must not be null.");
+      }
+      territories.put(territory, country);
+      return this;
+    }
+
+    /**
+     * Builds the IbanBicValidator instance.
+     *
+     * @return the configured IbanBicValidator.
+     */
+    public IbanBicValidator build() {
+      return new IbanBicValidator(this);
+    }
+  }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded cache of validation outcomes, for traffic where a few IBANs make up a large
+ * share of the lookups.
+ *
+ * <p>Maps input strings to their validated {@link Iban} or to their
+ * {@link IbanValidationResult failure}, as computed by {@link IbanUtil} or by a configured
+ * {@link IbanValidator}. Entries are spread over independently locked segments, so concurrent
+ * lookups of different IBANs rarely contend, and every segment evicts its least recently used
+ * entry when full. With {@link Eviction#TINY_LFU} a new entry only replaces that entry if it
+ * was seen more often recently, estimated by a small count-min sketch, so that a burst of
+ * one-off IBANs doesn't flush the frequent ones.</p>
+ *
+ * <p>Instances can be shared between threads.</p>
+ *
+ * <pre>
+ * IbanCache cache = IbanCache.builder().maximumSize(10_000).eviction(Eviction.TINY_LFU).build();
+ * Iban iban = cache.valueOf(input);
+ * </pre>
+ */
+public final class IbanCache {
+
+  /**
+   * Eviction policy of a full cache.
+   */
+  public enum Eviction {
+    /** Always admits new entries, evicting the least recently used one. */
+    LRU,
+    /**
+     * Admits a new entry only if it's estimated to be used more frequently than
+     * the least recently used one, which is then evicted.
+     */
+    TINY_LFU
+  }
+
+  private static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+  private static final int MIN_SEGMENT_SIZE = 16;
+
+  private final Segment[] segments;
+  private final int segmentMask;
+  private final IbanValidator validator;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private IbanCache(final Builder builder) {
+    this.validator = builder.validator;
+    int segmentCount = Integer.highestOneBit(
+        Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+    while (segmentCount > 1 && builder.maximumSize / segmentCount < MIN_SEGMENT_SIZE) {
+      segmentCount >>>= 1;
+    }
+    this.segments = new Segment[segmentCount];
+    this.segmentMask = segmentCount - 1;
+    for (int i = 0; i < segmentCount; i++) {
+      // spread the remainder so capacities add up to the maximum size
+      final int capacity = builder.maximumSize / segmentCount
+          + (i < builder.maximumSize % segmentCount ? 1 : 0);
+      segments[i] = new Segment(capacity, builder.eviction == Eviction.TINY_LFU);
+    }
+  }
+
+  /**
+   * Creates a new builder for IbanCache.
+   *
+   * @return a new builder instance, for an LRU cache of 10,000 entries by default.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the validated {@link Iban} of the given string, like {@link Iban#valueOf(CharSequence)}
+   * or, if configured, {@link IbanValidator#validate(CharSequence)}. Cache hits return the
+   * same instance.
+   *
+   * @param iban the IBAN in electronic format.
+   * @return the validated IBAN.
+   * @throws IbanFormatException if the IBAN is invalid.
+   * @throws InvalidCheckDigitException if the IBAN has an invalid check digit.
+   * @throws UnsupportedCountryException if the IBAN's country is not supported.
+   */
+  public Iban valueOf(final CharSequence iban) {
+    final Entry entry = iban == null ? null : get(iban.toString());
+    if (entry != null && entry.iban != null) {
+      return entry.iban;
+    }
+    throw IbanValidator.invalid(validator, iban, entry == null ? validate(iban) : entry.result);
+  }
+
+  /**
+   * Returns the validation result of the given string, as {@link IbanUtil#getValidationResult}
+   * or, if configured, {@link IbanValidator#getValidationResult} would.
+   *
+   * @param iban the IBAN in electronic format.
+   * @return the validation result.
+   */
+  public IbanValidationResult getValidationResult(final CharSequence iban) {
+    if (iban == null) {
+      return validate(null);
+    }
+    return get(iban.toString()).result;
+  }
+
+  /**
+   * Checks whether the given string is a valid IBAN, as {@link #getValidationResult} tells.
+   *
+   * @param iban the IBAN in electronic format.
+   * @return {@code true} if the IBAN is valid.
+   */
+  public boolean isValid(final CharSequence iban) {
+    return getValidationResult(iban).isValid();
+  }
+
+  /**
+   * Returns the number of lookups answered from the cache.
+   *
+   * @return the hit count.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups which had to validate.
+   *
+   * @return the miss count.
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the share of lookups answered from the cache.
+   *
+   * @return the hit rate between 0 and 1, or 0 before any lookup.
+   */
+  public double getHitRate() {
+    final long hitCount = getHitCount();
+    final long total = hitCount + getMissCount();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  /**
+   * Returns the number of entries evicted, or not admitted by {@link Eviction#TINY_LFU},
+   * to respect the maximum size.
+   *
+   * @return the eviction count.
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return the number of entries.
+   */
+  public int size() {
+    int size = 0;
+    for (final Segment segment : segments) {
+      segment.lock.lock();
+      try {
+        size += segment.entries.size();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes all entries. Counters are kept.
+   */
+  public void clear() {
+    for (final Segment segment : segments) {
+      segment.lock.lock();
+      try {
+        segment.entries.clear();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IbanCache{size=" + size() + ", hits=" + getHitCount() + ", misses="
+        + getMissCount() + ", evictions=" + getEvictionCount() + '}';
+  }
+
+  private Entry get(final String key) {
+    final int hash = spread(key.hashCode());
+    final Segment segment = segments[hash & segmentMask];
+    Entry entry = segment.get(key, hash);
+    if (entry != null) {
+      hits.increment();
+      return entry;
+    }
+    misses.increment();
+    // validated outside of the lock, concurrent misses of the same key may both validate
+    final IbanValidationResult result = validate(key);
+    entry = new Entry(result.isValid() ? Iban.ofValidated(key) : null, result);
+    if (segment.put(key, hash, entry)) {
+      evictions.increment();
+    }
+    return entry;
+  }
+
+  private IbanValidationResult validate(final CharSequence iban) {
+    return validator == null
+        ? IbanUtil.getValidationResult(iban)
+        : validator.getValidationResult(iban);
+  }
+
+  private static int spread(final int hash) {
+    final int h = hash * 0x9E3779B9;
+    return h ^ h >>> 16;
+  }
+
+  private static final class Entry {
+    final Iban iban;
+    final IbanValidationResult result;
+
+    Entry(final Iban iban, final IbanValidationResult result) {
+      this.iban = iban;
+      this.result = result;
+    }
+  }
+
+  /**
+   * Access ordered map with its own lock and, for TinyLFU, its own frequency sketch.
+   */
+  private static final class Segment {
+    final ReentrantLock lock = new ReentrantLock();
+    final LinkedHashMap<String, Entry> entries;
+    private final int capacity;
+    private final FrequencySketch sketch;
+
+    Segment(final int capacity, final boolean tinyLfu) {
+      this.capacity = capacity;
+      this.entries = new LinkedHashMap<>(16, 0.75f, true);
+      this.sketch = tinyLfu ? new FrequencySketch(capacity) : null;
+    }
+
+    Entry get(final String key, final int hash) {
+      lock.lock();
+      try {
+        if (sketch != null) {
+          sketch.increment(hash);
+        }
+        return entries.get(key);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Adds the entry unless rejected by admission; returns whether an entry was dropped.
+     */
+    boolean put(final String key, final int hash, final Entry entry) {
+      lock.lock();
+      try {
+        if (entries.containsKey(key)) {
+          return false;
+        }
+        if (entries.size() < capacity) {
+          entries.put(key, entry);
+          return false;
+        }
+        if (capacity == 0) {
+          return true;
+        }
+        final Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        final String victim = eldest.next().getKey();
+        if (sketch != null
+            && sketch.frequency(hash) <= sketch.frequency(spread(victim.hashCode()))) {
+          return true;
+        }
+        eldest.remove();
+        entries.put(key, entry);
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Count-min sketch of 4 bit counters, four rows of 16 counters per long, halved
+   * after ten times the capacity increments so old popularity fades.
+   */
+  private static final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long HALF_MASK = 0x7777777777777777L;
+    private static final int[] SEEDS = {0x97CB3127, 0xB3DE6C51, 0xC2B2AE35, 0x85EBCA6B};
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(final int capacity) {
+      final int size = Math.max(DEPTH, Integer.highestOneBit(Math.max(1, capacity) - 1) << 1);
+      this.table = new long[size];
+      this.mask = size - 1;
+      this.sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    int frequency(final int hash) {
+      int frequency = MAX_COUNT;
+      for (int i = 0; i < DEPTH; i++) {
+        final int h = hash * SEEDS[i];
+        final int shift = (h >>> 28) << 2;
+        frequency = Math.min(frequency, (int) (table[(h ^ h >>> 17) & mask] >>> shift) & MAX_COUNT);
+      }
+      return frequency;
+    }
+
+    void increment(final int hash) {
+      for (int i = 0; i < DEPTH; i++) {
+        final int h = hash * SEEDS[i];
+        final int shift = (h >>> 28) << 2;
+        final int index = (h ^ h >>> 17) & mask;
+        if ((table[index] >>> shift & MAX_COUNT) < MAX_COUNT) {
+          table[index] += 1L << shift;
+        }
+      }
+      if (++additions == sampleSize) {
+        additions = 0;
+        for (int i = 0; i < table.length; i++) {
+          table[i] = table[i] >>> 1 & HALF_MASK;
+        }
+      }
+    }
+  }
+
+  /**
+   * Builder for IbanCache.
+   */
+  public static final class Builder {
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Eviction eviction = Eviction.LRU;
+    private IbanValidator validator;
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the maximum number of cached entries.
+     *
+     * @param maximumSize the maximum size, 10,000 by default.
+     * @return this builder for method chaining.
+     */
+    public Builder maximumSize(final int maximumSize) {
+      if (maximumSize < 0) {
+        throw new IllegalArgumentException("Maximum size must not be negative.");
+      }
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Sets the eviction policy.
+     *
+     * @param eviction the eviction policy, {@link Eviction#LRU} by default.
+     * @return this builder for method chaining.
+     */
+    public Builder eviction(final Eviction eviction) {
+      if (eviction == null) {
+        throw new IllegalArgumentException("Eviction must not be null.");
+      }
+      this.eviction = eviction;
+      return this;
+    }
+
+    /**
+     * Validates with the given validator's options, e.g. country specific rules,
+     * instead of the plain {@link IbanUtil#getValidationResult(CharSequence)}.
+     *
+     * @param validator the validator to use.
+     * @return this builder for method chaining.
+     */
+    public Builder validator(final IbanValidator validator) {
+      this.validator = validator;
+      return this;
+    }
+
+    /**
+     * Builds the IbanCache instance.
+     *
+     * @return the configured, empty IbanCache.
+     */
+    public IbanCache build() {
+      return new IbanCache(this);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Validates a large file of ASCII encoded IBANs in place, without reading it into Strings.
+ *
+ * <p>The file is split into segments ending on line boundaries. Every segment is memory mapped
+ * and its records are validated straight from the mapping by
+ * {@link IbanUtil#getValidationResult(ByteBuffer, int, int)}, with the segments being scanned
+ * in parallel. Records are lines holding one IBAN, either as the whole line or as one column of
+ * delimited values, as for {@link IbanStreamValidator}. A UTF-8 byte order mark at the start of
+ * the file is skipped.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ */
+public final class IbanFileScanner {
+
+  private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+  // a mapping can't exceed Integer.MAX_VALUE bytes, segments grow up to the end of their last line
+  private static final long MAX_SEGMENT_SIZE = 1024L * 1024 * 1024;
+  private static final int BOUNDARY_READ_SIZE = 256;
+  // scanSegment ends a line at its line feed before comparing bytes with the delimiter,
+  // so this default delimiter never splits a line into columns
+  private static final byte SINGLE_COLUMN = '\n';
+  private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  private final byte delimiter;
+  private final int column;
+  private final long segmentSize;
+  private final ForkJoinPool pool;
+
+  private IbanFileScanner(final Builder builder) {
+    this.delimiter = builder.delimiter;
+    this.column = builder.column;
+    this.segmentSize = builder.segmentSize;
+    this.pool = builder.pool;
+  }
+
+  /**
+   * Creates a new builder for IbanFileScanner.
+   *
+   * @return a new builder instance, scanning whole lines on the common pool by default.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Scans the given file.
+   *
+   * @param path the file to scan.
+   * @return the offsets of the invalid records and the counts by country and violation.
+   * @throws IOException if the file can't be read or mapped.
+   */
+  public IbanScanResult scan(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final List<Long> boundaries = findSegmentBoundaries(channel);
+      final List<ForkJoinTask<IbanScanResult.Collector>> tasks = new ArrayList<>();
+      for (int i = 0; i + 1 < boundaries.size(); i++) {
+        final long start = boundaries.get(i);
+        final long end = boundaries.get(i + 1);
+        tasks.add(pool.submit(() -> scanSegment(channel, start, end)));
+      }
+      final List<IbanScanResult.Collector> collectors = new ArrayList<>(tasks.size());
+      try {
+        for (final ForkJoinTask<IbanScanResult.Collector> task : tasks) {
+          collectors.add(task.join());
+        }
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      return IbanScanResult.Collector.merge(collectors);
+    }
+  }
+
+  /**
+   * Returns segment start offsets followed by the file size; every start but the first
+   * directly follows a line feed.
+   */
+  private List<Long> findSegmentBoundaries(final FileChannel channel) throws IOException {
+    final long size = channel.size();
+    final List<Long> boundaries = new ArrayList<>();
+    final ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_READ_SIZE);
+    long start = 0;
+    while (start < size) {
+      boundaries.add(start);
+      long position = start + segmentSize;
+      long end = size;
+      search:
+      while (position < size && position - start < MAX_SEGMENT_SIZE) {
+        buffer.clear();
+        final int read = channel.read(buffer, position);
+        for (int i = 0; i < read; i++) {
+          if (buffer.get(i) == '\n') {
+            end = position + i + 1;
+            break search;
+          }
+        }
+        position += Math.max(read, 0);
+      }
+      if (end - start > MAX_SEGMENT_SIZE) {
+        throw new IOException("Line starting before offset " + position + " is too long to be mapped.");
+      }
+      start = end;
+    }
+    boundaries.add(size);
+    return boundaries;
+  }
+
+  private IbanScanResult.Collector scanSegment(final FileChannel channel, final long start,
+      final long end) {
+    final MappedByteBuffer segment;
+    try {
+      segment = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    final IbanScanResult.Collector collector = new IbanScanResult.Collector();
+    final int limit = segment.limit();
+    int lineStart = start == 0 && startsWithByteOrderMark(segment) ? BYTE_ORDER_MARK.length : 0;
+    while (lineStart < limit) {
+      int lineEnd = lineStart;
+      int valueStart = column == 0 ? lineStart : -1;
+      int valueEnd = -1;
+      int currentColumn = 0;
+      byte b = 0;
+      for (; lineEnd < limit && (b = segment.get(lineEnd)) != '\n'; lineEnd++) {
+        if (b == delimiter) {
+          if (currentColumn == column) {
+            valueEnd = lineEnd;
+          }
+          currentColumn++;
+          if (currentColumn == column) {
+            valueStart = lineEnd + 1;
+          }
+        }
+      }
+      if (valueStart >= 0 && valueEnd < 0) {
+        // the value is the last column, a carriage return before the line feed is no part of it
+        valueEnd = lineEnd > valueStart && segment.get(lineEnd - 1) == '\r' && b == '\n'
+            ? lineEnd - 1 : lineEnd;
+      }
+      if (valueStart < 0) {
+        valueStart = valueEnd = lineEnd;
+      }
+      final int length = valueEnd - valueStart;
+      final IbanValidationResult result =
+          IbanUtil.getValidationResult(segment, valueStart, length);
+      final CountryCode countryCode = length < 2 ? null : CountryCode.getByAlpha2Code(
+          (char) (segment.get(valueStart) & 0xFF), (char) (segment.get(valueStart + 1) & 0xFF));
+      collector.add(start + lineStart, countryCode, result);
+      lineStart = lineEnd + 1;
+    }
+    return collector;
+  }
+
+  private static boolean startsWithByteOrderMark(final ByteBuffer segment) {
+    if (segment.limit() < BYTE_ORDER_MARK.length) {
+      return false;
+    }
+    for (int i = 0; i < BYTE_ORDER_MARK.length; i++) {
+      if (segment.get(i) != BYTE_ORDER_MARK[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Builder for IbanFileScanner.
+   */
+  public static final class Builder {
+    private byte delimiter = SINGLE_COLUMN;
+    private int column = 0;
+    private long segmentSize = DEFAULT_SEGMENT_SIZE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the ASCII character separating the columns of a record.
+     * By default records have a single column.
+     *
+     * @param delimiter the column delimiter, e.g. {@code ';'} or {@code '\t'}.
+     * @return this builder for method chaining.
+     */
+    public Builder delimiter(final char delimiter) {
+      if (delimiter == '\n' || delimiter == '\r' || delimiter > 0x7F) {
+        throw new IllegalArgumentException(
+            "Delimiter must be an ASCII character other than a line terminator.");
+      }
+      this.delimiter = (byte) delimiter;
+      return this;
+    }
+
+    /**
+     * Sets the zero based column holding the IBAN.
+     *
+     * @param column the column index, {@code 0} by default.
+     * @return this builder for method chaining.
+     */
+    public Builder column(final int column) {
+      if (column < 0) {
+        throw new IllegalArgumentException("Column must not be negative.");
+      }
+      this.column = column;
+      return this;
+    }
+
+    /**
+     * Sets the size in bytes of the segments scanned in parallel.
+     * Segments are extended up to the end of their last line.
+     *
+     * @param segmentSize the nominal segment size, 64 MiB by default.
+     * @return this builder for method chaining.
+     */
+    public Builder segmentSize(final long segmentSize) {
+      if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+        throw new IllegalArgumentException(
+            "Segment size must be positive and at most " + MAX_SEGMENT_SIZE + " bytes.");
+      }
+      this.segmentSize = segmentSize;
+      return this;
+    }
+
+    /**
+     * Sets the pool scanning the segments.
+     *
+     * @param pool the pool, the common pool by default.
+     * @return this builder for method chaining.
+     */
+    public Builder pool(final ForkJoinPool pool) {
+      this.pool = pool;
+      return this;
+    }
+
+    /**
+     * Builds the IbanFileScanner instance.
+     *
+     * @return the configured IbanFileScanner.
+     */
+    public IbanFileScanner build() {
+      return new IbanFileScanner(this);
+    }
+  }
+}
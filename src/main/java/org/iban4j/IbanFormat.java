@@ -23,5 +23,11 @@ public enum IbanFormat {
   Default,
 
   /** No Format. */
-  None
+  None,
+
+  /**
+   * User input: case insensitive, with whitespace, no-break spaces, dashes and dots ignored
+   * and an optional "IBAN" prefix, see {@link IbanParser}.
+   */
+  Lenient
 }
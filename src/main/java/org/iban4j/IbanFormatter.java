@@ -0,0 +1,255 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes IBANs in groups of characters separated by a separator, in a single pass.
+ *
+ * <p>The {@link #DEFAULT default} formatter writes the print format of
+ * {@link Iban#toFormattedString()}: groups of four characters separated by a space. Group sizes
+ * are given in order, with the last size repeating, and a separator is only written between
+ * two groups. The formatted IBAN is written into a presized array or straight into a
+ * caller supplied {@link Appendable}, {@code char[]} or {@link ByteBuffer}. The input is
+ * formatted as is, without validation.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ *
+ * <pre>
+ * IbanFormatter.builder().separator('-').build().format("DE89370400440532013000");
+ * // DE89-3704-0044-0532-0130-00
+ * </pre>
+ */
+public final class IbanFormatter {
+
+  /**
+   * Groups of four characters separated by a space.
+   */
+  public static final IbanFormatter DEFAULT = builder().build();
+
+  private final char separator;
+  private final int[] groupSizes;
+
+  private IbanFormatter(final Builder builder) {
+    this.separator = builder.separator;
+    this.groupSizes = builder.groupSizes;
+  }
+
+  /**
+   * Creates a new builder for IbanFormatter.
+   *
+   * @return a new builder instance, for groups of four separated by a space by default.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the length of an IBAN of the given length once formatted.
+   *
+   * @param length the length of the IBAN.
+   * @return the formatted length.
+   */
+  public int formattedLength(final int length) {
+    int groups = 0;
+    int remaining = length;
+    for (int i = 0; remaining > 0; i = Math.min(i + 1, groupSizes.length - 1)) {
+      remaining -= groupSizes[i];
+      groups++;
+    }
+    return length + Math.max(0, groups - 1);
+  }
+
+  /**
+   * Formats the given IBAN.
+   *
+   * @param iban the IBAN in electronic format.
+   * @return the formatted IBAN.
+   */
+  public String format(final CharSequence iban) {
+    final char[] formatted = new char[formattedLength(iban.length())];
+    format(iban, formatted, 0);
+    return new String(formatted);
+  }
+
+  /**
+   * Formats the given IBAN.
+   *
+   * @param iban the IBAN.
+   * @return the formatted IBAN.
+   */
+  public String format(final Iban iban) {
+    return format(iban.toString());
+  }
+
+  /**
+   * Writes the formatted IBAN into the given array.
+   *
+   * @param iban the IBAN in electronic format.
+   * @param destination the array to write to.
+   * @param offset index of the first character to write.
+   * @return the number of characters written, see {@link #formattedLength(int)}.
+   * @throws IndexOutOfBoundsException if the formatted IBAN doesn't fit into the array.
+   */
+  public int format(final CharSequence iban, final char[] destination, final int offset) {
+    final int length = formattedLength(iban.length());
+    if (offset < 0 || offset > destination.length - length) {
+      throw new IndexOutOfBoundsException(String.format(
+          "Range [%d, %d + %d) out of bounds for length %d",
+          offset, offset, length, destination.length));
+    }
+    int position = offset;
+    for (int i = 0; i < iban.length(); i++) {
+      if (separatorBefore(i)) {
+        destination[position++] = separator;
+      }
+      destination[position++] = iban.charAt(i);
+    }
+    return length;
+  }
+
+  /**
+   * Appends the formatted IBAN to the given builder.
+   *
+   * @param iban the IBAN in electronic format.
+   * @param destination the builder to append to.
+   * @return the given builder.
+   */
+  public StringBuilder formatTo(final CharSequence iban, final StringBuilder destination) {
+    destination.ensureCapacity(destination.length() + formattedLength(iban.length()));
+    try {
+      formatTo(iban, (Appendable) destination);
+    } catch (IOException e) {
+      // a StringBuilder doesn't throw
+      throw new IllegalStateException(e);
+    }
+    return destination;
+  }
+
+  /**
+   * Appends the formatted IBAN to the given appendable, character by character.
+   *
+   * @param iban the IBAN in electronic format.
+   * @param destination the appendable to append to, e.g. a {@link java.io.Writer}.
+   * @param <A> the type of the appendable.
+   * @return the given appendable.
+   * @throws IOException if appending fails.
+   */
+  public <A extends Appendable> A formatTo(final CharSequence iban, final A destination)
+      throws IOException {
+    for (int i = 0; i < iban.length(); i++) {
+      if (separatorBefore(i)) {
+        destination.append(separator);
+      }
+      destination.append(iban.charAt(i));
+    }
+    return destination;
+  }
+
+  /**
+   * Writes the formatted IBAN as ASCII bytes at the buffer's position, which is advanced.
+   * Characters beyond ISO-8859-1 are truncated to their low byte.
+   *
+   * @param iban the IBAN in electronic format.
+   * @param destination the buffer to write to.
+   * @return the given buffer.
+   * @throws BufferOverflowException if the formatted IBAN doesn't fit, in which case
+   * nothing is written.
+   */
+  public ByteBuffer formatTo(final CharSequence iban, final ByteBuffer destination) {
+    if (destination.remaining() < formattedLength(iban.length())) {
+      throw new BufferOverflowException();
+    }
+    for (int i = 0; i < iban.length(); i++) {
+      if (separatorBefore(i)) {
+        destination.put((byte) separator);
+      }
+      destination.put((byte) iban.charAt(i));
+    }
+    return destination;
+  }
+
+  /**
+   * Checks whether a group starts at the given IBAN index, other than the first one.
+   * The last group size repeats until the end of the IBAN.
+   */
+  private boolean separatorBefore(final int index) {
+    int groupStart = 0;
+    for (int group = 0; group < groupSizes.length - 1; group++) {
+      groupStart += groupSizes[group];
+      if (index <= groupStart) {
+        return index == groupStart;
+      }
+    }
+    return index > groupStart
+        && (index - groupStart) % groupSizes[groupSizes.length - 1] == 0;
+  }
+
+  /**
+   * Builder for IbanFormatter.
+   */
+  public static final class Builder {
+    private static final int DEFAULT_GROUP_SIZE = 4;
+
+    private char separator = ' ';
+    private int[] groupSizes = {DEFAULT_GROUP_SIZE};
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the separator written between two groups.
+     *
+     * @param separator the separator, a space by default.
+     * @return this builder for method chaining.
+     */
+    public Builder separator(final char separator) {
+      this.separator = separator;
+      return this;
+    }
+
+    /**
+     * Sets the size of the groups, in order; the last size is used for all following groups.
+     *
+     * @param groupSizes the positive group sizes, {@code 4} by default.
+     * @return this builder for method chaining.
+     */
+    public Builder groupSizes(final int... groupSizes) {
+      if (groupSizes.length == 0) {
+        throw new IllegalArgumentException("At least one group size is required.");
+      }
+      for (final int groupSize : groupSizes) {
+        if (groupSize <= 0) {
+          throw new IllegalArgumentException("Group sizes must be positive.");
+        }
+      }
+      this.groupSizes = groupSizes.clone();
+      return this;
+    }
+
+    /**
+     * Builds the IbanFormatter instance.
+     *
+     * @return the configured IbanFormatter.
+     */
+    public IbanFormatter build() {
+      return new IbanFormatter(this);
+    }
+  }
+}
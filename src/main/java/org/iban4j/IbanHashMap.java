@@ -0,0 +1,174 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Map from IBANs kept in packed form, for very large mappings such as IBAN to account records.
+ *
+ * <p>Keys are stored like in {@link IbanHashSet}, as the three longs of their
+ * {@link PackedIban packed form}, with the values in a parallel array: 28 bytes per slot with
+ * compressed references, besides the values themselves. Lookups take the electronic format of
+ * an IBAN as any {@link CharSequence} and don't create an {@link Iban} or any other object. An
+ * {@link Iban} is looked up by its {@link Iban#toString() electronic format}.
+ * {@code null} values are permitted.</p>
+ *
+ * <p>This class is not thread-safe. Concurrent lookups are safe as long as the map is not
+ * modified.</p>
+ *
+ * @param <V> the type of the values.
+ */
+public final class IbanHashMap<V> extends IbanHashTable {
+
+  /**
+   * Creates an empty map.
+   */
+  public IbanHashMap() {
+    this(0);
+  }
+
+  /**
+   * Creates an empty map holding the given number of IBANs without resizing.
+   *
+   * @param expectedSize the expected number of IBANs.
+   * @throws IllegalArgumentException if expectedSize is negative or too large.
+   */
+  public IbanHashMap(final int expectedSize) {
+    super(expectedSize, true);
+  }
+
+  /**
+   * Associates the given value with the given IBAN.
+   *
+   * @param iban the IBAN.
+   * @param value the value.
+   * @return the previous value of the IBAN, or {@code null} if there was none.
+   */
+  public V put(final Iban iban, final V value) {
+    return put(iban.toString(), value, false);
+  }
+
+  /**
+   * Associates the given value with the given IBAN after validating it like
+   * {@link IbanUtil#validate(CharSequence)}.
+   *
+   * @param iban the IBAN in electronic format.
+   * @param value the value.
+   * @return the previous value of the IBAN, or {@code null} if there was none.
+   * @throws IbanFormatException if the IBAN is invalid.
+   * @throws InvalidCheckDigitException if the IBAN has an invalid check digit.
+   * @throws UnsupportedCountryException if the IBAN's country is not supported.
+   */
+  public V put(final CharSequence iban, final V value) {
+    IbanUtil.validate(iban);
+    return put(iban.toString(), value, false);
+  }
+
+  /**
+   * Associates the given value with the given IBAN unless it already has a value.
+   *
+   * @param iban the IBAN.
+   * @param value the value.
+   * @return the current value of the IBAN, or {@code null} if there was none.
+   */
+  public V putIfAbsent(final Iban iban, final V value) {
+    return put(iban.toString(), value, true);
+  }
+
+  /**
+   * Returns the value of the given IBAN in electronic format, without allocating.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return the value, or {@code null} if the IBAN has none.
+   */
+  public V get(final CharSequence iban) {
+    return getOrDefault(iban, null);
+  }
+
+  /**
+   * Returns the value of the given IBAN in electronic format, without allocating.
+   *
+   * @param iban the IBAN, may be anything.
+   * @param defaultValue the value to return if the IBAN is not a key.
+   * @return the value, or defaultValue if the IBAN is not a key.
+   */
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(final CharSequence iban, final V defaultValue) {
+    final int slot = indexOf(iban);
+    return slot < 0 ? defaultValue : (V) valueAt(slot);
+  }
+
+  /**
+   * Checks whether the given IBAN in electronic format is a key, without allocating.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return {@code true} if the IBAN is a key.
+   */
+  public boolean containsKey(final CharSequence iban) {
+    return indexOf(iban) >= 0;
+  }
+
+  /**
+   * Removes the given IBAN in electronic format.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return the removed value, or {@code null} if the IBAN had none.
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(final CharSequence iban) {
+    final int slot = indexOf(iban);
+    if (slot < 0) {
+      return null;
+    }
+    final V value = (V) valueAt(slot);
+    removeAt(slot);
+    return value;
+  }
+
+  /**
+   * Unpacks every IBAN and passes it with its value to the given action, in no particular order.
+   *
+   * @param action the action to perform on every entry.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(final BiConsumer<? super Iban, ? super V> action) {
+    for (int slot = 0; slot < capacity(); slot++) {
+      if (isOccupied(slot)) {
+        action.accept(keyAt(slot), (V) valueAt(slot));
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IbanHashMap{size=" + size() + '}';
+  }
+
+  @SuppressWarnings("unchecked")
+  private V put(final String iban, final V value, final boolean onlyIfAbsent) {
+    final int slot = insert(iban);
+    if (slot < 0) {
+      setValueAt(~slot, value);
+      return null;
+    }
+    final V previous = (V) valueAt(slot);
+    if (!onlyIfAbsent || previous == null) {
+      setValueAt(slot, value);
+    }
+    return previous;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Set of IBANs kept in packed form, for very large sets such as sanction lists.
+ *
+ * <p>Every IBAN is stored as the three longs of its {@link PackedIban packed form} in one
+ * open addressing table, so a set takes 24 bytes per slot and no object per entry, or about
+ * 34 to 69 bytes per IBAN depending on how full the table is. Lookups take the electronic
+ * format of an IBAN as any {@link CharSequence} and don't create an {@link Iban} or any other
+ * object; values which are no IBAN of a supported country are simply not contained. An
+ * {@link Iban} is looked up by its {@link Iban#toString() electronic format}.</p>
+ *
+ * <p>This class is not thread-safe. Concurrent lookups are safe as long as the set is not
+ * modified.</p>
+ */
+public final class IbanHashSet extends IbanHashTable {
+
+  /**
+   * Creates an empty set.
+   */
+  public IbanHashSet() {
+    this(0);
+  }
+
+  /**
+   * Creates an empty set holding the given number of IBANs without resizing.
+   *
+   * @param expectedSize the expected number of IBANs.
+   * @throws IllegalArgumentException if expectedSize is negative or too large.
+   */
+  public IbanHashSet(final int expectedSize) {
+    super(expectedSize, false);
+  }
+
+  /**
+   * Adds the given IBAN.
+   *
+   * @param iban the IBAN to add.
+   * @return {@code true} if the IBAN was not contained yet.
+   */
+  public boolean add(final Iban iban) {
+    return insert(iban.toString()) < 0;
+  }
+
+  /**
+   * Adds the given IBAN after validating it like {@link IbanUtil#validate(CharSequence)}.
+   *
+   * @param iban the IBAN in electronic format.
+   * @return {@code true} if the IBAN was not contained yet.
+   * @throws IbanFormatException if the IBAN is invalid.
+   * @throws InvalidCheckDigitException if the IBAN has an invalid check digit.
+   * @throws UnsupportedCountryException if the IBAN's country is not supported.
+   */
+  public boolean add(final CharSequence iban) {
+    IbanUtil.validate(iban);
+    return insert(iban.toString()) < 0;
+  }
+
+  /**
+   * Checks whether the given IBAN in electronic format is contained, without allocating.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return {@code true} if the IBAN is contained.
+   */
+  public boolean contains(final CharSequence iban) {
+    return indexOf(iban) >= 0;
+  }
+
+  /**
+   * Removes the given IBAN in electronic format.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return {@code true} if the IBAN was contained.
+   */
+  public boolean remove(final CharSequence iban) {
+    final int slot = indexOf(iban);
+    if (slot < 0) {
+      return false;
+    }
+    removeAt(slot);
+    return true;
+  }
+
+  /**
+   * Unpacks every IBAN and passes it to the given action, in no particular order.
+   *
+   * @param action the action to perform on every IBAN.
+   */
+  public void forEach(final Consumer<? super Iban> action) {
+    for (int slot = 0; slot < capacity(); slot++) {
+      if (isOccupied(slot)) {
+        action.accept(keyAt(slot));
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IbanHashSet{size=" + size() + '}';
+  }
+}
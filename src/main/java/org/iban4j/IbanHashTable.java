@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import org.iban4j.bban.BbanStructure;
+
+/**
+ * Open addressing hash table keyed by packed ibans, shared by {@link IbanHashSet}
+ * and {@link IbanHashMap}.
+ *
+ * <p>Every slot holds the {@link PackedIban#WORDS} words of a packed iban, see
+ * {@link PackedHashTable} for the table layout.</p>
+ */
+abstract class IbanHashTable extends PackedHashTable {
+
+  IbanHashTable(final int expectedSize, final boolean withValues) {
+    super(PackedIban.WORDS, expectedSize, withValues);
+  }
+
+  /**
+   * Returns the slot of the given iban or -1 if it's absent. Never allocates.
+   */
+  final int indexOf(final CharSequence iban) {
+    final BbanStructure structure = PackedIban.packableStructure(iban);
+    if (structure == null) {
+      return -1;
+    }
+    return indexOf(PackedIban.packWord(iban, structure, 0),
+        PackedIban.packWord(iban, structure, 1), PackedIban.packWord(iban, structure, 2));
+  }
+
+  /**
+   * Returns the slot of the given valid iban, inserting it first if absent,
+   * in which case the bitwise complement of the slot is returned.
+   */
+  final int insert(final String iban) {
+    final BbanStructure structure = PackedIban.requirePackableStructure(iban);
+    return insert(PackedIban.packWord(iban, structure, 0),
+        PackedIban.packWord(iban, structure, 1), PackedIban.packWord(iban, structure, 2));
+  }
+
+  final Iban keyAt(final int slot) {
+    return Iban.ofValidated(PackedIban.unpack(wordAt(slot, 0), wordAt(slot, 1), wordAt(slot, 2)));
+  }
+
+  /**
+   * Mixes all bits of the packed iban, finishing like MurmurHash3's fmix64, so that ibans
+   * differing only in their last digits still spread over the table.
+   */
+  @Override
+  final int hash(final long word0, final long word1, final long word2) {
+    long h = word0 * 0x9E3779B97F4A7C15L;
+    h = (h ^ word1) * 0xC2B2AE3D27D4EB4FL;
+    h = (h ^ word2) * 0x165667B19E3779F9L;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.iban4j.bban.BbanStructure;
+
+/**
+ * Read-only set of IBANs in a memory-mapped file, for lists too large to be loaded on the heap
+ * at every start, such as block or allow lists shared by several processes.
+ *
+ * <p>The file is written once by {@link Builder#write(Path)} and holds every IBAN as a fixed
+ * width record of the big endian words of its {@link PackedIban packed form}, sorted and without
+ * duplicates. Records take 16 bytes if all IBANs of the file pack into 128 bits, as for most
+ * countries, and 24 bytes otherwise. {@link #open(Path)} only checks the header and maps the
+ * file, records are paged in by the operating system on lookup. Lookups binary search the
+ * records and don't allocate.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads. The mapping is released once
+ * the instance is garbage collected.</p>
+ *
+ * <pre>
+ * IbanIndex.Builder builder = IbanIndex.builder();
+ * ibans.forEach(builder::add);
+ * builder.write(path);
+ *
+ * IbanIndex index = IbanIndex.open(path);
+ * boolean blocked = index.contains(ibanString);
+ * </pre>
+ */
+public final class IbanIndex {
+
+  // "IBNX"
+  private static final int MAGIC = 0x49424E58;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 24;
+  private static final int MIN_RECORD_WORDS = 2;
+  // records per mapping, keeping every mapping below 2 GiB
+  private static final int CHUNK_SHIFT = 26;
+  private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+  private final ByteBuffer[] chunks;
+  private final int recordWords;
+  private final int recordSize;
+  private final long size;
+
+  private IbanIndex(final ByteBuffer[] chunks, final int recordWords, final long size) {
+    this.chunks = chunks;
+    this.recordWords = recordWords;
+    this.recordSize = recordWords * Long.BYTES;
+    this.size = size;
+  }
+
+  /**
+   * Creates a new builder for an IbanIndex file.
+   *
+   * @return a new, empty builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Opens an index file written by {@link Builder#write(Path)}.
+   *
+   * @param path the index file.
+   * @return the index, backed by a read-only mapping of the file.
+   * @throws IOException if the file can't be read or is no index file.
+   */
+  public static IbanIndex open(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+        // read the whole header
+      }
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+        throw new IOException(path + " is no IBAN index file.");
+      }
+      final int version = header.getInt();
+      final int recordWords = header.getInt();
+      header.getInt();
+      final long size = header.getLong();
+      if (version != VERSION) {
+        throw new IOException("Unsupported IBAN index version " + version + '.');
+      }
+      if (recordWords < MIN_RECORD_WORDS || recordWords > PackedIban.WORDS || size < 0
+          || channel.size() != HEADER_SIZE + size * recordWords * Long.BYTES) {
+        throw new IOException(path + " is a corrupt IBAN index file.");
+      }
+      final int recordSize = recordWords * Long.BYTES;
+      final ByteBuffer[] chunks = new ByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT)];
+      for (int i = 0; i < chunks.length; i++) {
+        final long first = (long) i << CHUNK_SHIFT;
+        final long records = Math.min(size - first, 1L << CHUNK_SHIFT);
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+            HEADER_SIZE + first * recordSize, records * recordSize);
+      }
+      return new IbanIndex(chunks, recordWords, size);
+    }
+  }
+
+  /**
+   * Returns the number of IBANs in the index.
+   *
+   * @return the number of IBANs.
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Checks whether the given IBAN is in the index.
+   *
+   * @param iban the IBAN.
+   * @return {@code true} if the IBAN is in the index.
+   */
+  public boolean contains(final Iban iban) {
+    return iban != null && contains(iban.toString());
+  }
+
+  /**
+   * Checks whether the given IBAN in electronic format is in the index, without allocating.
+   *
+   * @param iban the IBAN, may be anything.
+   * @return {@code true} if the IBAN is in the index.
+   */
+  public boolean contains(final CharSequence iban) {
+    final BbanStructure structure = PackedIban.packableStructure(iban);
+    return structure != null && contains(PackedIban.packWord(iban, structure, 0),
+        PackedIban.packWord(iban, structure, 1), PackedIban.packWord(iban, structure, 2));
+  }
+
+  /**
+   * Checks whether the given ASCII encoded IBAN in electronic format is in the index,
+   * without allocating.
+   *
+   * @param iban the bytes of the IBAN.
+   * @return {@code true} if the IBAN is in the index.
+   */
+  public boolean contains(final byte[] iban) {
+    return contains(iban, 0, iban.length);
+  }
+
+  /**
+   * Checks whether the given ASCII encoded IBAN in electronic format is in the index,
+   * without allocating.
+   *
+   * @param iban array holding the IBAN.
+   * @param offset index of the first byte of the IBAN.
+   * @param length number of bytes of the IBAN.
+   * @return {@code true} if the IBAN is in the index.
+   * @throws IndexOutOfBoundsException if offset and length are not within the array.
+   */
+  public boolean contains(final byte[] iban, final int offset, final int length) {
+    if (offset < 0 || length < 0 || offset > iban.length - length) {
+      throw new IndexOutOfBoundsException(String.format(
+          "Range [%d, %d + %d) out of bounds for length %d", offset, offset, length, iban.length));
+    }
+    final BbanStructure structure = PackedIban.packableStructure(iban, offset, length);
+    return structure != null && contains(PackedIban.packWord(iban, offset, structure, 0),
+        PackedIban.packWord(iban, offset, structure, 1),
+        PackedIban.packWord(iban, offset, structure, 2));
+  }
+
+  @Override
+  public String toString() {
+    return "IbanIndex{size=" + size + ", recordSize=" + recordSize + '}';
+  }
+
+  private boolean contains(final long word0, final long word1, final long word2) {
+    if (recordWords < PackedIban.WORDS && word2 != 0) {
+      // only ibans packing into fewer words are stored
+      return false;
+    }
+    long low = 0;
+    long high = size - 1;
+    while (low <= high) {
+      final long middle = (low + high) >>> 1;
+      final ByteBuffer chunk = chunks[(int) (middle >>> CHUNK_SHIFT)];
+      final int position = (int) (middle & CHUNK_MASK) * recordSize;
+      int comparison = Long.compareUnsigned(chunk.getLong(position), word0);
+      if (comparison == 0) {
+        comparison = Long.compareUnsigned(chunk.getLong(position + Long.BYTES), word1);
+      }
+      if (comparison == 0 && recordWords == PackedIban.WORDS) {
+        comparison = Long.compareUnsigned(chunk.getLong(position + 2 * Long.BYTES), word2);
+      }
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collects IBANs and writes them as an index file.
+   */
+  public static final class Builder {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private long[] records = new long[1024 * PackedIban.WORDS];
+    private int count;
+
+    private Builder() {
+    }
+
+    /**
+     * Adds the given IBAN; duplicates are written once.
+     *
+     * @param iban the IBAN to add.
+     * @return this builder for method chaining.
+     */
+    public Builder add(final Iban iban) {
+      final String value = iban.toString();
+      return add(value, PackedIban.requirePackableStructure(value));
+    }
+
+    /**
+     * Adds the given IBAN after validating it like {@link IbanUtil#validate(CharSequence)};
+     * duplicates are written once.
+     *
+     * @param iban the IBAN in electronic format.
+     * @return this builder for method chaining.
+     * @throws IbanFormatException if the IBAN is invalid.
+     * @throws InvalidCheckDigitException if the IBAN has an invalid check digit.
+     * @throws UnsupportedCountryException if the IBAN's country is not supported.
+     */
+    public Builder add(final CharSequence iban) {
+      IbanUtil.validate(iban);
+      return add(iban, PackedIban.requirePackableStructure(iban));
+    }
+
+    /**
+     * Writes the index file, replacing any existing file at the given path atomically
+     * where the file system supports it, so that processes opening it see either file.
+     *
+     * @param path the index file.
+     * @return the number of distinct IBANs written.
+     * @throws IOException if the file can't be written.
+     */
+    public long write(final Path path) throws IOException {
+      sort(records, 0, count - 1);
+      int distinct = 0;
+      boolean threeWords = false;
+      for (int i = 0; i < count; i++) {
+        if (distinct == 0 || compare(records, distinct - 1, records, i) != 0) {
+          System.arraycopy(records, i * PackedIban.WORDS,
+              records, distinct * PackedIban.WORDS, PackedIban.WORDS);
+          threeWords |= records[distinct * PackedIban.WORDS + 2] != 0;
+          distinct++;
+        }
+      }
+      count = distinct;
+      final int recordWords = threeWords ? PackedIban.WORDS : MIN_RECORD_WORDS;
+
+      final Path absolute = path.toAbsolutePath();
+      final Path temporary = Files.createTempFile(absolute.getParent(),
+          absolute.getFileName().toString(), ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+          final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+          buffer.putInt(MAGIC).putInt(VERSION).putInt(recordWords).putInt(0).putLong(count);
+          for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < recordWords * Long.BYTES) {
+              flush(channel, buffer);
+            }
+            for (int word = 0; word < recordWords; word++) {
+              buffer.putLong(records[i * PackedIban.WORDS + word]);
+            }
+          }
+          flush(channel, buffer);
+          channel.force(true);
+        }
+        try {
+          Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE,
+              StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+      return count;
+    }
+
+    private Builder add(final CharSequence iban, final BbanStructure structure) {
+      if ((count + 1) * PackedIban.WORDS > records.length) {
+        records = Arrays.copyOf(records, records.length * 2);
+      }
+      for (int word = 0; word < PackedIban.WORDS; word++) {
+        records[count * PackedIban.WORDS + word] = PackedIban.packWord(iban, structure, word);
+      }
+      count++;
+      return this;
+    }
+
+    private static void flush(final FileChannel channel, final ByteBuffer buffer)
+        throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    /**
+     * Quicksorts the records from low to high inclusive in unsigned word order,
+     * which is the order of the packed bytes.
+     */
+    private static void sort(final long[] records, int low, int high) {
+      final long[] pivot = new long[PackedIban.WORDS];
+      while (high - low > INSERTION_SORT_THRESHOLD) {
+        System.arraycopy(records, medianOfThree(records, low, low + high >>> 1, high)
+            * PackedIban.WORDS, pivot, 0, PackedIban.WORDS);
+        int i = low - 1;
+        int j = high + 1;
+        while (true) {
+          do {
+            i++;
+          } while (compare(records, i, pivot, 0) < 0);
+          do {
+            j--;
+          } while (compare(records, j, pivot, 0) > 0);
+          if (i >= j) {
+            break;
+          }
+          swap(records, i, j);
+        }
+        // recurse into the smaller part only, keeping the stack shallow
+        if (j - low < high - j) {
+          sort(records, low, j);
+          low = j + 1;
+        } else {
+          sort(records, j + 1, high);
+          high = j;
+        }
+      }
+      for (int i = low + 1; i <= high; i++) {
+        for (int j = i; j > low && compare(records, j - 1, records, j) > 0; j--) {
+          swap(records, j - 1, j);
+        }
+      }
+    }
+
+    private static int medianOfThree(final long[] records, final int a, final int b,
+        final int c) {
+      if (compare(records, a, records, b) < 0) {
+        return compare(records, b, records, c) < 0 ? b
+            : compare(records, a, records, c) < 0 ? c : a;
+      }
+      return compare(records, a, records, c) < 0 ? a
+          : compare(records, b, records, c) < 0 ? c : b;
+    }
+
+    private static int compare(final long[] left, final int leftRecord, final long[] right,
+        final int rightRecord) {
+      for (int word = 0; word < PackedIban.WORDS; word++) {
+        final int comparison = Long.compareUnsigned(left[leftRecord * PackedIban.WORDS + word],
+            right[rightRecord * PackedIban.WORDS + word]);
+        if (comparison != 0) {
+          return comparison;
+        }
+      }
+      return 0;
+    }
+
+    private static void swap(final long[] records, final int i, final int j) {
+      for (int word = 0; word < PackedIban.WORDS; word++) {
+        final long tmp = records[i * PackedIban.WORDS + word];
+        records[i * PackedIban.WORDS + word] = records[j * PackedIban.WORDS + word];
+        records[j * PackedIban.WORDS + word] = tmp;
+      }
+    }
+  }
+}
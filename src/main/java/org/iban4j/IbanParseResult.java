@@ -0,0 +1,102 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+/**
+ * Outcome of parsing user input with {@link IbanParser#parse(CharSequence)}.
+ */
+public final class IbanParseResult {
+
+  private final String normalized;
+  private final IbanValidationResult result;
+  private final int errorIndex;
+  private final Iban iban;
+
+  IbanParseResult(final String normalized, final IbanValidationResult result,
+      final int errorIndex) {
+    this.normalized = normalized;
+    this.result = result;
+    this.errorIndex = errorIndex;
+    this.iban = result.isValid() ? Iban.ofValidated(normalized) : null;
+  }
+
+  /**
+   * Checks whether the input holds a valid IBAN.
+   *
+   * @return {@code true} if the normalized IBAN is valid.
+   */
+  public boolean isValid() {
+    return result.isValid();
+  }
+
+  /**
+   * Returns the validation result of the normalized IBAN.
+   *
+   * @return the {@link IbanValidationResult}.
+   */
+  public IbanValidationResult getValidationResult() {
+    return result;
+  }
+
+  /**
+   * Returns the parsed IBAN.
+   *
+   * @return the {@link Iban}, or {@code null} if the input holds no valid IBAN.
+   */
+  public Iban getIban() {
+    return iban;
+  }
+
+  /**
+   * Returns the parsed IBAN or throws the exception describing why the input holds none.
+   *
+   * @return the {@link Iban}.
+   * @throws IbanFormatException if the normalized IBAN is invalid.
+   * @throws InvalidCheckDigitException if the normalized IBAN has an invalid check digit.
+   * @throws UnsupportedCountryException if the IBAN's country is not supported.
+   */
+  public Iban toIban() {
+    return iban != null ? iban : Iban.valueOf(normalized);
+  }
+
+  /**
+   * Returns the input without separators and prefix, upper cased. Values far longer than
+   * any IBAN are cut short.
+   *
+   * @return the normalized value, or {@code null} for a {@code null} input.
+   */
+  public String getNormalized() {
+    return normalized;
+  }
+
+  /**
+   * Returns the index in the input of the character causing the violation: the first invalid
+   * character, the first check digit for an invalid check digit, the first character beyond
+   * the expected length, or the input length if the input is too short.
+   *
+   * @return the index of the violation, or {@code -1} if the IBAN is valid or the input is
+   * {@code null}.
+   */
+  public int getErrorIndex() {
+    return errorIndex;
+  }
+
+  @Override
+  public String toString() {
+    return "IbanParseResult{normalized=" + normalized + ", result=" + result
+        + ", errorIndex=" + errorIndex + '}';
+  }
+}
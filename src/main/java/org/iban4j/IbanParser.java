@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import static org.iban4j.IbanFormatException.IbanFormatViolation.IBAN_NOT_NULL;
+
+import java.nio.CharBuffer;
+import org.iban4j.bban.BbanStructure;
+
+/**
+ * Lenient parser for IBANs entered by users, see {@link IbanFormat#Lenient}.
+ *
+ * <p>The input is normalized in a single pass: lower case ASCII letters are upper cased,
+ * whitespace including no-break spaces, dashes and dots are skipped wherever they are, and a
+ * leading {@code "IBAN"} prefix, optionally followed by a colon, is dropped. The normalized
+ * IBAN is then validated like {@link IbanUtil#getValidationResult(CharSequence)} and a
+ * violation is reported with the index of the offending input character.</p>
+ *
+ * <pre>
+ * IbanParseResult result = IbanParser.parse("IBAN: de89 3704-0044 0532 0130 00");
+ * if (result.isValid()) {
+ *   Iban iban = result.getIban();
+ * } else {
+ *   highlight(result.getErrorIndex());
+ * }
+ * </pre>
+ */
+public final class IbanParser {
+
+  private static final String PREFIX = "IBAN";
+  private static final int BBAN_INDEX = 4;
+  // ISO 13616 caps ibans at 34 characters; the normalized value keeps one more, so that
+  // longer input is reported as too long instead of being cut to a valid looking iban
+  private static final int MAX_LENGTH = 34;
+
+  private IbanParser() {
+  }
+
+  /**
+   * Normalizes and validates the given user input.
+   *
+   * @param input the user input.
+   * @return the normalized value, its validation result and the index of the violation.
+   */
+  public static IbanParseResult parse(final CharSequence input) {
+    if (input == null) {
+      return new IbanParseResult(null, IbanValidationResult.of(IBAN_NOT_NULL), -1);
+    }
+    final char[] normalized = new char[MAX_LENGTH + 1];
+    // input index of every normalized character
+    final int[] indices = new int[MAX_LENGTH + 1];
+    int length = 0;
+    int index = skipPrefix(input);
+    for (; index < input.length(); index++) {
+      final char ch = input.charAt(index);
+      if (isSeparator(ch)) {
+        continue;
+      }
+      if (length == normalized.length) {
+        break;
+      }
+      normalized[length] = ch >= 'a' && ch <= 'z' ? (char) (ch - 'a' + 'A') : ch;
+      indices[length++] = index;
+    }
+    final CharBuffer value = CharBuffer.wrap(normalized, 0, length);
+    final IbanValidationResult result = IbanUtil.getValidationResult(value);
+    final int errorIndex = result.isValid() ? -1
+        : getErrorIndex(value, result, indices, input.length());
+    return new IbanParseResult(value.toString(), result, errorIndex);
+  }
+
+  /**
+   * Checks whether the given character is skipped: whitespace, space separators such as
+   * the no-break space, dashes of any kind and dots.
+   */
+  static boolean isSeparator(final char ch) {
+    return Character.isWhitespace(ch) || Character.isSpaceChar(ch) || ch == '.'
+        || Character.getType(ch) == Character.DASH_PUNCTUATION;
+  }
+
+  /**
+   * Returns the index of the first character after separators, an optional
+   * case insensitive "IBAN" prefix and an optional colon.
+   */
+  private static int skipPrefix(final CharSequence input) {
+    int index = 0;
+    while (index < input.length() && isSeparator(input.charAt(index))) {
+      index++;
+    }
+    if (input.length() - index < PREFIX.length()) {
+      return index;
+    }
+    for (int i = 0; i < PREFIX.length(); i++) {
+      if (Character.toUpperCase(input.charAt(index + i)) != PREFIX.charAt(i)) {
+        return index;
+      }
+    }
+    index += PREFIX.length();
+    if (index < input.length() && input.charAt(index) == ':') {
+      index++;
+    }
+    return index;
+  }
+
+  private static int getErrorIndex(final CharSequence value, final IbanValidationResult result,
+      final int[] indices, final int inputLength) {
+    switch (result.getStatus()) {
+      case INVALID_CHECK_DIGIT:
+        return indices[2];
+      case UNSUPPORTED_COUNTRY:
+        return indices[0];
+      default:
+        break;
+    }
+    switch (result.getFormatViolation()) {
+      case IBAN_NOT_EMPTY:
+      case COUNTRY_CODE_TWO_LETTERS:
+      case CHECK_DIGIT_TWO_DIGITS:
+        // the value ends too early
+        return inputLength;
+      case COUNTRY_CODE_UPPER_CASE_LETTERS:
+        return indices[Character.isUpperCase(value.charAt(0)) ? 1 : 0];
+      case COUNTRY_CODE_EXISTS:
+        return indices[0];
+      case CHECK_DIGIT_ONLY_DIGITS:
+        return indices[isDigit(value.charAt(2)) ? 3 : 2];
+      case BBAN_LENGTH: {
+        final BbanStructure structure = BbanStructure.forCountry(
+            CountryCode.getByAlpha2Code(value.charAt(0), value.charAt(1)));
+        final int expected = BBAN_INDEX + structure.getBbanLength();
+        return value.length() > expected ? indices[expected] : inputLength;
+      }
+      case BBAN_ONLY_DIGITS:
+      case BBAN_ONLY_UPPER_CASE_LETTERS:
+      case BBAN_ONLY_DIGITS_OR_LETTERS: {
+        final BbanStructure structure = BbanStructure.forCountry(
+            CountryCode.getByAlpha2Code(value.charAt(0), value.charAt(1)));
+        for (int i = 0; i < structure.getBbanLength(); i++) {
+          if (!structure.isValidCharacter(i, value.charAt(BBAN_INDEX + i))) {
+            return indices[BBAN_INDEX + i];
+          }
+        }
+        return -1;
+      }
+      default:
+        return -1;
+    }
+  }
+
+  private static boolean isDigit(final char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+}
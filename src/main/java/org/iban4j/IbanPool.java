@@ -0,0 +1,217 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of canonical {@link Iban} instances, so that equal IBANs kept in long-lived objects
+ * share one instance and one String.
+ *
+ * <p>The pool only references its IBANs weakly: an IBAN no longer used anywhere else is
+ * dropped from the pool by the garbage collector, so the pool can't leak. Entries are spread
+ * over independently locked segments, so concurrent interning of different IBANs rarely
+ * contends. {@link Iban#intern()} uses the {@link #getDefault() default pool}.</p>
+ *
+ * <p>Instances can be shared between threads.</p>
+ */
+public final class IbanPool {
+
+  private static final IbanPool DEFAULT = new IbanPool();
+
+  private final Segment[] segments;
+  private final int segmentMask;
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+
+  /**
+   * Creates an empty pool.
+   */
+  public IbanPool() {
+    final int segmentCount = Integer.highestOneBit(
+        Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+    this.segments = new Segment[segmentCount];
+    this.segmentMask = segmentCount - 1;
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment();
+    }
+  }
+
+  /**
+   * Returns the pool used by {@link Iban#intern()}.
+   *
+   * @return the default pool.
+   */
+  public static IbanPool getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns the canonical instance of the given IBAN, which becomes canonical
+   * if there is none yet.
+   *
+   * @param iban the IBAN to intern.
+   * @return the pooled instance equal to the given IBAN.
+   */
+  public Iban intern(final Iban iban) {
+    final String value = iban.toString();
+    return segmentFor(value).intern(value, iban);
+  }
+
+  /**
+   * Returns the canonical instance of the given IBAN string. Strings equal to a pooled IBAN
+   * are not validated again; others are validated like {@link Iban#valueOf(CharSequence)}.
+   *
+   * @param iban the IBAN in electronic format.
+   * @return the pooled instance.
+   * @throws IbanFormatException if the IBAN is invalid.
+   * @throws InvalidCheckDigitException if the IBAN has an invalid check digit.
+   * @throws UnsupportedCountryException if the IBAN's country is not supported.
+   */
+  public Iban valueOf(final CharSequence iban) {
+    if (iban == null) {
+      return Iban.valueOf(null);
+    }
+    final String value = iban.toString();
+    final Segment segment = segmentFor(value);
+    final Iban pooled = segment.get(value);
+    if (pooled != null) {
+      return pooled;
+    }
+    return segment.intern(value, Iban.valueOf(value));
+  }
+
+  /**
+   * Returns the number of interning requests, i.e. of calls to {@link #intern(Iban)}
+   * and {@link #valueOf(CharSequence)} with a valid IBAN.
+   *
+   * @return the request count.
+   */
+  public long getRequestCount() {
+    return requests.sum();
+  }
+
+  /**
+   * Returns the number of requests answered with an already pooled instance, i.e. the number
+   * of duplicate instances the pool made unnecessary.
+   *
+   * @return the hit count.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the share of requests answered with an already pooled instance.
+   *
+   * @return the hit rate between 0 and 1, or 0 before any request.
+   */
+  public double getHitRate() {
+    final long requestCount = getRequestCount();
+    return requestCount == 0 ? 0 : (double) getHitCount() / requestCount;
+  }
+
+  /**
+   * Returns the number of pooled IBANs. Entries of IBANs which were garbage collected may
+   * still be counted until the pool is next accessed.
+   *
+   * @return the number of pooled IBANs.
+   */
+  public int size() {
+    int size = 0;
+    for (final Segment segment : segments) {
+      segment.lock.lock();
+      try {
+        size += segment.entries.size();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes all pooled IBANs. Counters are kept.
+   */
+  public void clear() {
+    for (final Segment segment : segments) {
+      segment.lock.lock();
+      try {
+        segment.entries.clear();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "IbanPool{size=" + size() + ", requests=" + getRequestCount()
+        + ", hits=" + getHitCount() + '}';
+  }
+
+  private Segment segmentFor(final String value) {
+    final int h = value.hashCode() * 0x9E3779B9;
+    return segments[(h ^ h >>> 16) & segmentMask];
+  }
+
+  /**
+   * Weak map from the value of a pooled IBAN to the IBAN, which references its value
+   * strongly, so both are collected together.
+   */
+  private final class Segment {
+    final ReentrantLock lock = new ReentrantLock();
+    final WeakHashMap<String, WeakReference<Iban>> entries = new WeakHashMap<>();
+
+    Iban get(final String value) {
+      lock.lock();
+      try {
+        final WeakReference<Iban> reference = entries.get(value);
+        final Iban pooled = reference == null ? null : reference.get();
+        if (pooled != null) {
+          requests.increment();
+          hits.increment();
+        }
+        return pooled;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    Iban intern(final String value, final Iban iban) {
+      lock.lock();
+      try {
+        requests.increment();
+        final WeakReference<Iban> reference = entries.get(value);
+        final Iban pooled = reference == null ? null : reference.get();
+        if (pooled != null) {
+          hits.increment();
+          return pooled;
+        }
+        // keyed by the iban's own string, which the iban keeps alive;
+        // put would keep the key of a stale entry
+        entries.remove(value);
+        entries.put(iban.toString(), new WeakReference<>(iban));
+        return iban;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
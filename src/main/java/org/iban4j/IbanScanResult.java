@@ -0,0 +1,198 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.iban4j.IbanValidationResult.Status;
+
+/**
+ * Summary of scanning a file of IBANs with {@link IbanFileScanner}.
+ *
+ * <p>Holds the byte offsets of the invalid records, in file order, together with
+ * record counts by country and by validation outcome.</p>
+ */
+public final class IbanScanResult {
+
+  private static final CountryCode[] COUNTRY_CODES = CountryCode.values();
+  private static final IbanFormatViolation[] VIOLATIONS = IbanFormatViolation.values();
+
+  private final long[] invalidOffsets;
+  private final long[] countryCounts;
+  private final long[] resultCounts;
+  private final long recordCount;
+
+  IbanScanResult(final long[] invalidOffsets, final long[] countryCounts,
+      final long[] resultCounts) {
+    this.invalidOffsets = invalidOffsets;
+    this.countryCounts = countryCounts;
+    this.resultCounts = resultCounts;
+    long records = 0;
+    for (final long count : resultCounts) {
+      records += count;
+    }
+    this.recordCount = records;
+  }
+
+  /**
+   * Returns the number of records scanned.
+   *
+   * @return the number of records.
+   */
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Returns the number of valid records.
+   *
+   * @return the number of valid records.
+   */
+  public long getValidCount() {
+    return getCount(IbanValidationResult.VALID);
+  }
+
+  /**
+   * Returns the number of invalid records.
+   *
+   * @return the number of invalid records.
+   */
+  public long getInvalidCount() {
+    return invalidOffsets.length;
+  }
+
+  /**
+   * Returns the byte offsets of the lines holding invalid records, in ascending order.
+   *
+   * @return a copy of the offsets.
+   */
+  public long[] getInvalidOffsets() {
+    return invalidOffsets.clone();
+  }
+
+  /**
+   * Returns the number of records with the given validation result.
+   *
+   * @param result the validation result.
+   * @return the number of records validated to the given result.
+   */
+  public long getCount(final IbanValidationResult result) {
+    return resultCounts[result.getCode()];
+  }
+
+  /**
+   * Returns the number of records with the given validation status.
+   *
+   * @param status the validation status.
+   * @return the number of records validated to the given status.
+   */
+  public long getCount(final Status status) {
+    long count = 0;
+    for (int code = 0; code < resultCounts.length; code++) {
+      if (IbanValidationResult.ofCode(code).getStatus() == status) {
+        count += resultCounts[code];
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of records by country, for every country found at least once.
+   * Records which don't start with an existing country code are not counted.
+   *
+   * @return unmodifiable map of record counts by country.
+   */
+  public Map<CountryCode, Long> getCountsByCountry() {
+    final Map<CountryCode, Long> counts = new EnumMap<>(CountryCode.class);
+    for (int i = 0; i < countryCounts.length; i++) {
+      if (countryCounts[i] > 0) {
+        counts.put(COUNTRY_CODES[i], countryCounts[i]);
+      }
+    }
+    return Collections.unmodifiableMap(counts);
+  }
+
+  /**
+   * Returns the number of records by format violation, for every violation found at least once.
+   *
+   * @return unmodifiable map of record counts by format violation.
+   */
+  public Map<IbanFormatViolation, Long> getCountsByViolation() {
+    final Map<IbanFormatViolation, Long> counts = new EnumMap<>(IbanFormatViolation.class);
+    for (final IbanFormatViolation violation : VIOLATIONS) {
+      final long count = getCount(IbanValidationResult.of(violation));
+      if (count > 0) {
+        counts.put(violation, count);
+      }
+    }
+    return Collections.unmodifiableMap(counts);
+  }
+
+  @Override
+  public String toString() {
+    return "IbanScanResult{records=" + recordCount + ", invalid=" + invalidOffsets.length
+        + ", byViolation=" + getCountsByViolation() + '}';
+  }
+
+  /**
+   * Collects the outcome of one segment; segments are merged in file order.
+   */
+  static final class Collector {
+    private long[] invalidOffsets = new long[16];
+    private int invalidCount;
+    final long[] countryCounts = new long[COUNTRY_CODES.length];
+    final long[] resultCounts = new long[IbanValidationResult.CODE_COUNT];
+
+    void add(final long offset, final CountryCode countryCode, final IbanValidationResult result) {
+      resultCounts[result.getCode()]++;
+      if (countryCode != null) {
+        countryCounts[countryCode.ordinal()]++;
+      }
+      if (!result.isValid()) {
+        if (invalidCount == invalidOffsets.length) {
+          invalidOffsets = Arrays.copyOf(invalidOffsets, invalidCount * 2);
+        }
+        invalidOffsets[invalidCount++] = offset;
+      }
+    }
+
+    static IbanScanResult merge(final Iterable<Collector> collectors) {
+      int invalid = 0;
+      final long[] countryCounts = new long[COUNTRY_CODES.length];
+      final long[] resultCounts = new long[IbanValidationResult.CODE_COUNT];
+      for (final Collector collector : collectors) {
+        invalid += collector.invalidCount;
+        for (int i = 0; i < countryCounts.length; i++) {
+          countryCounts[i] += collector.countryCounts[i];
+        }
+        for (int i = 0; i < resultCounts.length; i++) {
+          resultCounts[i] += collector.resultCounts[i];
+        }
+      }
+      final long[] invalidOffsets = new long[invalid];
+      int position = 0;
+      for (final Collector collector : collectors) {
+        System.arraycopy(collector.invalidOffsets, 0, invalidOffsets, position,
+            collector.invalidCount);
+        position += collector.invalidCount;
+      }
+      return new IbanScanResult(invalidOffsets, countryCounts, resultCounts);
+    }
+  }
+}
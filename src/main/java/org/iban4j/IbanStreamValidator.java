@@ -0,0 +1,337 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Validates IBANs read from a character stream in one sequential scan.
+ *
+ * <p>Every line is a record holding one IBAN, either as the whole line or as one column of
+ * delimited values. The input is read through a single reused buffer and each IBAN is validated
+ * in place, so memory stays bounded whatever the input size and no String is created per line.
+ * Lines may end with {@code \n} or {@code \r\n}; a final line without terminator is a record too.
+ * A byte order mark at the start of the input is skipped.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ *
+ * <pre>
+ * IbanStreamValidator.builder().delimiter(';').column(2).build()
+ *     .validate(path, (line, iban, result) -&gt; {
+ *       if (!result.isValid()) {
+ *         report(line, result.getStatus(), result.getFormatViolation());
+ *       }
+ *     });
+ * </pre>
+ */
+public final class IbanStreamValidator {
+
+  /**
+   * Receives the validation result of every record.
+   */
+  @FunctionalInterface
+  public interface Listener {
+
+    /**
+     * Called once per record, in input order.
+     *
+     * @param lineNumber one based line number of the record.
+     * @param iban the validated value, cut short if far longer than any IBAN;
+     * only valid during this call, copy it with {@code toString()} to keep it.
+     * @param result the validation result.
+     */
+    void onResult(long lineNumber, CharSequence iban, IbanValidationResult result);
+  }
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  // longer values can't be ibans; their result only depends on the first characters
+  // and on being too long, so keeping one character more than this is enough
+  private static final int MAX_VALUE_LENGTH = 64;
+  // decoders keep the UTF-8 byte order mark as a character
+  private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+  private final char delimiter;
+  private final int column;
+  private final int bufferSize;
+  private final IbanValidator validator;
+
+  private IbanStreamValidator(final Builder builder) {
+    this.delimiter = builder.delimiter;
+    this.column = builder.column;
+    this.bufferSize = builder.bufferSize;
+    this.validator = builder.validator;
+  }
+
+  /**
+   * Creates a new builder for IbanStreamValidator.
+   *
+   * @return a new builder instance, validating whole lines by default.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Validates every record of the given reader. The reader is not closed.
+   *
+   * @param reader the input.
+   * @param listener receives the result of every record.
+   * @return the number of records validated.
+   * @throws IOException if reading fails.
+   */
+  public long validate(final Reader reader, final Listener listener) throws IOException {
+    final char[] buffer = new char[bufferSize];
+    final Value value = new Value();
+    long lineNumber = 1;
+    long records = 0;
+    int currentColumn = 0;
+    boolean lineStarted = false;
+    boolean pendingCarriageReturn = false;
+
+    int read;
+    boolean firstRead = true;
+    while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+      int start = 0;
+      if (firstRead && read > 0) {
+        firstRead = false;
+        start = buffer[0] == BYTE_ORDER_MARK ? 1 : 0;
+      }
+      for (int i = start; i < read; i++) {
+        final char ch = buffer[i];
+        if (pendingCarriageReturn) {
+          pendingCarriageReturn = false;
+          if (ch != '\n' && currentColumn == column) {
+            value.append('\r');
+          }
+        }
+        if (ch == '\n') {
+          validate(lineNumber++, value, listener);
+          records++;
+          value.clear();
+          currentColumn = 0;
+          lineStarted = false;
+          continue;
+        }
+        lineStarted = true;
+        if (ch == '\r') {
+          // only part of the value if not followed by a line feed
+          pendingCarriageReturn = true;
+        } else if (ch == delimiter) {
+          currentColumn++;
+        } else if (currentColumn == column) {
+          value.append(ch);
+        }
+      }
+    }
+    if (pendingCarriageReturn && currentColumn == column) {
+      value.append('\r');
+    }
+    if (lineStarted) {
+      validate(lineNumber, value, listener);
+      records++;
+    }
+    return records;
+  }
+
+  /**
+   * Validates every record of the given UTF-8 encoded stream. The stream is not closed.
+   *
+   * @param input the input.
+   * @param listener receives the result of every record.
+   * @return the number of records validated.
+   * @throws IOException if reading fails.
+   */
+  public long validate(final InputStream input, final Listener listener) throws IOException {
+    return validate(input, StandardCharsets.UTF_8, listener);
+  }
+
+  /**
+   * Validates every record of the given stream. The stream is not closed.
+   *
+   * @param input the input.
+   * @param charset the input's encoding.
+   * @param listener receives the result of every record.
+   * @return the number of records validated.
+   * @throws IOException if reading fails.
+   */
+  public long validate(final InputStream input, final Charset charset, final Listener listener)
+      throws IOException {
+    return validate(new InputStreamReader(input, charset), listener);
+  }
+
+  /**
+   * Validates every record of the given UTF-8 encoded file.
+   *
+   * @param path the file.
+   * @param listener receives the result of every record.
+   * @return the number of records validated.
+   * @throws IOException if reading fails.
+   */
+  public long validate(final Path path, final Listener listener) throws IOException {
+    return validate(path, StandardCharsets.UTF_8, listener);
+  }
+
+  /**
+   * Validates every record of the given file.
+   *
+   * @param path the file.
+   * @param charset the file's encoding.
+   * @param listener receives the result of every record.
+   * @return the number of records validated.
+   * @throws IOException if reading fails.
+   */
+  public long validate(final Path path, final Charset charset, final Listener listener)
+      throws IOException {
+    try (InputStream input = Files.newInputStream(path)) {
+      return validate(input, charset, listener);
+    }
+  }
+
+  private void validate(final long lineNumber, final Value value, final Listener listener) {
+    final IbanValidationResult result = validator == null
+        ? IbanUtil.getValidationResult(value)
+        : validator.getValidationResult(value);
+    listener.onResult(lineNumber, value, result);
+  }
+
+  /**
+   * Reused view of the current value. Characters beyond {@link #MAX_VALUE_LENGTH} + 1
+   * are dropped, which doesn't change the validation result.
+   */
+  private static final class Value implements CharSequence {
+    private final char[] chars = new char[MAX_VALUE_LENGTH + 1];
+    private int length;
+
+    void append(final char ch) {
+      if (length < chars.length) {
+        chars[length++] = ch;
+      }
+    }
+
+    void clear() {
+      length = 0;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException(
+            String.format("Index %d out of bounds for length %d", index, length));
+      }
+      return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return new String(chars, 0, length);
+    }
+  }
+
+  /**
+   * Builder for IbanStreamValidator.
+   */
+  public static final class Builder {
+    // a line feed ends the record before it could ever separate columns
+    private char delimiter = '\n';
+    private int column = 0;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private IbanValidator validator;
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the character separating the columns of a record.
+     * By default records have a single column.
+     *
+     * @param delimiter the column delimiter, e.g. {@code ';'} or {@code '\t'}.
+     * @return this builder for method chaining.
+     */
+    public Builder delimiter(final char delimiter) {
+      if (delimiter == '\n' || delimiter == '\r') {
+        throw new IllegalArgumentException("Line terminators can't be used as delimiter.");
+      }
+      this.delimiter = delimiter;
+      return this;
+    }
+
+    /**
+     * Sets the zero based column holding the IBAN.
+     *
+     * @param column the column index, {@code 0} by default.
+     * @return this builder for method chaining.
+     */
+    public Builder column(final int column) {
+      if (column < 0) {
+        throw new IllegalArgumentException("Column must not be negative.");
+      }
+      this.column = column;
+      return this;
+    }
+
+    /**
+     * Sets the size of the read buffer.
+     *
+     * @param bufferSize number of characters read at once.
+     * @return this builder for method chaining.
+     */
+    public Builder bufferSize(final int bufferSize) {
+      if (bufferSize <= 0) {
+        throw new IllegalArgumentException("Buffer size must be positive.");
+      }
+      this.bufferSize = bufferSize;
+      return this;
+    }
+
+    /**
+     * Validates with the given validator's options, e.g. country specific rules,
+     * instead of the plain {@link IbanUtil#getValidationResult(CharSequence)}.
+     *
+     * @param validator the validator to use.
+     * @return this builder for method chaining.
+     */
+    public Builder validator(final IbanValidator validator) {
+      this.validator = validator;
+      return this;
+    }
+
+    /**
+     * Builds the IbanStreamValidator instance.
+     *
+     * @return the configured IbanStreamValidator.
+     */
+    public IbanStreamValidator build() {
+      return new IbanStreamValidator(this);
+    }
+  }
+}
@@ -17,6 +17,9 @@ package org.iban4j;
 
 import static org.iban4j.IbanFormatException.IbanFormatViolation.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
 import org.iban4j.bban.BbanEntryType;
 import org.iban4j.bban.BbanStructure;
 import org.iban4j.bban.BbanStructureEntry;
@@ -27,18 +30,28 @@ import org.iban4j.countryrules.CountrySpecificRules;
  */
 public final class IbanUtil {
 
-    private static final int MOD = 97;
-    private static final long MAX = 999999999;
-
     private static final int COUNTRY_CODE_INDEX = 0;
     private static final int COUNTRY_CODE_LENGTH = 2;
     private static final int CHECK_DIGIT_INDEX = COUNTRY_CODE_LENGTH;
   private static final int CHECK_DIGIT_LENGTH = 2;
   private static final int BBAN_INDEX = CHECK_DIGIT_INDEX + CHECK_DIGIT_LENGTH;
+    // print format: groups of four characters, each but the last followed by a space
+    private static final int FORMAT_GROUP_SIZE = 4;
+    private static final int FORMAT_GROUP_STRIDE = FORMAT_GROUP_SIZE + 1;
 
     private IbanUtil() {
     }
 
+    /**
+     * {@code String} variant of {@link #calculateCheckDigit(CharSequence)}.
+     *
+     * @param iban string value
+     * @return check digit as String
+     */
+    public static String calculateCheckDigit(final String iban) throws IbanFormatException {
+        return calculateCheckDigit((CharSequence) iban);
+    }
+
     /**
      * Calculates Iban
      * <a href="http://en.wikipedia.org/wiki/ISO_13616#Generating_IBAN_check_digits">Check Digit</a>.
@@ -47,7 +60,7 @@ public final class IbanUtil {
      * @throws org.iban4j.IbanFormatException if iban contains invalid character.
      * @return check digit as String
      */
-    public static String calculateCheckDigit(final String iban) throws IbanFormatException {
+    public static String calculateCheckDigit(final CharSequence iban) throws IbanFormatException {
         final String reformattedIban = replaceCheckDigit(iban,
                 Iban.DEFAULT_CHECK_DIGIT);
         final int modResult = calculateMod(reformattedIban);
@@ -56,6 +69,16 @@ public final class IbanUtil {
         return checkDigitIntValue > 9 ? checkDigit : "0" + checkDigit;
     }
 
+    /**
+     * {@code String} variant of {@link #validate(CharSequence)}.
+     *
+     * @param iban to be validated.
+     */
+    public static void validate(final String iban)
+            throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+        validate((CharSequence) iban);
+    }
+
     /**
      * Validates iban.
      *
@@ -64,7 +87,41 @@ public final class IbanUtil {
      * @throws org.iban4j.InvalidCheckDigitException if iban has invalid check digit.
      * @throws org.iban4j.UnsupportedCountryException if iban's country is not supported.
      */
-    public static void validate(final String iban) throws IbanFormatException,
+    public static void validate(final CharSequence iban) throws IbanFormatException,
+            InvalidCheckDigitException, UnsupportedCountryException {
+        final IbanValidationResult result = getValidationResult(iban);
+        if (!result.isValid()) {
+            // only the failure path materializes a String to build the detailed exception
+            throwInvalid(iban == null ? null : iban.toString(), result);
+        }
+    }
+
+    /**
+     * Throws the detailed exception for an iban rejected by {@link #getValidationResult(CharSequence)}.
+     * The single-pass result stays authoritative: should the detailed checks ever accept the iban,
+     * an exception naming the result is thrown instead.
+     *
+     * @param iban the rejected iban.
+     * @param result its failed validation result.
+     */
+    static void throwInvalid(final String iban, final IbanValidationResult result)
+            throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+        validateDetailed(iban);
+        throw rejected(iban, result);
+    }
+
+    /**
+     * Returns the exception naming a failed validation result, for an iban whose detailed
+     * checks didn't throw.
+     *
+     * @param iban the rejected iban.
+     * @param result its failed validation result.
+     */
+    static IbanFormatException rejected(final String iban, final IbanValidationResult result) {
+        return new IbanFormatException(UNKNOWN, String.format("[%s] is invalid: %s", iban, result));
+    }
+
+    private static void validateDetailed(final String iban) throws IbanFormatException,
             InvalidCheckDigitException, UnsupportedCountryException {
         try {
             validateEmpty(iban);
@@ -85,20 +142,297 @@ public final class IbanUtil {
     }
 
     /**
-     * Validates iban.
+     * Validates iban without throwing exceptions.
+     * Performs the same checks, in the same order, as {@link #validate(CharSequence)},
+     * in a single pass over the characters and without allocating.
+     *
+     * @param iban to be validated.
+     * @return {@link IbanValidationResult#VALID} if iban is valid, otherwise the result
+     * describing the first violation found.
+     */
+    public static IbanValidationResult getValidationResult(final CharSequence iban) {
+        if (iban == null) {
+            return IbanValidationResult.of(IBAN_NOT_NULL);
+        }
+        return getValidationResult(iban::charAt, iban.length());
+    }
+
+    /**
+     * Checks only what doesn't need a pass over the bban: country code, check digit
+     * presence and length. Throws the exception {@link #validate(CharSequence)} would
+     * throw for a violation of these.
+     *
+     * @param iban to be checked.
+     * @return the bban structure of the iban's country.
+     */
+    static BbanStructure validateHeader(final CharSequence iban) throws IbanFormatException,
+            UnsupportedCountryException {
+        if (iban == null) {
+            validateDetailed(null);
+        }
+        final int length = iban.length();
+        final BbanStructure structure = getHeaderStructure(length,
+                length > 0 ? iban.charAt(0) : 0, length > 1 ? iban.charAt(1) : 0,
+                length > 2 ? iban.charAt(2) : 0, length > 3 ? iban.charAt(3) : 0);
+        if (structure == null) {
+            // the header violation is found before any bban check
+            throwInvalid(iban.toString(), getValidationResult(iban));
+        }
+        return structure;
+    }
+
+    /**
+     * Validates iban whose country's bban structure has already been resolved,
+     * e.g. once for a whole group of ibans of the same country.
+     * Falls back to {@link #getValidationResult(CharSequence)} whenever the header
+     * doesn't fit the structure, so the result is always the same.
+     *
+     * @param iban to be validated.
+     * @param structure bban structure of the country given by the iban's first two characters.
+     */
+    static IbanValidationResult getValidationResult(final CharSequence iban,
+                                                    final BbanStructure structure) {
+        if (iban == null || structure == null
+                || iban.length() != BBAN_INDEX + structure.getBbanLength()) {
+            return getValidationResult(iban);
+        }
+        final char checkDigit1 = iban.charAt(CHECK_DIGIT_INDEX);
+        final char checkDigit2 = iban.charAt(CHECK_DIGIT_INDEX + 1);
+        if (!CharacterUtil.isAsciiDigit(checkDigit1) || !CharacterUtil.isAsciiDigit(checkDigit2)) {
+            return getValidationResult(iban);
+        }
+        return getBbanResult(iban::charAt, iban.length(), structure,
+                iban.charAt(COUNTRY_CODE_INDEX), iban.charAt(COUNTRY_CODE_INDEX + 1),
+                checkDigit1, checkDigit2);
+    }
+
+    /**
+     * Reads the k-th character of an iban, whatever input it is stored in.
+     */
+    private interface IbanChars {
+        char charAt(int index);
+    }
+
+    private static IbanValidationResult getValidationResult(final IbanChars iban,
+                                                            final int length) {
+        final char first = length > 0 ? iban.charAt(0) : 0;
+        final char second = length > 1 ? iban.charAt(1) : 0;
+        final char checkDigit1 = length > 2 ? iban.charAt(2) : 0;
+        final char checkDigit2 = length > 3 ? iban.charAt(3) : 0;
+        final BbanStructure structure = getHeaderStructure(length, first, second,
+                checkDigit1, checkDigit2);
+        if (structure == null) {
+            return getHeaderResult(length, first, second, checkDigit1, checkDigit2);
+        }
+        return getBbanResult(iban, length, structure, first, second, checkDigit1, checkDigit2);
+    }
+
+    private static IbanValidationResult getBbanResult(final IbanChars iban, final int length,
+                                                      final BbanStructure structure,
+                                                      final char first, final char second,
+                                                      final char checkDigit1, final char checkDigit2) {
+        // the bban is validated and reduced modulo 97 in the same walk,
+        // country code and check digit are appended afterwards.
+        long total = 0;
+        for (int position = 0; position < length - BBAN_INDEX; position++) {
+            final char ch = iban.charAt(BBAN_INDEX + position);
+            if (!structure.isValidCharacter(position, ch)) {
+                return getBbanCharacterResult(structure, position);
+            }
+            total = appendToMod(total, position, ch);
+        }
+        return getCheckDigitResult(total, first, second, checkDigit1, checkDigit2);
+    }
+
+    /**
+     * Validates an iban in print format. If its spacing is right, the k-th character of the
+     * iban is found at index k + k / 4 and the checks run straight on the input. Otherwise the
+     * iban without spaces is validated first, as its violation takes precedence.
+     */
+    private static IbanValidationResult getFormattedValidationResult(final CharSequence iban) {
+        if (iban == null) {
+            return IbanValidationResult.of(IBAN_NOT_NULL);
+        }
+        final int formattedLength = iban.length();
+        boolean grouped = formattedLength % FORMAT_GROUP_STRIDE != 0 || formattedLength == 0;
+        for (int i = 0; i < formattedLength && grouped; i++) {
+            grouped = (iban.charAt(i) == ' ') == (i % FORMAT_GROUP_STRIDE == FORMAT_GROUP_SIZE);
+        }
+        if (!grouped) {
+            final IbanValidationResult result = getValidationResult(removeSpaces(iban));
+            return result.isValid() ? IbanValidationResult.of(IBAN_FORMATTING) : result;
+        }
+        return getValidationResult(index -> iban.charAt(index + index / FORMAT_GROUP_SIZE),
+                formattedLength - formattedLength / FORMAT_GROUP_STRIDE);
+    }
+
+    /**
+     * Validates the ASCII encoded iban found in the given range of a byte array, without throwing
+     * exceptions, copying or decoding the bytes. Bytes outside of the ASCII range are
+     * treated as ISO-8859-1 characters.
+     *
+     * @param iban bytes containing the iban.
+     * @param offset index of the first iban byte.
+     * @param length iban length.
+     * @return {@link IbanValidationResult#VALID} if iban is valid, otherwise the result
+     * describing the first violation found.
+     * @throws IndexOutOfBoundsException if the range is not within the array.
+     * @see #getValidationResult(CharSequence)
+     */
+    public static IbanValidationResult getValidationResult(final byte[] iban, final int offset,
+                                                           final int length) {
+        if (iban == null) {
+            return IbanValidationResult.of(IBAN_NOT_NULL);
+        }
+        checkRange(iban.length, offset, length);
+        return getValidationResult(i -> toChar(iban[offset + i]), length);
+    }
+
+    /**
+     * Validates the ASCII encoded iban between the buffer's position and limit, without throwing
+     * exceptions, copying or decoding the bytes. The buffer's position, limit and mark
+     * are left unchanged, so memory mapped files can be validated in place.
+     *
+     * @param iban buffer containing the iban between its position and limit.
+     * @return {@link IbanValidationResult#VALID} if iban is valid, otherwise the result
+     * describing the first violation found.
+     * @see #getValidationResult(byte[], int, int)
+     */
+    public static IbanValidationResult getValidationResult(final ByteBuffer iban) {
+        if (iban == null) {
+            return IbanValidationResult.of(IBAN_NOT_NULL);
+        }
+        return getValidationResult(iban, iban.position(), iban.remaining());
+    }
+
+    /**
+     * Validates the ASCII encoded iban found at the given absolute index of the buffer, without
+     * throwing exceptions, copying or decoding the bytes. The buffer's position, limit and mark
+     * are neither used nor changed.
+     *
+     * @param iban buffer containing the iban.
+     * @param index absolute index of the first iban byte.
+     * @param length iban length.
+     * @return {@link IbanValidationResult#VALID} if iban is valid, otherwise the result
+     * describing the first violation found.
+     * @throws IndexOutOfBoundsException if the range is not within the buffer's limit.
+     * @see #getValidationResult(byte[], int, int)
+     */
+    public static IbanValidationResult getValidationResult(final ByteBuffer iban, final int index,
+                                                           final int length) {
+        if (iban == null) {
+            return IbanValidationResult.of(IBAN_NOT_NULL);
+        }
+        checkRange(iban.limit(), index, length);
+        if (iban.hasArray()) {
+            return getValidationResult(iban.array(), iban.arrayOffset() + index, length);
+        }
+        return getValidationResult(i -> toChar(iban.get(index + i)), length);
+    }
+
+    /**
+     * Validates the ASCII encoded iban found in the given range of a byte array.
+     * The bytes are only decoded to build the exception when iban is invalid.
+     *
+     * @param iban bytes containing the iban.
+     * @param offset index of the first iban byte.
+     * @param length iban length.
+     * @throws org.iban4j.IbanFormatException if iban is invalid.
+     * @throws org.iban4j.InvalidCheckDigitException if iban has invalid check digit.
+     * @throws org.iban4j.UnsupportedCountryException if iban's country is not supported.
+     */
+    public static void validate(final byte[] iban, final int offset, final int length)
+            throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+        final IbanValidationResult result = getValidationResult(iban, offset, length);
+        if (!result.isValid()) {
+            throwInvalid(iban == null ? null : new String(iban, offset, length, StandardCharsets.ISO_8859_1),
+                    result);
+        }
+    }
+
+    /**
+     * Validates the ASCII encoded iban found at the given absolute index of the buffer.
+     * The buffer's position, limit and mark are neither used nor changed.
+     * The bytes are only decoded to build the exception when iban is invalid.
+     *
+     * @param iban buffer containing the iban.
+     * @param index absolute index of the first iban byte.
+     * @param length iban length.
+     * @throws org.iban4j.IbanFormatException if iban is invalid.
+     * @throws org.iban4j.InvalidCheckDigitException if iban has invalid check digit.
+     * @throws org.iban4j.UnsupportedCountryException if iban's country is not supported.
+     */
+    public static void validate(final ByteBuffer iban, final int index, final int length)
+            throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+        final IbanValidationResult result = getValidationResult(iban, index, length);
+        if (!result.isValid()) {
+            if (iban == null) {
+                throwInvalid(null, result);
+            }
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = iban.get(index + i);
+            }
+            throwInvalid(new String(bytes, StandardCharsets.ISO_8859_1), result);
+        }
+    }
+
+    /**
+     * Validates the ASCII encoded iban found in the given range of a byte array.
+     *
+     * @param iban bytes containing the iban.
+     * @param offset index of the first iban byte.
+     * @param length iban length.
+     * @return true if the iban is valid
+     */
+    public static boolean isValid(final byte[] iban, final int offset, final int length) {
+        return getValidationResult(iban, offset, length).isValid();
+    }
+
+    /**
+     * Validates the ASCII encoded iban found at the given absolute index of the buffer.
+     * The buffer's position, limit and mark are neither used nor changed.
+     *
+     * @param iban buffer containing the iban.
+     * @param index absolute index of the first iban byte.
+     * @param length iban length.
+     * @return true if the iban is valid
+     */
+    public static boolean isValid(final ByteBuffer iban, final int index, final int length) {
+        return getValidationResult(iban, index, length).isValid();
+    }
+
+    /**
+     * {@code String} variant of {@link #isValid(CharSequence)}.
      *
      * @param iban to be validated.
      * @return true if the iban is valid
      */
     public static boolean isValid(final String iban) {
-        try {
-            validate(iban);
-        } catch (Exception e) {
-            return false;
-        }
-        return true;
+        return isValid((CharSequence) iban);
+    }
+
+    /**
+     * Validates iban.
+     *
+     * @param iban to be validated.
+     * @return true if the iban is valid
+     */
+    public static boolean isValid(final CharSequence iban) {
+        return getValidationResult(iban).isValid();
     }
 
+  /**
+   * {@code String} variant of {@link #isValid(CharSequence, ValidationConfig)}.
+   *
+   * @param iban the IBAN string
+   * @param config validation configuration
+   * @return true if valid, false otherwise
+   */
+  public static boolean isValid(final String iban, final ValidationConfig config) {
+    return isValid((CharSequence) iban, config);
+  }
+
   /**
    * Validates iban with optional national check digit validation via {@link ValidationConfig}.
    *
@@ -110,16 +444,28 @@ public final class IbanUtil {
    * @param config validation configuration
    * @return true if valid (including national check digit when enabled), false otherwise
    */
-  public static boolean isValid(final String iban, final ValidationConfig config) {
+  public static boolean isValid(final CharSequence iban, final ValidationConfig config) {
+    if (!isValid(iban)) {
+      return false;
+    }
     try {
-      validate(iban);
-      final Iban ibanObj = Iban.valueOf(iban);
-      return CountrySpecificRules.isValid(ibanObj, config);
+      return CountrySpecificRules.isValid(Iban.ofValidated(iban.toString()), config);
     } catch (Exception e) {
       return false;
     }
   }
 
+    /**
+     * {@code String} variant of {@link #validate(CharSequence, IbanFormat)}.
+     *
+     * @param iban to be validated.
+     * @param format to be used in validation.
+     */
+    public static void validate(final String iban, final IbanFormat format)
+            throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+        validate((CharSequence) iban, format);
+    }
+
     /**
      * Validates iban.
      *
@@ -129,17 +475,22 @@ public final class IbanUtil {
      * @throws org.iban4j.InvalidCheckDigitException if iban has invalid check digit.
      * @throws org.iban4j.UnsupportedCountryException if iban's country is not supported.
      */
-    public static void validate(final String iban, final IbanFormat format) throws IbanFormatException,
+    public static void validate(final CharSequence iban, final IbanFormat format) throws IbanFormatException,
             InvalidCheckDigitException, UnsupportedCountryException {
         switch (format) {
             case Default:
-                final String ibanWithoutSpaces = iban.replace(" ", "");
-                validate(ibanWithoutSpaces);
-                if(!toFormattedString(ibanWithoutSpaces).equals(iban)) {
+                final IbanValidationResult result = getValidationResult(iban, format);
+                if (result.getFormatViolation() == IBAN_FORMATTING) {
                     throw new IbanFormatException(IBAN_FORMATTING,
                             String.format("Iban must be formatted using 4 characters and space combination. " +
                                     "Instead of [%s]", iban));
                 }
+                if (!result.isValid()) {
+                    throwInvalid(removeSpaces(iban), result);
+                }
+                break;
+            case Lenient:
+                IbanParser.parse(iban).toIban();
                 break;
             default:
                 validate(iban);
@@ -148,19 +499,65 @@ public final class IbanUtil {
     }
 
     /**
-     * Validates iban.
+     * Validates iban in the given format without throwing exceptions.
+     * For {@link IbanFormat#Default} the spacing and the iban are checked in a single pass
+     * over the formatted input, without allocating; an iban which is valid but not grouped
+     * by four characters separated by single spaces gets the
+     * {@link IbanFormatViolation#IBAN_FORMATTING} violation.
+     *
+     * @param iban to be validated.
+     * @param format to be used in validation.
+     * @return {@link IbanValidationResult#VALID} if iban is valid, otherwise the result
+     * describing the first violation found.
+     */
+    public static IbanValidationResult getValidationResult(final CharSequence iban,
+                                                           final IbanFormat format) {
+        switch (format) {
+            case Default:
+                return getFormattedValidationResult(iban);
+            case Lenient:
+                return IbanParser.parse(iban).getValidationResult();
+            default:
+                return getValidationResult(iban);
+        }
+    }
+
+    /**
+     * {@code String} variant of {@link #isValid(CharSequence, IbanFormat)}.
      *
      * @param iban to be validated.
      * @param format to be used in validation.
      * @return true if iban is valid
      */
     public static boolean isValid(final String iban, final IbanFormat format) {
-        try{
-            validate(iban, format);
-        }catch (Exception e){
-            return false;
+        return isValid((CharSequence) iban, format);
+    }
+
+    /**
+     * Validates iban.
+     *
+     * @param iban to be validated.
+     * @param format to be used in validation.
+     * @return true if iban is valid
+     */
+    public static boolean isValid(final CharSequence iban, final IbanFormat format) {
+        return format != null && getValidationResult(iban, format).isValid();
+    }
+
+    /**
+     * Returns the iban without the spaces of its print format.
+     */
+    static String removeSpaces(final CharSequence iban) {
+        if (iban == null) {
+            return null;
+        }
+        final StringBuilder stripped = new StringBuilder(iban.length());
+        for (int i = 0; i < iban.length(); i++) {
+            if (iban.charAt(i) != ' ') {
+                stripped.append(iban.charAt(i));
+            }
         }
-        return true;
+        return stripped.toString();
     }
 
     /**
@@ -185,75 +582,145 @@ public final class IbanUtil {
     }
 
     /**
-     * Returns iban's check digit.
+     * {@code String} variant of {@link #getCheckDigit(CharSequence)}.
      *
      * @param iban String
      * @return checkDigit String
      */
     public static String getCheckDigit(final String iban) {
-        return iban.substring(CHECK_DIGIT_INDEX,
+        return getCheckDigit((CharSequence) iban);
+    }
+
+    /**
+     * Returns iban's check digit.
+     *
+     * @param iban String
+     * @return checkDigit String
+     */
+    public static String getCheckDigit(final CharSequence iban) {
+        return substring(iban, CHECK_DIGIT_INDEX,
                 CHECK_DIGIT_INDEX + CHECK_DIGIT_LENGTH);
     }
 
     /**
-     * Returns iban's country code.
+     * {@code String} variant of {@link #getCountryCode(CharSequence)}.
      *
      * @param iban String
      * @return countryCode String
      */
     public static String getCountryCode(final String iban) {
-        return iban.substring(COUNTRY_CODE_INDEX,
+        return getCountryCode((CharSequence) iban);
+    }
+
+    /**
+     * Returns iban's country code.
+     *
+     * @param iban String
+     * @return countryCode String
+     */
+    public static String getCountryCode(final CharSequence iban) {
+        return substring(iban, COUNTRY_CODE_INDEX,
                 COUNTRY_CODE_INDEX + COUNTRY_CODE_LENGTH);
     }
 
     /**
-     * Returns iban's country code and check digit.
+     * {@code String} variant of {@link #getCountryCodeAndCheckDigit(CharSequence)}.
      *
      * @param iban String
      * @return countryCodeAndCheckDigit String
      */
     public static String getCountryCodeAndCheckDigit(final String iban) {
-        return iban.substring(COUNTRY_CODE_INDEX,
+        return getCountryCodeAndCheckDigit((CharSequence) iban);
+    }
+
+    /**
+     * Returns iban's country code and check digit.
+     *
+     * @param iban String
+     * @return countryCodeAndCheckDigit String
+     */
+    public static String getCountryCodeAndCheckDigit(final CharSequence iban) {
+        return substring(iban, COUNTRY_CODE_INDEX,
                 COUNTRY_CODE_INDEX + COUNTRY_CODE_LENGTH + CHECK_DIGIT_LENGTH);
     }
 
     /**
-     * Returns iban's bban (Basic Bank Account Number).
+     * {@code String} variant of {@link #getBban(CharSequence)}.
      *
      * @param iban String
      * @return bban String
      */
     public static String getBban(final String iban) {
-        return iban.substring(BBAN_INDEX);
+        return getBban((CharSequence) iban);
     }
 
     /**
-     * Returns iban's account number.
+     * Returns iban's bban (Basic Bank Account Number).
+     *
+     * @param iban String
+     * @return bban String
+     */
+    public static String getBban(final CharSequence iban) {
+        return substring(iban, BBAN_INDEX, iban.length());
+    }
+
+    /**
+     * {@code String} variant of {@link #getAccountNumber(CharSequence)}.
      *
      * @param iban String
      * @return accountNumber String
      */
     public static String getAccountNumber(final String iban) {
+        return getAccountNumber((CharSequence) iban);
+    }
+
+    /**
+     * Returns iban's account number.
+     *
+     * @param iban String
+     * @return accountNumber String
+     */
+    public static String getAccountNumber(final CharSequence iban) {
         return extractBbanEntry(iban, BbanEntryType.account_number);
     }
 
     /**
-     * Returns iban's bank code.
+     * {@code String} variant of {@link #getBankCode(CharSequence)}.
      *
      * @param iban String
      * @return bankCode String
      */
     public static String getBankCode(final String iban) {
+        return getBankCode((CharSequence) iban);
+    }
+
+    /**
+     * Returns iban's bank code.
+     *
+     * @param iban String
+     * @return bankCode String
+     */
+    public static String getBankCode(final CharSequence iban) {
         return extractBbanEntry(iban, BbanEntryType.bank_code);
     }
 
   /**
-   * Returns iban's bank code extension.
+   * {@code String} variant of {@link #getBankCodeExt(CharSequence)}.
    *
    * @param iban String
    * @return bankCodeExt String
    */
   public static String getBankCodeExt(final String iban) {
+    return getBankCodeExt((CharSequence) iban);
+  }
+
+  /**
+   * Returns iban's bank code extension.
+   *
+   * @param iban String
+   * @return bankCodeExt String
+   */
+  public static String getBankCodeExt(final CharSequence iban) {
     return extractBbanEntry(iban, BbanEntryType.bank_code_ext);
   }
 
@@ -263,7 +730,7 @@ public final class IbanUtil {
      * @param iban String
      * @return branchCode String
      */
-    static String getBranchCode(final String iban) {
+    static String getBranchCode(final CharSequence iban) {
         return extractBbanEntry(iban, BbanEntryType.branch_code);
     }
 
@@ -273,7 +740,7 @@ public final class IbanUtil {
      * @param iban String
      * @return nationalCheckDigit String
      */
-    static String getNationalCheckDigit(final String iban) {
+    static String getNationalCheckDigit(final CharSequence iban) {
         return extractBbanEntry(iban, BbanEntryType.national_check_digit);
     }
 
@@ -283,7 +750,7 @@ public final class IbanUtil {
      * @param iban String
      * @return accountType String
      */
-    static String getAccountType(final String iban) {
+    static String getAccountType(final CharSequence iban) {
         return extractBbanEntry(iban, BbanEntryType.account_type);
     }
 
@@ -293,7 +760,7 @@ public final class IbanUtil {
      * @param iban String
      * @return ownerAccountType String
      */
-    static String getOwnerAccountType(final String iban) {
+    static String getOwnerAccountType(final CharSequence iban) {
         return extractBbanEntry(iban, BbanEntryType.owner_account_number);
     }
 
@@ -303,7 +770,7 @@ public final class IbanUtil {
      * @param iban String
      * @return identificationNumber String
      */
-    static String getIdentificationNumber(final String iban) {
+    static String getIdentificationNumber(final CharSequence iban) {
         return extractBbanEntry(iban, BbanEntryType.identification_number);
     }
 
@@ -317,7 +784,7 @@ public final class IbanUtil {
      * @param iban The iban
      * @return The iban without the check digit
      */
-    static String replaceCheckDigit(final String iban, final String checkDigit) {
+    static String replaceCheckDigit(final CharSequence iban, final String checkDigit) {
         return getCountryCode(iban) + checkDigit + getBban(iban);
     }
 
@@ -327,14 +794,7 @@ public final class IbanUtil {
      * @return A string representing formatted Iban for printing.
      */
     static String toFormattedString(final String iban) {
-        final StringBuilder ibanBuffer = new StringBuilder(iban);
-        final int length = ibanBuffer.length();
-
-        for (int i = 0; i < length / 4; i++) {
-            ibanBuffer.insert((i + 1) * 4 + i, ' ');
-        }
-
-        return ibanBuffer.toString().trim();
+        return IbanFormatter.DEFAULT.format(iban);
     }
 
     private static void validateCheckDigit(final String iban) {
@@ -349,6 +809,113 @@ public final class IbanUtil {
         }
     }
 
+    /**
+     * Returns the bban structure if country code, check digit and length are valid,
+     * otherwise null. Characters at positions not covered by length are ignored.
+     */
+    private static BbanStructure getHeaderStructure(final int length,
+                                                    final char first, final char second,
+                                                    final char checkDigit1, final char checkDigit2) {
+        if (length < COUNTRY_CODE_LENGTH + CHECK_DIGIT_LENGTH ||
+            !CharacterUtil.isAsciiDigit(checkDigit1) || !CharacterUtil.isAsciiDigit(checkDigit2)) {
+            return null;
+        }
+        final BbanStructure structure = getBbanStructure(CountryCode.getByAlpha2Code(first, second));
+        if (structure == null || length - BBAN_INDEX != structure.getBbanLength()) {
+            return null;
+        }
+        return structure;
+    }
+
+    /**
+     * Returns the violation of an iban rejected by {@link #getHeaderStructure}.
+     */
+    private static IbanValidationResult getHeaderResult(final int length,
+                                                        final char first, final char second,
+                                                        final char checkDigit1, final char checkDigit2) {
+        if (length == 0) {
+            return IbanValidationResult.of(IBAN_NOT_EMPTY);
+        }
+        if (length < COUNTRY_CODE_LENGTH) {
+            return IbanValidationResult.of(COUNTRY_CODE_TWO_LETTERS);
+        }
+        final CountryCode countryCode = CountryCode.getByAlpha2Code(first, second);
+        if (countryCode == null) {
+            return IbanValidationResult.of(getCountryCodeViolation(first, second));
+        }
+        final BbanStructure structure = getBbanStructure(countryCode);
+        if (structure == null) {
+            return IbanValidationResult.UNSUPPORTED_COUNTRY;
+        }
+        if (length < COUNTRY_CODE_LENGTH + CHECK_DIGIT_LENGTH) {
+            return IbanValidationResult.of(CHECK_DIGIT_TWO_DIGITS);
+        }
+        if (!CharacterUtil.isAsciiDigit(checkDigit1) || !CharacterUtil.isAsciiDigit(checkDigit2)) {
+            return IbanValidationResult.of(CHECK_DIGIT_ONLY_DIGITS);
+        }
+        return IbanValidationResult.of(BBAN_LENGTH);
+    }
+
+    private static IbanValidationResult getBbanCharacterResult(final BbanStructure structure,
+                                                               final int position) {
+        return IbanValidationResult.of(getCharacterViolation(structure.getCharacterType(position)));
+    }
+
+    private static long appendToMod(final long total, final int position, final char ch) {
+        final long appended = Mod97.append(total, ch);
+        return position % Mod97.CHUNK_LENGTH == Mod97.CHUNK_LENGTH - 1
+                ? Mod97.reduce(appended) : appended;
+    }
+
+    private static IbanValidationResult getCheckDigitResult(final long bbanTotal,
+                                                            final char first, final char second,
+                                                            final char checkDigit1, final char checkDigit2) {
+        long total = Mod97.reduce(bbanTotal);
+        total = Mod97.append(total, first);
+        total = Mod97.append(total, second);
+        total = Mod97.append(total, checkDigit1);
+        total = Mod97.append(total, checkDigit2);
+        return Mod97.reduce(total) == 1
+                ? IbanValidationResult.VALID : IbanValidationResult.INVALID_CHECK_DIGIT;
+    }
+
+    private static char toChar(final byte b) {
+        return (char) (b & 0xFF);
+    }
+
+    private static void checkRange(final int arrayLength, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Range [%d, %d + %d) out of bounds for length %d",
+                    offset, offset, length, arrayLength));
+        }
+    }
+
+    private static IbanFormatViolation getCountryCodeViolation(final char first, final char second) {
+        if (CharacterUtil.isAsciiUppercaseLetter(first) && CharacterUtil.isAsciiUppercaseLetter(second)) {
+            return COUNTRY_CODE_EXISTS;
+        }
+        // rare non ascii input, checked exactly as validateCountryCode does
+        final String countryCode = new String(new char[] {first, second});
+        if (!countryCode.equals(countryCode.toUpperCase()) ||
+            !Character.isLetter(first) || !Character.isLetter(second)) {
+            return COUNTRY_CODE_UPPER_CASE_LETTERS;
+        }
+        return COUNTRY_CODE_EXISTS;
+    }
+
+    private static IbanFormatViolation getCharacterViolation(
+            final BbanStructureEntry.EntryCharacterType characterType) {
+        switch (characterType) {
+            case a:
+                return BBAN_ONLY_UPPER_CASE_LETTERS;
+            case n:
+                return BBAN_ONLY_DIGITS;
+            default:
+                return BBAN_ONLY_DIGITS_OR_LETTERS;
+        }
+    }
+
     private static void validateEmpty(final String iban) {
         if(iban == null) {
             throw new IbanFormatException(IBAN_NOT_NULL,
@@ -447,50 +1014,65 @@ public final class IbanUtil {
      * @param iban String value
      * @return modulo 97
      */
-    private static int calculateMod(final String iban) {
-        final String reformattedIban = getBban(iban) + getCountryCodeAndCheckDigit(iban);
-        long total = 0;
-        for (int i = 0; i < reformattedIban.length(); i++) {
-            final int numericValue = Character.getNumericValue(reformattedIban.charAt(i));
-            if (numericValue < 0 || numericValue > 35) {
-                throw new IbanFormatException(IBAN_VALID_CHARACTERS, null, null,
-                        reformattedIban.charAt(i),
-                        String.format("Invalid Character[%d] = '%d'", i, numericValue));
-            }
-            total = (numericValue > 9 ? total * 100 : total * 10) + numericValue;
-
-            if (total > MAX) {
-                total = (total % MOD);
+    private static int calculateMod(final CharSequence iban) {
+        final int mod = Mod97.ibanRemainder(iban);
+        if (mod < 0) {
+            final String reformattedIban = getBban(iban) + getCountryCodeAndCheckDigit(iban);
+            for (int i = 0; i < reformattedIban.length(); i++) {
+                final char ch = reformattedIban.charAt(i);
+                if (Mod97.remainder(String.valueOf(ch)) < 0) {
+                    throw new IbanFormatException(IBAN_VALID_CHARACTERS, null, null, ch,
+                            String.format("Invalid Character[%d] = '%d'", i,
+                                    Character.getNumericValue(ch)));
+                }
             }
-
         }
-        return (int) (total % MOD);
+        return mod;
     }
 
-    private static BbanStructure getBbanStructure(final String iban) {
-        final String countryCode = getCountryCode(iban);
-        return getBbanStructure(CountryCode.getByCode(countryCode));
+    private static BbanStructure getBbanStructure(final CharSequence iban) {
+        final CountryCode countryCode = CountryCode.getByAlpha2Code(iban.charAt(COUNTRY_CODE_INDEX),
+                iban.charAt(COUNTRY_CODE_INDEX + 1));
+        if (countryCode != null) {
+            return getBbanStructure(countryCode);
+        }
+        // lower case and other unusual country codes go through the lenient lookup
+        return getBbanStructure(CountryCode.getByCode(getCountryCode(iban)));
     }
 
     private static BbanStructure getBbanStructure(final CountryCode countryCode) {
         return BbanStructure.forCountry(countryCode);
     }
 
-    private static String extractBbanEntry(final String iban, final BbanEntryType entryType) {
-        final String bban = getBban(iban);
-        final BbanStructure structure = getBbanStructure(iban);
-        int bbanEntryOffset = 0;
-        for(final BbanStructureEntry entry : structure.getEntries()) {
-            final int entryLength = entry.getLength();
-            final String entryValue = bban.substring(bbanEntryOffset,
-                    bbanEntryOffset + entryLength);
+    private static String extractBbanEntry(final CharSequence iban, final BbanEntryType entryType) {
+        return extractBbanEntry(iban, getBbanStructure(iban), entryType);
+    }
 
-            bbanEntryOffset = bbanEntryOffset + entryLength;
-            if (entry.getEntryType() == entryType) {
-                return entryValue;
-            }
+    /**
+     * Returns the entry of the given type using the structure's precomputed offsets.
+     *
+     * @return the entry value or null if structure has no such entry.
+     */
+    static String extractBbanEntry(final CharSequence iban, final BbanStructure structure,
+                                   final BbanEntryType entryType) {
+        final BbanStructureEntry entry = structure.getEntry(entryType);
+        if (entry == null) {
+            return null;
         }
-        return null;
+        final int entryOffset = BBAN_INDEX + structure.getEntryOffset(entryType);
+        return substring(iban, entryOffset, entryOffset + entry.getLength());
+    }
+
+    /**
+     * Copies only the requested range. For a {@code String} this is a plain substring,
+     * other sequences (e.g. a reused {@code StringBuilder} or {@code CharBuffer}) are
+     * never converted as a whole.
+     */
+    private static String substring(final CharSequence iban, final int start, final int end) {
+        if (iban instanceof String) {
+            return ((String) iban).substring(start, end);
+        }
+        return iban.subSequence(start, end).toString();
     }
 
     /**
@@ -515,6 +1097,16 @@ public final class IbanUtil {
     private static final IbanValidator COUNTRY_RULES_VALIDATOR = 
         IbanValidator.builder().enableCountryRules().build();
     
+    /**
+     * {@code String} variant of {@link #validateWithCountryRules(CharSequence)}.
+     *
+     * @param iban the IBAN string to validate
+     */
+    public static void validateWithCountryRules(String iban)
+            throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+        validateWithCountryRules((CharSequence) iban);
+    }
+
     /**
      * Validates IBAN with country-specific rules enabled.
      * 
@@ -523,18 +1115,28 @@ public final class IbanUtil {
      * @throws InvalidCheckDigitException if the IBAN has invalid check digit
      * @throws UnsupportedCountryException if the IBAN's country is not supported
      */
-    public static void validateWithCountryRules(String iban) throws IbanFormatException,
+    public static void validateWithCountryRules(CharSequence iban) throws IbanFormatException,
             InvalidCheckDigitException, UnsupportedCountryException {
         COUNTRY_RULES_VALIDATOR.validate(iban);
     }
     
+    /**
+     * {@code String} variant of {@link #isValidWithCountryRules(CharSequence)}.
+     *
+     * @param iban the IBAN string to validate
+     * @return true if the IBAN is valid, false otherwise
+     */
+    public static boolean isValidWithCountryRules(String iban) {
+        return isValidWithCountryRules((CharSequence) iban);
+    }
+
     /**
      * Checks if IBAN is valid with country-specific rules enabled.
      * 
      * @param iban the IBAN string to validate
      * @return true if the IBAN is valid, false otherwise
      */
-    public static boolean isValidWithCountryRules(String iban) {
+    public static boolean isValidWithCountryRules(CharSequence iban) {
         return COUNTRY_RULES_VALIDATOR.isValid(iban);
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+
+/**
+ * Outcome of an exception-free IBAN validation.
+ *
+ * <p>Instances are immutable and shared: there is exactly one instance per possible outcome,
+ * so results can be compared by reference and obtaining one never allocates.
+ * The {@link Status} tells which exception the throwing validation would have raised,
+ * and for {@link Status#INVALID_FORMAT} the {@link IbanFormatViolation} tells why.</p>
+ *
+ * @see IbanUtil#getValidationResult(CharSequence)
+ */
+public final class IbanValidationResult {
+
+  /**
+   * Validation outcome category.
+   */
+  public enum Status {
+    /** The IBAN is valid. */
+    VALID,
+    /** The IBAN violates the format rules, see {@link IbanFormatException}. */
+    INVALID_FORMAT,
+    /** The IBAN has an invalid check digit, see {@link InvalidCheckDigitException}. */
+    INVALID_CHECK_DIGIT,
+    /** The IBAN's country is not supported, see {@link UnsupportedCountryException}. */
+    UNSUPPORTED_COUNTRY
+  }
+
+  /** Result of a valid IBAN. */
+  public static final IbanValidationResult VALID =
+      new IbanValidationResult(Status.VALID, null, 0);
+
+  /** Result of an IBAN with an invalid check digit. */
+  public static final IbanValidationResult INVALID_CHECK_DIGIT =
+      new IbanValidationResult(Status.INVALID_CHECK_DIGIT, null, 1);
+
+  /** Result of an IBAN whose country is not supported. */
+  public static final IbanValidationResult UNSUPPORTED_COUNTRY =
+      new IbanValidationResult(Status.UNSUPPORTED_COUNTRY, null, 2);
+
+  private static final int FORMAT_VIOLATION_CODE = 3;
+
+  /** Number of distinct results, i.e. codes range from 0 to this value exclusive. */
+  static final int CODE_COUNT = FORMAT_VIOLATION_CODE + IbanFormatViolation.values().length;
+
+  private static final IbanValidationResult[] FORMAT_VIOLATIONS;
+  private static final IbanValidationResult[] CODES;
+
+  static {
+    final IbanFormatViolation[] violations = IbanFormatViolation.values();
+    FORMAT_VIOLATIONS = new IbanValidationResult[violations.length];
+    CODES = new IbanValidationResult[CODE_COUNT];
+    CODES[VALID.code] = VALID;
+    CODES[INVALID_CHECK_DIGIT.code] = INVALID_CHECK_DIGIT;
+    CODES[UNSUPPORTED_COUNTRY.code] = UNSUPPORTED_COUNTRY;
+    for (final IbanFormatViolation violation : violations) {
+      final IbanValidationResult result = new IbanValidationResult(Status.INVALID_FORMAT,
+          violation, FORMAT_VIOLATION_CODE + violation.ordinal());
+      FORMAT_VIOLATIONS[violation.ordinal()] = result;
+      CODES[result.code] = result;
+    }
+  }
+
+  private final Status status;
+  private final IbanFormatViolation formatViolation;
+  private final int code;
+
+  private IbanValidationResult(final Status status, final IbanFormatViolation formatViolation,
+      final int code) {
+    this.status = status;
+    this.formatViolation = formatViolation;
+    this.code = code;
+  }
+
+  /**
+   * Returns the shared result for the given format violation.
+   *
+   * @param violation the format violation, must not be {@code null}.
+   * @return the result with {@link Status#INVALID_FORMAT} status.
+   */
+  public static IbanValidationResult of(final IbanFormatViolation violation) {
+    return FORMAT_VIOLATIONS[violation.ordinal()];
+  }
+
+  /**
+   * Returns the result identified by a code obtained from {@link #getCode()}.
+   */
+  static IbanValidationResult ofCode(final int code) {
+    return CODES[code];
+  }
+
+  /**
+   * Compact identifier of this result, small enough to be stored in a byte.
+   * Codes are only meant for in-memory storage, e.g. in {@link IbanBatchResult},
+   * they are not stable between versions.
+   */
+  int getCode() {
+    return code;
+  }
+
+  /**
+   * Checks whether the validated IBAN is valid.
+   *
+   * @return {@code true} if the status is {@link Status#VALID}.
+   */
+  public boolean isValid() {
+    return status == Status.VALID;
+  }
+
+  /**
+   * Returns the validation outcome category.
+   *
+   * @return the {@link Status}.
+   */
+  public Status getStatus() {
+    return status;
+  }
+
+  /**
+   * Returns the format violation.
+   *
+   * @return the {@link IbanFormatViolation}, or {@code null} if the status
+   * is not {@link Status#INVALID_FORMAT}.
+   */
+  public IbanFormatViolation getFormatViolation() {
+    return formatViolation;
+  }
+
+  @Override
+  public String toString() {
+    return formatViolation == null ? status.name() : status.name() + "(" + formatViolation + ")";
+  }
+}
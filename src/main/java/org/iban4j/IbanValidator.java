@@ -15,7 +15,17 @@
  */
 package org.iban4j;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.iban4j.bban.BbanStructure;
+import org.iban4j.countryrules.CountryRulesAlgorithm;
+import org.iban4j.countryrules.CountryRulesRegistry;
 import org.iban4j.countryrules.CountrySpecificRules;
 
 /**
@@ -28,7 +38,13 @@ import org.iban4j.countryrules.CountrySpecificRules;
  * @since 1.0.0
  */
 public final class IbanValidator {
-    
+
+    private static final int LETTERS = 26;
+    // group of ibans which don't start with two upper case letters
+    private static final int NO_COUNTRY = LETTERS * LETTERS;
+    // items grouped by country at once, a multiple of 64 so chunks never share a bitset word
+    private static final int CHUNK_SIZE = 4096;
+
     private final ValidationConfig config;
     
     private IbanValidator(Builder builder) {
@@ -44,6 +60,16 @@ public final class IbanValidator {
         return new Builder();
     }
     
+    /**
+     * {@code String} variant of {@link #validate(CharSequence)}.
+     *
+     * @param iban the IBAN string to validate
+     */
+    public void validate(String iban)
+            throws IbanFormatException, InvalidCheckDigitException, UnsupportedCountryException {
+        validate((CharSequence) iban);
+    }
+
     /**
      * Validates the given IBAN string according to the configured options.
      * 
@@ -52,7 +78,7 @@ public final class IbanValidator {
      * @throws InvalidCheckDigitException if the IBAN has invalid check digit
      * @throws UnsupportedCountryException if the IBAN's country is not supported
      */
-    public void validate(String iban) throws IbanFormatException, 
+    public void validate(CharSequence iban) throws IbanFormatException, 
             InvalidCheckDigitException, UnsupportedCountryException {
         // Perform base IBAN validation and get IBAN object
         Iban ibanObj = Iban.valueOf(iban);
@@ -61,27 +87,263 @@ public final class IbanValidator {
         if (!CountrySpecificRules.isValid(ibanObj, config)) {
             throw new IbanFormatException(
                     IbanFormatViolation.COUNTRY_RULES_FAILED,
-                    iban,
-                    "Country-specific rules validation failed for " + iban
+                    ibanObj.toString(),
+                    "Country-specific rules validation failed for " + ibanObj
             );
         }
     }
     
+    /**
+     * {@code String} variant of {@link #isValid(CharSequence)}.
+     *
+     * @param iban the IBAN string to validate
+     * @return true if the IBAN is valid, false otherwise
+     */
+    public boolean isValid(String iban) {
+        return isValid((CharSequence) iban);
+    }
+
     /**
      * Checks if the given IBAN string is valid according to the configured options.
      * 
      * @param iban the IBAN string to validate
      * @return true if the IBAN is valid, false otherwise
      */
-    public boolean isValid(String iban) {
+    public boolean isValid(CharSequence iban) {
+        return getValidationResult(iban).isValid();
+    }
+
+    /**
+     * Validates the given IBAN string according to the configured options without throwing exceptions.
+     * 
+     * @param iban the IBAN string to validate
+     * @return {@link IbanValidationResult#VALID} if the IBAN is valid, otherwise the result
+     *         describing the first violation found
+     */
+    public IbanValidationResult getValidationResult(CharSequence iban) {
+        final IbanValidationResult result = IbanUtil.getValidationResult(iban);
+        if (!result.isValid() || !config.isEnabled()) {
+            return result;
+        }
+        final CountryRulesAlgorithm algorithm = CountryRulesRegistry.get(
+                CountryCode.getByAlpha2Code(iban.charAt(0), iban.charAt(1)));
+        return algorithm == null || isValid(algorithm, iban)
+                ? result : IbanValidationResult.of(IbanFormatViolation.COUNTRY_RULES_FAILED);
+    }
+
+    /**
+     * Validates all given IBANs according to the configured options without throwing exceptions.
+     *
+     * The IBANs are validated in chunks of {@value #CHUNK_SIZE} items, grouped by country
+     * within each chunk, so the bban structure and the country rules of each country are
+     * resolved once per group instead of once per IBAN, while each chunk's items stay in cache.
+     * Each item gets the same result {@link #getValidationResult(CharSequence)} would give.
+     *
+     * @param ibans the IBANs to validate, may contain {@code null} items
+     * @return the per-item results, indexed like the input
+     */
+    public IbanBatchResult validateAll(List<? extends CharSequence> ibans) {
+        if (!(ibans instanceof RandomAccess)) {
+            ibans = new ArrayList<>(ibans);
+        }
+        final byte[] codes = new byte[ibans.size()];
+        final long[] validWords = new long[wordCount(ibans.size())];
+        for (int from = 0; from < ibans.size(); from += CHUNK_SIZE) {
+            validateAll(ibans, from, Math.min(from + CHUNK_SIZE, ibans.size()), codes, validWords);
+        }
+        return new IbanBatchResult(BitSet.valueOf(validWords), codes);
+    }
+
+    /**
+     * Validates all given IBANs like {@link #validateAll(List)}, spreading the work
+     * over the common {@link ForkJoinPool}.
+     *
+     * @param ibans the IBANs to validate, may contain {@code null} items
+     * @return the per-item results, indexed like the input
+     */
+    public IbanBatchResult validateAllParallel(List<? extends CharSequence> ibans) {
+        return validateAllParallel(ibans, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates all given IBANs like {@link #validateAll(List)}, spreading the work
+     * over the given pool.
+     *
+     * The input is split into the same chunks as the sequential validation, which are
+     * validated independently, each writing only its own slice of the result, so the
+     * outcome is the same as the sequential one whatever the pool's parallelism is.
+     *
+     * @param ibans the IBANs to validate, may contain {@code null} items
+     * @param pool the pool running the validation, its parallelism bounds the cores used
+     * @return the per-item results, indexed like the input
+     */
+    public IbanBatchResult validateAllParallel(List<? extends CharSequence> ibans, ForkJoinPool pool) {
+        if (!(ibans instanceof RandomAccess)) {
+            ibans = new ArrayList<>(ibans);
+        }
+        final byte[] codes = new byte[ibans.size()];
+        final long[] validWords = new long[wordCount(ibans.size())];
+        pool.invoke(new ValidationTask(this, ibans, 0, ibans.size(), codes, validWords));
+        return new IbanBatchResult(BitSet.valueOf(validWords), codes);
+    }
+
+    /**
+     * Validates all given IBANs like {@link #validateAllParallel(List)}.
+     *
+     * @param ibans the IBANs to validate, may contain {@code null} items
+     * @return the per-item results, indexed like the input
+     */
+    public IbanBatchResult validateAllParallel(CharSequence[] ibans) {
+        return validateAllParallel(Arrays.asList(ibans));
+    }
+
+    /**
+     * Validates all given IBANs like {@link #validateAllParallel(List, ForkJoinPool)}.
+     *
+     * @param ibans the IBANs to validate, may contain {@code null} items
+     * @param pool the pool running the validation
+     * @return the per-item results, indexed like the input
+     */
+    public IbanBatchResult validateAllParallel(CharSequence[] ibans, ForkJoinPool pool) {
+        return validateAllParallel(Arrays.asList(ibans), pool);
+    }
+
+    /**
+     * Validates the IBANs in the range {@code [from, to)}, storing the outcome of item
+     * {@code i} at {@code codes[i]} and setting bit {@code i} of validWords if it is valid.
+     * {@code from} must be a multiple of 64, so ranges never share a word.
+     */
+    void validateAll(List<? extends CharSequence> ibans, int from, int to,
+                     byte[] codes, long[] validWords) {
+        // counting sort of the indices by country
+        final short[] groups = new short[to - from];
+        final int[] groupStarts = new int[NO_COUNTRY + 2];
+        for (int i = from; i < to; i++) {
+            final int group = getGroup(ibans.get(i));
+            groups[i - from] = (short) group;
+            groupStarts[group + 1]++;
+        }
+        for (int group = 1; group < groupStarts.length; group++) {
+            groupStarts[group] += groupStarts[group - 1];
+        }
+        final int[] order = new int[to - from];
+        final int[] next = groupStarts.clone();
+        for (int i = 0; i < groups.length; i++) {
+            order[next[groups[i]]++] = i;
+        }
+
+        for (int group = 0; group <= NO_COUNTRY; group++) {
+            final int start = groupStarts[group];
+            final int end = groupStarts[group + 1];
+            if (start == end) {
+                continue;
+            }
+            final CountryCode countryCode = group == NO_COUNTRY ? null
+                    : CountryCode.getByAlpha2Code((char) ('A' + group / LETTERS),
+                                                  (char) ('A' + group % LETTERS));
+            final BbanStructure structure = countryCode == null ? null
+                    : BbanStructure.forCountry(countryCode);
+            final CountryRulesAlgorithm algorithm = countryCode == null || !config.isEnabled()
+                    ? null : CountryRulesRegistry.get(countryCode);
+            for (int k = start; k < end; k++) {
+                final int index = order[k];
+                final CharSequence iban = ibans.get(from + index);
+                IbanValidationResult result = IbanUtil.getValidationResult(iban, structure);
+                if (result.isValid() && algorithm != null && !isValid(algorithm, iban)) {
+                    result = IbanValidationResult.of(IbanFormatViolation.COUNTRY_RULES_FAILED);
+                }
+                codes[from + index] = (byte) result.getCode();
+                if (result.isValid()) {
+                    validWords[(from + index) >>> 6] |= 1L << (from + index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Throws the exception describing why the given iban failed validation with the given
+     * validator, or with {@link IbanUtil#validate(CharSequence)} if it is null. Should that
+     * validation pass, the failed result stays authoritative and the exception naming it is
+     * returned, for the caller to throw.
+     *
+     * @param validator the validator which produced the result, may be null.
+     * @param iban the rejected iban.
+     * @param result its failed validation result.
+     * @return the exception naming the result, if none was thrown.
+     */
+    static IbanFormatException invalid(IbanValidator validator, CharSequence iban,
+                                       IbanValidationResult result) {
+        final String value = iban == null ? null : iban.toString();
+        if (validator == null) {
+            IbanUtil.validate(value);
+        } else {
+            validator.validate(value);
+        }
+        return IbanUtil.rejected(value, result);
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static boolean isValid(CountryRulesAlgorithm algorithm, CharSequence iban) {
         try {
-            validate(iban);
-            return true;
-        } catch (Exception e) {
+            return algorithm.validate(Iban.ofValidated(iban.toString()));
+        } catch (RuntimeException e) {
+            // a failing country rule is reported the same way as a rejecting one
             return false;
         }
     }
+
+    private static int getGroup(CharSequence iban) {
+        if (iban == null || iban.length() < 2) {
+            return NO_COUNTRY;
+        }
+        final char first = iban.charAt(0);
+        final char second = iban.charAt(1);
+        if (!CharacterUtil.isAsciiUppercaseLetter(first)
+                || !CharacterUtil.isAsciiUppercaseLetter(second)) {
+            return NO_COUNTRY;
+        }
+        return (first - 'A') * LETTERS + (second - 'A');
+    }
     
+    /**
+     * Splits a range in halves on chunk boundaries until it is a single chunk.
+     */
+    private static final class ValidationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IbanValidator validator;
+        private final List<? extends CharSequence> ibans;
+        private final int from;
+        private final int to;
+        private final byte[] codes;
+        private final long[] validWords;
+
+        ValidationTask(IbanValidator validator, List<? extends CharSequence> ibans, int from, int to,
+                       byte[] codes, long[] validWords) {
+            this.validator = validator;
+            this.ibans = ibans;
+            this.from = from;
+            this.to = to;
+            this.codes = codes;
+            this.validWords = validWords;
+        }
+
+        @Override
+        protected void compute() {
+            final int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            if (chunks <= 1) {
+                validator.validateAll(ibans, from, to, codes, validWords);
+                return;
+            }
+            final int middle = from + chunks / 2 * CHUNK_SIZE;
+            invokeAll(new ValidationTask(validator, ibans, from, middle, codes, validWords),
+                      new ValidationTask(validator, ibans, middle, to, codes, validWords));
+        }
+    }
+
     /**
      * Builder for IbanValidator.
      */
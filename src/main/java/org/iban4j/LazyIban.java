@@ -0,0 +1,236 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+/**
+ * View of an IBAN which is only fully validated when its components are first needed,
+ * for pipelines passing most IBANs through untouched.
+ *
+ * <p>{@link #of(CharSequence)} only checks the country code, the check digit presence and the
+ * length. The character checks, the check digit and, if a validator is given, the country
+ * specific rules are verified on the first call to {@link #isValid()}, {@link #toIban()} or
+ * a component getter, and the outcome is kept for all later calls. Getters of an invalid IBAN
+ * throw the exception {@link Iban#valueOf(CharSequence)} would have thrown.</p>
+ *
+ * <p>Instances are immutable in their observable state and can be shared between threads;
+ * concurrent first calls may validate more than once.</p>
+ */
+public final class LazyIban {
+
+  private final String value;
+  private final CountryCode countryCode;
+  private final IbanValidator validator;
+  private volatile IbanValidationResult result;
+  private volatile Iban iban;
+
+  private LazyIban(final String value, final IbanValidator validator) {
+    this.value = value;
+    this.countryCode = CountryCode.getByAlpha2Code(value.charAt(0), value.charAt(1));
+    this.validator = validator;
+  }
+
+  /**
+   * Wraps the given IBAN after checking its country code, check digit presence and length.
+   *
+   * @param iban the IBAN in electronic format.
+   * @return a view validated on first use by {@link IbanUtil#validate(CharSequence)}.
+   * @throws IbanFormatException if the country code, check digit presence or length is invalid.
+   * @throws UnsupportedCountryException if the IBAN's country is not supported.
+   */
+  public static LazyIban of(final CharSequence iban) {
+    IbanUtil.validateHeader(iban);
+    return new LazyIban(iban.toString(), null);
+  }
+
+  /**
+   * Wraps the given IBAN after checking its country code, check digit presence and length.
+   *
+   * @param iban the IBAN in electronic format.
+   * @param validator the validator applied on first use, e.g. with country specific rules.
+   * @return a view validated on first use by the given validator.
+   * @throws IbanFormatException if the country code, check digit presence or length is invalid.
+   * @throws UnsupportedCountryException if the IBAN's country is not supported.
+   */
+  public static LazyIban of(final CharSequence iban, final IbanValidator validator) {
+    IbanUtil.validateHeader(iban);
+    return new LazyIban(iban.toString(), validator);
+  }
+
+  /**
+   * Returns the country code, which is known without full validation.
+   *
+   * @return The {@link CountryCode} of the IBAN.
+   */
+  public CountryCode getCountryCode() {
+    return countryCode;
+  }
+
+  /**
+   * Returns the validation result, validating on first call.
+   *
+   * @return the memoized {@link IbanValidationResult}.
+   */
+  public IbanValidationResult getValidationResult() {
+    IbanValidationResult current = result;
+    if (current == null) {
+      current = validator == null
+          ? IbanUtil.getValidationResult(value)
+          : validator.getValidationResult(value);
+      if (current.isValid()) {
+        iban = Iban.ofValidated(value);
+      }
+      result = current;
+    }
+    return current;
+  }
+
+  /**
+   * Checks whether the IBAN is valid, validating on first call.
+   *
+   * @return {@code true} if the IBAN is valid.
+   */
+  public boolean isValid() {
+    return getValidationResult().isValid();
+  }
+
+  /**
+   * Returns the validated IBAN, validating on first call.
+   *
+   * @return the {@link Iban}, the same instance on every call.
+   * @throws IbanFormatException if the IBAN is invalid.
+   * @throws InvalidCheckDigitException if the IBAN has an invalid check digit.
+   */
+  public Iban toIban() {
+    final IbanValidationResult current = getValidationResult();
+    if (current.isValid()) {
+      return iban;
+    }
+    throw IbanValidator.invalid(validator, value, current);
+  }
+
+  /**
+   * Returns the check digit, see {@link Iban#getCheckDigit()}.
+   *
+   * @return the two-digit check digit.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getCheckDigit() {
+    return toIban().getCheckDigit();
+  }
+
+  /**
+   * Returns the account number, see {@link Iban#getAccountNumber()}.
+   *
+   * @return the account number.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getAccountNumber() {
+    return toIban().getAccountNumber();
+  }
+
+  /**
+   * Returns the bank code, see {@link Iban#getBankCode()}.
+   *
+   * @return the bank code.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getBankCode() {
+    return toIban().getBankCode();
+  }
+
+  /**
+   * Returns the branch code, see {@link Iban#getBranchCode()}.
+   *
+   * @return the branch code, or {@code null} if the country has none.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getBranchCode() {
+    return toIban().getBranchCode();
+  }
+
+  /**
+   * Returns the national check digit, see {@link Iban#getNationalCheckDigit()}.
+   *
+   * @return the national check digit, or {@code null} if the country has none.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getNationalCheckDigit() {
+    return toIban().getNationalCheckDigit();
+  }
+
+  /**
+   * Returns the account type, see {@link Iban#getAccountType()}.
+   *
+   * @return the account type, or {@code null} if the country has none.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getAccountType() {
+    return toIban().getAccountType();
+  }
+
+  /**
+   * Returns the owner account type, see {@link Iban#getOwnerAccountType()}.
+   *
+   * @return the owner account type, or {@code null} if the country has none.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getOwnerAccountType() {
+    return toIban().getOwnerAccountType();
+  }
+
+  /**
+   * Returns the identification number, see {@link Iban#getIdentificationNumber()}.
+   *
+   * @return the identification number, or {@code null} if the country has none.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getIdentificationNumber() {
+    return toIban().getIdentificationNumber();
+  }
+
+  /**
+   * Returns the BBAN, see {@link Iban#getBban()}.
+   *
+   * @return the BBAN.
+   * @throws Iban4jException if the IBAN is invalid.
+   */
+  public String getBban() {
+    return toIban().getBban();
+  }
+
+  /**
+   * Returns the wrapped value, whether valid or not.
+   *
+   * @return the IBAN as given to {@link #of(CharSequence)}.
+   */
+  @Override
+  public String toString() {
+    return value;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    return obj instanceof LazyIban && value.equals(((LazyIban) obj).value);
+  }
+
+  @Override
+  public int hashCode() {
+    return value.hashCode();
+  }
+}
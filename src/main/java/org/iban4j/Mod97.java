@@ -0,0 +1,182 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+/**
+ * Table driven <a href="http://en.wikipedia.org/wiki/ISO_13616#Modulo_operation_on_IBAN">Iban Modulo 97</a>
+ * calculation.
+ * <p>
+ * Letters are converted to two digit numbers (A = 10, ..., Z = 35) through a lookup table
+ * indexed by the ASCII code, which also holds the decimal shift of each character.
+ * The running value is kept in a {@code long} and only reduced once per chunk of
+ * {@value #CHUNK_LENGTH} characters, which is the most that can be appended without overflow.
+ * <p>
+ * Iban methods work on the rotated form (BBAN followed by country code and check digit)
+ * in place, without building the rotated string.
+ */
+public final class Mod97 {
+
+    /** Characters which can be appended to a reduced value before it has to be reduced again. */
+    static final int CHUNK_LENGTH = 8;
+
+    private static final int MOD = 97;
+    private static final int ROTATION = 4;
+
+    private static final int TABLE_SIZE = 128;
+    private static final byte[] VALUES = new byte[TABLE_SIZE];
+    private static final byte[] MULTIPLIERS = new byte[TABLE_SIZE];
+
+    static {
+        for (int ch = 0; ch < TABLE_SIZE; ch++) {
+            VALUES[ch] = -1;
+        }
+        for (char ch = '0'; ch <= '9'; ch++) {
+            VALUES[ch] = (byte) (ch - '0');
+            MULTIPLIERS[ch] = 10;
+        }
+        // lower case letters have the same value, as Character.getNumericValue gives them
+        for (char ch = 'A'; ch <= 'Z'; ch++) {
+            VALUES[ch] = (byte) (ch - 'A' + 10);
+            VALUES[Character.toLowerCase(ch)] = VALUES[ch];
+            MULTIPLIERS[ch] = 100;
+            MULTIPLIERS[Character.toLowerCase(ch)] = 100;
+        }
+    }
+
+    private Mod97() {
+    }
+
+    /**
+     * Calculates modulo 97 of the value in the given order.
+     *
+     * @param value digits and letters.
+     * @return modulo 97, or -1 if value is empty or contains any other character.
+     */
+    public static int remainder(final CharSequence value) {
+        if (value == null || value.length() == 0) {
+            return -1;
+        }
+        final long total = append(0, value, 0, value.length());
+        return total < 0 ? -1 : (int) (total % MOD);
+    }
+
+    /**
+     * Calculates modulo 97 of the iban in rotated order,
+     * i.e. with the first four characters moved to the end.
+     *
+     * @param iban the iban.
+     * @return modulo 97, which is 1 for an iban with valid check digit,
+     * or -1 if iban is shorter than 4 characters or contains characters other than digits and letters.
+     */
+    public static int ibanRemainder(final CharSequence iban) {
+        return iban == null ? -1 : ibanRemainder(iban, 0, iban.length());
+    }
+
+    /**
+     * Calculates modulo 97 of the iban found in the given range, in rotated order.
+     *
+     * @param iban sequence containing the iban.
+     * @param offset index of the first iban character.
+     * @param length iban length.
+     * @return modulo 97, or -1 if iban is shorter than 4 characters
+     * or contains characters other than digits and letters.
+     */
+    public static int ibanRemainder(final CharSequence iban, final int offset, final int length) {
+        if (length < ROTATION) {
+            return -1;
+        }
+        long total = append(0, iban, offset + ROTATION, offset + length);
+        if (total >= 0) {
+            total = append(total % MOD, iban, offset, offset + ROTATION);
+        }
+        return total < 0 ? -1 : (int) (total % MOD);
+    }
+
+    /**
+     * Calculates modulo 97 of the ASCII encoded iban found in the given range, in rotated order.
+     *
+     * @param iban bytes containing the ASCII encoded iban.
+     * @param offset index of the first iban byte.
+     * @param length iban length.
+     * @return modulo 97, or -1 if iban is shorter than 4 characters
+     * or contains characters other than digits and letters.
+     */
+    public static int ibanRemainder(final byte[] iban, final int offset, final int length) {
+        if (length < ROTATION) {
+            return -1;
+        }
+        long total = append(0, iban, offset + ROTATION, offset + length);
+        if (total >= 0) {
+            total = append(total % MOD, iban, offset, offset + ROTATION);
+        }
+        return total < 0 ? -1 : (int) (total % MOD);
+    }
+
+    /**
+     * Checks if iban has a valid check digit.
+     *
+     * @param iban the iban.
+     * @return true if the rotated iban modulo 97 is 1.
+     */
+    public static boolean hasValidCheckDigit(final CharSequence iban) {
+        return ibanRemainder(iban) == 1;
+    }
+
+    /**
+     * Appends a character known to be a digit or a letter to a running value.
+     * Values returned by {@link #reduce(long)} accept {@link #CHUNK_LENGTH} appends
+     * before they have to be reduced again.
+     */
+    static long append(final long total, final char ch) {
+        return total * MULTIPLIERS[ch] + VALUES[ch];
+    }
+
+    static long reduce(final long total) {
+        return total % MOD;
+    }
+
+    private static long append(long total, final CharSequence value, final int from, final int to) {
+        int chunk = 0;
+        for (int i = from; i < to; i++) {
+            final char ch = value.charAt(i);
+            if (ch >= TABLE_SIZE || VALUES[ch] < 0) {
+                return -1;
+            }
+            total = total * MULTIPLIERS[ch] + VALUES[ch];
+            if (++chunk == CHUNK_LENGTH) {
+                total %= MOD;
+                chunk = 0;
+            }
+        }
+        return total;
+    }
+
+    private static long append(long total, final byte[] value, final int from, final int to) {
+        int chunk = 0;
+        for (int i = from; i < to; i++) {
+            final byte ch = value[i];
+            if (ch < 0 || VALUES[ch] < 0) {
+                return -1;
+            }
+            total = total * MULTIPLIERS[ch] + VALUES[ch];
+            if (++chunk == CHUNK_LENGTH) {
+                total %= MOD;
+                chunk = 0;
+            }
+        }
+        return total;
+    }
+}
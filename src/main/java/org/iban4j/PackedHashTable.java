@@ -0,0 +1,232 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table keyed by packed values of one to three longs, shared by the
+ * iban tables ({@link IbanHashTable}) and {@link BicHashMap}.
+ *
+ * <p>Every slot holds the words of a key in one flat {@code long[]}, and optionally a value in
+ * a parallel {@code Object[]}. A slot is empty if its first word is 0, which no packed key has.
+ * Collisions are resolved by linear probing and removal shifts the following entries back, so
+ * there are no tombstones. Subclasses only pack their keys and choose how to hash them.</p>
+ */
+abstract class PackedHashTable {
+
+  private static final int MAX_WORDS = 3;
+  private static final int MIN_CAPACITY = 16;
+  private static final double LOAD_FACTOR = 0.7;
+
+  private final int words;
+  // the largest power of two keeping the key array length within an int
+  private final int maxCapacity;
+  private final boolean withValues;
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+  private int threshold;
+
+  PackedHashTable(final int words, final int expectedSize, final boolean withValues) {
+    if (words < 1 || words > MAX_WORDS) {
+      throw new IllegalArgumentException("Keys must have 1 to " + MAX_WORDS + " words.");
+    }
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size must not be negative.");
+    }
+    this.words = words;
+    this.maxCapacity = Integer.highestOneBit(Integer.MAX_VALUE / words);
+    this.withValues = withValues;
+    allocate(capacityFor(expectedSize));
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether there are no entries.
+   *
+   * @return {@code true} if there are no entries.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all entries, keeping the current capacity.
+   */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    if (withValues) {
+      Arrays.fill(values, null);
+    }
+    size = 0;
+  }
+
+  /**
+   * Hashes a packed key; words beyond the table's key length are 0.
+   */
+  abstract int hash(long word0, long word1, long word2);
+
+  /**
+   * Returns the slot of the given packed key or -1 if it's absent. Never allocates.
+   * Words beyond the table's key length are ignored, the first word must not be 0.
+   */
+  final int indexOf(final long word0, final long word1, final long word2) {
+    final int slot = probe(word0, word1, word2);
+    return slot < 0 ? -1 : slot;
+  }
+
+  /**
+   * Returns the slot of the given packed key, inserting it first if absent,
+   * in which case the bitwise complement of the slot is returned.
+   * Words beyond the table's key length are ignored, the first word must not be 0.
+   */
+  final int insert(final long word0, final long word1, final long word2) {
+    if (size >= threshold) {
+      grow();
+    }
+    final int slot = probe(word0, word1, word2);
+    if (slot < 0) {
+      final int key = ~slot * words;
+      keys[key] = word0;
+      if (words > 1) {
+        keys[key + 1] = word1;
+      }
+      if (words > 2) {
+        keys[key + 2] = word2;
+      }
+      size++;
+    }
+    return slot;
+  }
+
+  /**
+   * Empties the given slot, moving back the entries of the cluster following it
+   * which would otherwise become unreachable.
+   */
+  final void removeAt(int slot) {
+    for (int next = slot + 1 & mask; keys[next * words] != 0; next = next + 1 & mask) {
+      final int home = homeOf(keys, next);
+      // the entry can fill the hole unless its home lies between the hole and itself
+      if ((next - home & mask) >= (next - slot & mask)) {
+        System.arraycopy(keys, next * words, keys, slot * words, words);
+        if (withValues) {
+          values[slot] = values[next];
+        }
+        slot = next;
+      }
+    }
+    Arrays.fill(keys, slot * words, slot * words + words, 0);
+    if (withValues) {
+      values[slot] = null;
+    }
+    size--;
+  }
+
+  /**
+   * Returns the number of slots, empty or not.
+   */
+  final int capacity() {
+    return mask + 1;
+  }
+
+  final boolean isOccupied(final int slot) {
+    return keys[slot * words] != 0;
+  }
+
+  final long wordAt(final int slot, final int word) {
+    return keys[slot * words + word];
+  }
+
+  final Object valueAt(final int slot) {
+    return values[slot];
+  }
+
+  final void setValueAt(final int slot, final Object value) {
+    values[slot] = value;
+  }
+
+  /**
+   * Returns the slot holding the given key, or the bitwise complement of the empty slot
+   * ending its probe sequence.
+   */
+  private int probe(final long word0, final long word1, final long word2) {
+    for (int slot = hash(word0, words > 1 ? word1 : 0, words > 2 ? word2 : 0) & mask; ;
+        slot = slot + 1 & mask) {
+      final int key = slot * words;
+      if (keys[key] == 0) {
+        return ~slot;
+      }
+      if (keys[key] == word0 && (words < 2 || keys[key + 1] == word1)
+          && (words < 3 || keys[key + 2] == word2)) {
+        return slot;
+      }
+    }
+  }
+
+  private int homeOf(final long[] table, final int slot) {
+    final int key = slot * words;
+    return hash(table[key], words > 1 ? table[key + 1] : 0, words > 2 ? table[key + 2] : 0)
+        & mask;
+  }
+
+  private int capacityFor(final int expectedSize) {
+    final long minimum = (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+    if (minimum > maxCapacity) {
+      throw new IllegalArgumentException("Expected size " + expectedSize + " is too large.");
+    }
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) minimum - 1) << 1);
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity * words];
+    values = withValues ? new Object[capacity] : null;
+    mask = capacity - 1;
+    threshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private void grow() {
+    final int capacity = capacity();
+    if (capacity == maxCapacity) {
+      throw new IllegalStateException("Hash table is full.");
+    }
+    final long[] oldKeys = keys;
+    final Object[] oldValues = values;
+    allocate(capacity * 2);
+    for (int oldSlot = 0; oldSlot < capacity; oldSlot++) {
+      if (oldKeys[oldSlot * words] == 0) {
+        continue;
+      }
+      int slot = homeOf(oldKeys, oldSlot);
+      while (keys[slot * words] != 0) {
+        slot = slot + 1 & mask;
+      }
+      System.arraycopy(oldKeys, oldSlot * words, keys, slot * words, words);
+      if (withValues) {
+        values[slot] = oldValues[oldSlot];
+      }
+    }
+  }
+}
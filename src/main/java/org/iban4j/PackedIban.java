@@ -0,0 +1,399 @@
+/*
+ * Copyright 2013 Artur Mkrtchyan
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.iban4j;
+
+import java.util.Arrays;
+import org.iban4j.bban.BbanStructure;
+import org.iban4j.bban.BbanStructureEntry.EntryCharacterType;
+
+/**
+ * Memory-dense form of a valid {@link Iban}, for keeping very many of them in memory.
+ *
+ * <p>The IBAN is bit-packed following its country's BBAN structure: 10 bits for the country
+ * code, 7 bits for the check digit, then 4 bits per digit position, 5 bits per letter position
+ * and 6 bits per alphanumeric position. A German IBAN takes 12 bytes, the longest one, of Saint
+ * Lucia, 23.
+ * Equality and hash code work on the packed bytes; the IBAN string is only rebuilt by
+ * {@link #toString()} and {@link #toIban()}, and never kept.</p>
+ *
+ * <p>The packed bytes, as returned by {@link #toBytes()}, can be stored and read back with
+ * {@link #fromBytes(byte[])} as long as the country's BBAN structure is unchanged.</p>
+ */
+public final class PackedIban {
+
+  private static final int LETTERS = 26;
+  private static final int DIGITS = 10;
+  private static final int COUNTRY_CODE_BITS = 10;
+  private static final int CHECK_DIGIT_BITS = 7;
+  private static final int HEADER_BITS = COUNTRY_CODE_BITS + CHECK_DIGIT_BITS;
+  private static final int BBAN_INDEX = 4;
+  private static final int MAX_CHARACTER_BITS = 6;
+
+  /**
+   * Number of longs holding any packed iban, see {@link #packWord(CharSequence, BbanStructure, int)}.
+   */
+  static final int WORDS = 3;
+
+  private final byte[] bytes;
+  private final int hash;
+
+  private PackedIban(final byte[] bytes) {
+    this.bytes = bytes;
+    this.hash = Arrays.hashCode(bytes);
+  }
+
+  /**
+   * Returns the packed form of the given IBAN.
+   *
+   * @param iban the IBAN to pack.
+   * @return the packed IBAN.
+   */
+  public static PackedIban of(final Iban iban) {
+    return new PackedIban(pack(iban.toString()));
+  }
+
+  /**
+   * Reads a packed IBAN from the bytes returned by {@link #toBytes()} or {@link Iban#toBytes()}.
+   *
+   * @param bytes the packed bytes.
+   * @return the packed IBAN.
+   * @throws IllegalArgumentException if the bytes are no packed IBAN of a supported country.
+   * @throws org.iban4j.InvalidCheckDigitException if the packed IBAN has an invalid check digit.
+   */
+  public static PackedIban fromBytes(final byte[] bytes) {
+    final byte[] copy = bytes.clone();
+    IbanUtil.validate(unpack(copy));
+    return new PackedIban(copy);
+  }
+
+  /**
+   * Returns the packed bytes.
+   *
+   * @return a copy of the packed bytes.
+   */
+  public byte[] toBytes() {
+    return bytes.clone();
+  }
+
+  /**
+   * Returns the country of the packed IBAN, without unpacking it.
+   *
+   * @return the {@link CountryCode}.
+   */
+  public CountryCode getCountryCode() {
+    final int country = read(bytes, 0, COUNTRY_CODE_BITS);
+    return CountryCode.getByAlpha2Code((char) ('A' + country / LETTERS),
+        (char) ('A' + country % LETTERS));
+  }
+
+  /**
+   * Unpacks the IBAN.
+   *
+   * @return a new {@link Iban}.
+   */
+  public Iban toIban() {
+    return Iban.ofValidated(unpack(bytes));
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof PackedIban) {
+      final PackedIban other = (PackedIban) obj;
+      return hash == other.hash && Arrays.equals(bytes, other.bytes);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  /**
+   * Unpacks the IBAN string.
+   *
+   * @return the electronic form of the IBAN.
+   */
+  @Override
+  public String toString() {
+    return unpack(bytes);
+  }
+
+  /**
+   * Packs an iban of a supported country whose bban matches the country's structure.
+   */
+  static byte[] pack(final String iban) {
+    final BbanStructure structure = requirePackableStructure(iban);
+    final byte[] packed = new byte[packedLength(structure)];
+    int position = write(packed, 0, COUNTRY_CODE_BITS,
+        (iban.charAt(0) - 'A') * LETTERS + (iban.charAt(1) - 'A'));
+    position = write(packed, position, CHECK_DIGIT_BITS,
+        (iban.charAt(2) - '0') * DIGITS + (iban.charAt(3) - '0'));
+    for (int i = 0; i < structure.getBbanLength(); i++) {
+      final char ch = iban.charAt(BBAN_INDEX + i);
+      final EntryCharacterType type = structure.getCharacterType(i);
+      position = write(packed, position, bits(type), encode(type, ch));
+    }
+    return packed;
+  }
+
+  /**
+   * Unpacks an iban, checking the bytes are in canonical packed form.
+   *
+   * @throws IllegalArgumentException if they are not.
+   */
+  static String unpack(final byte[] packed) {
+    if (packed.length < (HEADER_BITS + Byte.SIZE - 1) / Byte.SIZE) {
+      throw new IllegalArgumentException("Packed iban is too short.");
+    }
+    final int country = read(packed, 0, COUNTRY_CODE_BITS);
+    final int checkDigit = read(packed, COUNTRY_CODE_BITS, CHECK_DIGIT_BITS);
+    final char first = (char) ('A' + country / LETTERS);
+    final char second = (char) ('A' + country % LETTERS);
+    final BbanStructure structure = country < LETTERS * LETTERS ? getStructure(first, second) : null;
+    if (structure == null || checkDigit >= DIGITS * DIGITS
+        || packed.length != packedLength(structure)) {
+      throw new IllegalArgumentException("Bytes are no packed iban of a supported country.");
+    }
+    final char[] iban = new char[BBAN_INDEX + structure.getBbanLength()];
+    iban[0] = first;
+    iban[1] = second;
+    iban[2] = (char) ('0' + checkDigit / DIGITS);
+    iban[3] = (char) ('0' + checkDigit % DIGITS);
+    int position = HEADER_BITS;
+    for (int i = 0; i < structure.getBbanLength(); i++) {
+      final EntryCharacterType type = structure.getCharacterType(i);
+      iban[BBAN_INDEX + i] = decode(type, read(packed, position, bits(type)));
+      position += bits(type);
+    }
+    if (position < packed.length * Byte.SIZE
+        && read(packed, position, packed.length * Byte.SIZE - position) != 0) {
+      throw new IllegalArgumentException("Packed iban has non zero padding.");
+    }
+    return new String(iban);
+  }
+
+  /**
+   * Returns the bban structure of an iban which can be packed, i.e. of a supported country,
+   * with two check digits and whose bban matches the structure, or null otherwise.
+   * The check digit itself is not verified.
+   */
+  static BbanStructure packableStructure(final CharSequence iban) {
+    if (iban == null || iban.length() < BBAN_INDEX) {
+      return null;
+    }
+    final BbanStructure structure = getStructure(iban.charAt(0), iban.charAt(1));
+    if (structure == null || iban.length() != BBAN_INDEX + structure.getBbanLength()
+        || !isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+      return null;
+    }
+    for (int i = 0; i < structure.getBbanLength(); i++) {
+      if (!structure.isValidCharacter(i, iban.charAt(BBAN_INDEX + i))) {
+        return null;
+      }
+    }
+    return structure;
+  }
+
+  /**
+   * Returns the bban structure of an iban which is expected to be packable, see
+   * {@link #packableStructure(CharSequence)}.
+   *
+   * @throws IllegalArgumentException if the iban can't be packed, which is only possible
+   * for an iban built without validation.
+   */
+  static BbanStructure requirePackableStructure(final CharSequence iban) {
+    final BbanStructure structure = packableStructure(iban);
+    if (structure == null) {
+      throw new IllegalArgumentException("[" + iban + "] doesn't match its bban structure.");
+    }
+    return structure;
+  }
+
+  /**
+   * Returns the given 64 bit word of the packed form of a packable iban, so the packed bytes
+   * are the big endian bytes of words 0 to {@link #WORDS} - 1. Word 0 is never 0.
+   * Computing the words one by one keeps lookups free of allocation.
+   */
+  static long packWord(final CharSequence iban, final BbanStructure structure, final int word) {
+    final int start = word * Long.SIZE;
+    if (HEADER_BITS + structure.getBbanLength() * MAX_CHARACTER_BITS <= start) {
+      return 0;
+    }
+    final int end = start + Long.SIZE;
+    long result = place(0, start, 0, COUNTRY_CODE_BITS,
+        (iban.charAt(0) - 'A') * LETTERS + (iban.charAt(1) - 'A'));
+    result = place(result, start, COUNTRY_CODE_BITS, CHECK_DIGIT_BITS,
+        (iban.charAt(2) - '0') * DIGITS + (iban.charAt(3) - '0'));
+    int position = HEADER_BITS;
+    for (int i = 0; i < structure.getBbanLength() && position < end; i++) {
+      final EntryCharacterType type = structure.getCharacterType(i);
+      final int width = bits(type);
+      result = place(result, start, position, width, encode(type, iban.charAt(BBAN_INDEX + i)));
+      position += width;
+    }
+    return result;
+  }
+
+  /**
+   * Same as {@link #packableStructure(CharSequence)} for an ASCII encoded iban.
+   */
+  static BbanStructure packableStructure(final byte[] iban, final int offset, final int length) {
+    if (length < BBAN_INDEX) {
+      return null;
+    }
+    final BbanStructure structure = getStructure(charAt(iban, offset), charAt(iban, offset + 1));
+    if (structure == null || length != BBAN_INDEX + structure.getBbanLength()
+        || !isDigit(charAt(iban, offset + 2)) || !isDigit(charAt(iban, offset + 3))) {
+      return null;
+    }
+    for (int i = 0; i < structure.getBbanLength(); i++) {
+      if (!structure.isValidCharacter(i, charAt(iban, offset + BBAN_INDEX + i))) {
+        return null;
+      }
+    }
+    return structure;
+  }
+
+  /**
+   * Same as {@link #packWord(CharSequence, BbanStructure, int)} for an ASCII encoded iban.
+   */
+  static long packWord(final byte[] iban, final int offset, final BbanStructure structure,
+      final int word) {
+    final int start = word * Long.SIZE;
+    if (HEADER_BITS + structure.getBbanLength() * MAX_CHARACTER_BITS <= start) {
+      return 0;
+    }
+    final int end = start + Long.SIZE;
+    long result = place(0, start, 0, COUNTRY_CODE_BITS,
+        (iban[offset] - 'A') * LETTERS + (iban[offset + 1] - 'A'));
+    result = place(result, start, COUNTRY_CODE_BITS, CHECK_DIGIT_BITS,
+        (iban[offset + 2] - '0') * DIGITS + (iban[offset + 3] - '0'));
+    int position = HEADER_BITS;
+    for (int i = 0; i < structure.getBbanLength() && position < end; i++) {
+      final EntryCharacterType type = structure.getCharacterType(i);
+      final int width = bits(type);
+      result = place(result, start, position, width,
+          encode(type, charAt(iban, offset + BBAN_INDEX + i)));
+      position += width;
+    }
+    return result;
+  }
+
+  /**
+   * Unpacks an iban from the words returned by {@link #packWord(CharSequence, BbanStructure, int)}.
+   */
+  static String unpack(final long... words) {
+    final int country = (int) (words[0] >>> (Long.SIZE - COUNTRY_CODE_BITS));
+    final BbanStructure structure = country < LETTERS * LETTERS
+        ? getStructure((char) ('A' + country / LETTERS), (char) ('A' + country % LETTERS))
+        : null;
+    if (structure == null) {
+      throw new IllegalArgumentException("Words are no packed iban of a supported country.");
+    }
+    final byte[] packed = new byte[packedLength(structure)];
+    for (int i = 0; i < packed.length; i++) {
+      packed[i] = (byte) (words[i / Long.BYTES] >>> (Long.SIZE - Byte.SIZE * (i % Long.BYTES + 1)));
+    }
+    return unpack(packed);
+  }
+
+  private static char charAt(final byte[] iban, final int index) {
+    return (char) (iban[index] & 0xFF);
+  }
+
+  private static boolean isDigit(final char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+
+  /**
+   * Places the width bits of value found at the given bit position of the packed form
+   * into the word starting at bit position start.
+   */
+  private static long place(final long word, final int start, final int position,
+      final int width, final int value) {
+    final int shift = start + Long.SIZE - (position + width);
+    if (position + width <= start || shift < 0 && -shift >= Long.SIZE) {
+      return word;
+    }
+    return word | (shift >= 0 ? (long) value << shift : (long) value >>> -shift);
+  }
+
+  private static BbanStructure getStructure(final char first, final char second) {
+    return BbanStructure.forCountry(CountryCode.getByAlpha2Code(first, second));
+  }
+
+  private static int packedLength(final BbanStructure structure) {
+    int bits = HEADER_BITS;
+    for (int i = 0; i < structure.getBbanLength(); i++) {
+      bits += bits(structure.getCharacterType(i));
+    }
+    return (bits + Byte.SIZE - 1) / Byte.SIZE;
+  }
+
+  private static int bits(final EntryCharacterType type) {
+    switch (type) {
+      case n:
+        return 4;
+      case a:
+        return 5;
+      default:
+        return 6;
+    }
+  }
+
+  private static int encode(final EntryCharacterType type, final char ch) {
+    if (type == EntryCharacterType.a) {
+      return ch - 'A';
+    }
+    return ch <= '9' ? ch - '0' : ch - 'A' + DIGITS;
+  }
+
+  private static char decode(final EntryCharacterType type, final int code) {
+    final int limit = type == EntryCharacterType.n ? DIGITS
+        : type == EntryCharacterType.a ? LETTERS : DIGITS + LETTERS;
+    if (code >= limit) {
+      throw new IllegalArgumentException("Packed iban has an invalid character code " + code);
+    }
+    if (type == EntryCharacterType.a) {
+      return (char) ('A' + code);
+    }
+    return code < DIGITS ? (char) ('0' + code) : (char) ('A' + code - DIGITS);
+  }
+
+  /**
+   * Writes the lowest width bits of value, most significant first, at the given bit position.
+   */
+  private static int write(final byte[] packed, int position, final int width, final int value) {
+    for (int bit = width - 1; bit >= 0; bit--, position++) {
+      if ((value >>> bit & 1) != 0) {
+        packed[position >>> 3] |= (byte) (0x80 >>> (position & 7));
+      }
+    }
+    return position;
+  }
+
+  private static int read(final byte[] packed, int position, final int width) {
+    int value = 0;
+    for (int bit = 0; bit < width; bit++, position++) {
+      value = value << 1 | (packed[position >>> 3] >>> (7 - (position & 7)) & 1);
+    }
+    return value;
+  }
+}
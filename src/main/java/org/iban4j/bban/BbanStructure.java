@@ -23,11 +23,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
-import java.util.Optional;
 import org.iban4j.CountryCode;
 import org.iban4j.CharacterUtil;
 import org.iban4j.IbanFormatException;
 import org.iban4j.UnsupportedCountryException;
+import org.iban4j.bban.BbanStructureEntry.EntryCharacterType;
 
 /**
  * Class that represents BBAN structure
@@ -39,6 +39,21 @@ public class BbanStructure {
   private static final String ASSERT_DIGITS_AND_LETTERS = "[%s] must contain only digits or letters.";
   private static final String ASSERT_DIGITS = "[%s] must contain only digits.";
 
+  /** Character class bits, indexed by ASCII code. Non ASCII characters have no class. */
+  private static final byte[] CHARACTER_CLASSES = new byte[128];
+
+  private static final byte DIGIT = 1;
+  private static final byte UPPER_CASE_LETTER = 2;
+
+  static {
+    for (char ch = '0'; ch <= '9'; ch++) {
+      CHARACTER_CLASSES[ch] = DIGIT;
+    }
+    for (char ch = 'A'; ch <= 'Z'; ch++) {
+      CHARACTER_CLASSES[ch] = UPPER_CASE_LETTER;
+    }
+  }
+
   private static final EnumMap<CountryCode, BbanStructure> structures;
 
   /**
@@ -628,9 +643,56 @@ public class BbanStructure {
   }
 
   private final BbanStructureEntry[] entries;
+  private final List<BbanStructureEntry> entryList;
+  // first entry of each type and its offset within the bban, indexed by entry type ordinal
+  private final BbanStructureEntry[] entriesByType;
+  private final int[] entryOffsets;
+
+  // precompiled at construction so validation is a lookup per position
+  private final int bbanLength;
+  private final byte[] characterMasks;
+  private final EntryCharacterType[] characterTypes;
 
   private BbanStructure(final BbanStructureEntry... entries) {
     this.entries = entries;
+    this.entryList = Collections.unmodifiableList(Arrays.asList(entries));
+
+    int length = 0;
+    for (final BbanStructureEntry entry : entries) {
+      length += entry.getLength();
+    }
+    this.bbanLength = length;
+    this.characterMasks = new byte[length];
+    this.characterTypes = new EntryCharacterType[length];
+
+    this.entriesByType = new BbanStructureEntry[BbanEntryType.values().length];
+    this.entryOffsets = new int[entriesByType.length];
+    Arrays.fill(entryOffsets, -1);
+
+    int position = 0;
+    for (final BbanStructureEntry entry : entries) {
+      final int type = entry.getEntryType().ordinal();
+      if (entriesByType[type] == null) {
+        entriesByType[type] = entry;
+        entryOffsets[type] = position;
+      }
+      final byte mask = characterMask(entry.getCharacterType());
+      for (int i = 0; i < entry.getLength(); i++, position++) {
+        characterMasks[position] = mask;
+        characterTypes[position] = entry.getCharacterType();
+      }
+    }
+  }
+
+  private static byte characterMask(final EntryCharacterType characterType) {
+    switch (characterType) {
+      case n:
+        return DIGIT;
+      case a:
+        return UPPER_CASE_LETTER;
+      default:
+        return DIGIT | UPPER_CASE_LETTER;
+    }
   }
 
   /**
@@ -648,13 +710,8 @@ public class BbanStructure {
    * @return true/false
    */
   public static boolean hasNationalCheckDigit(final CountryCode countryCode) {
-    final Optional<BbanStructure> bbanStructure = Optional.ofNullable(forCountry(countryCode));
-    return bbanStructure
-        .map(
-            structure ->
-                structure.getEntries().stream()
-                    .anyMatch(e -> BbanEntryType.national_check_digit.equals(e.getEntryType())))
-        .orElse(false);
+    final BbanStructure structure = forCountry(countryCode);
+    return structure != null && structure.getEntry(BbanEntryType.national_check_digit) != null;
   }
 
   public static List<CountryCode> supportedCountries() {
@@ -682,12 +739,11 @@ public class BbanStructure {
               String.format("Country code [%s] is not supported.", countryCode));
     }
 
-    final BbanStructureEntry entry = bbanStructure.getEntries().stream()
-            .filter(e -> e.getEntryType().equals(entryType))
-            .findFirst()
-            .orElseThrow(() -> new IbanFormatException(BBAN_INVALID_ENTRY_TYPE,
-                    String.format(INVALID_ENTRY_TYPE,
-                            entryType.name(), countryCode)));
+    final BbanStructureEntry entry = bbanStructure.getEntry(entryType);
+    if (entry == null) {
+      throw new IbanFormatException(BBAN_INVALID_ENTRY_TYPE,
+              String.format(INVALID_ENTRY_TYPE, entryType.name(), countryCode));
+    }
 
     validateBbanEntryLength(entry, entryValue);
     validateBbanEntryCharacterType(entry, entryValue);
@@ -755,7 +811,7 @@ public class BbanStructure {
    * @return a {@link java.util.List} object
    */
   public List<BbanStructureEntry> getEntries() {
-    return Collections.unmodifiableList(Arrays.asList(entries));
+    return entryList;
   }
 
   /**
@@ -764,12 +820,48 @@ public class BbanStructure {
    * @return int length
    */
   public int getBbanLength() {
-    int length = 0;
+    return bbanLength;
+  }
 
-    for (final BbanStructureEntry entry : entries) {
-      length += entry.getLength();
-    }
+  /**
+   * Returns the entry of the given type.
+   *
+   * @param entryType the entry type
+   * @return the first entry of the given type or null if structure has no such entry.
+   */
+  public BbanStructureEntry getEntry(final BbanEntryType entryType) {
+    return entriesByType[entryType.ordinal()];
+  }
+
+  /**
+   * Returns the offset of the entry of the given type.
+   *
+   * @param entryType the entry type
+   * @return zero based offset within the bban of the entry returned by {@link #getEntry},
+   * or -1 if structure has no such entry.
+   */
+  public int getEntryOffset(final BbanEntryType entryType) {
+    return entryOffsets[entryType.ordinal()];
+  }
 
-    return length;
+  /**
+   * Checks whether the character is allowed at the given bban position.
+   *
+   * @param position zero based position within the bban, less than {@link #getBbanLength()}.
+   * @param ch the character
+   * @return true if the character matches the character type of the entry at that position.
+   */
+  public boolean isValidCharacter(final int position, final char ch) {
+    return ch < CHARACTER_CLASSES.length && (CHARACTER_CLASSES[ch] & characterMasks[position]) != 0;
+  }
+
+  /**
+   * Returns the character type of the entry at the given bban position.
+   *
+   * @param position zero based position within the bban, less than {@link #getBbanLength()}.
+   * @return the {@link EntryCharacterType} at that position.
+   */
+  public EntryCharacterType getCharacterType(final int position) {
+    return characterTypes[position];
   }
 }
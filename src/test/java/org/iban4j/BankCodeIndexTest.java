@@ -0,0 +1,110 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("BankCodeIndexTest")
+public class BankCodeIndexTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void bicShouldBeDerivedFromBankCode() throws IOException {
+    final Path path = directory.resolve("banks.idx");
+    final long written = BankCodeIndex.builder()
+        .add(CountryCode.DE, "37040044", Bic.valueOf("COBADEFF"))
+        .add(CountryCode.DE, "37040044", Bic.valueOf("COBADEFFXXX"))
+        .add(CountryCode.AT, "19043", Bic.valueOf("BKAUATWW"))
+        .write(path);
+
+    final BankCodeIndex index = BankCodeIndex.open(path);
+
+    assertEquals(2, written);
+    assertEquals(2, index.size());
+    assertEquals(Bic.valueOf("COBADEFFXXX"), index.getBic("DE89370400440532013000"));
+    assertEquals(Bic.valueOf("COBADEFFXXX"), index.getBic(Iban.valueOf("DE89370400440532013000")));
+    assertEquals(Bic.valueOf("BKAUATWW").toLong(), index.getPackedBic("AT611904300234573201"));
+    assertNull(index.getBic("DE89370500000532013000"));
+    assertNull(index.getBic("GB29NWBK60161331926819"));
+    assertNull(index.getBic("not an iban"));
+    assertEquals(0, index.getPackedBic(null));
+  }
+
+  @Test
+  public void branchCodeShouldTakePrecedence() throws IOException {
+    final Path path = directory.resolve("banks.idx");
+    BankCodeIndex.builder()
+        .add(CountryCode.GB, "NWBK", Bic.valueOf("NWBKGB2L"))
+        .add(CountryCode.GB, "NWBK", "601613", Bic.valueOf("NWBKGB2L123"))
+        .write(path);
+
+    final BankCodeIndex index = BankCodeIndex.open(path);
+
+    assertEquals(Bic.valueOf("NWBKGB2L123"), index.getBic("GB29NWBK60161331926819"));
+    assertEquals(Bic.valueOf("NWBKGB2L"), index.getBic("GB94NWBK60161431926819"));
+  }
+
+  @Test
+  public void reloadShouldSwitchToRewrittenFile() throws IOException {
+    final Path path = directory.resolve("banks.idx");
+    BankCodeIndex.builder().add(CountryCode.DE, "37040044", Bic.valueOf("COBADEFF")).write(path);
+    final BankCodeIndex index = BankCodeIndex.open(path);
+
+    BankCodeIndex.builder().add(CountryCode.DE, "37040044", Bic.valueOf("DEUTDEFF")).write(path);
+    assertEquals(Bic.valueOf("COBADEFF"), index.getBic("DE89370400440532013000"));
+    index.reload();
+
+    assertEquals(Bic.valueOf("DEUTDEFF"), index.getBic("DE89370400440532013000"));
+  }
+
+  @Test
+  public void indexShouldFindLastBicOfEveryBankCode() throws IOException {
+    final Random random = new Random(23);
+    final BankCodeIndex.Builder builder = BankCodeIndex.builder();
+    final Map<String, Bic> expected = new HashMap<>();
+    final Map<String, String> bankCodes = new HashMap<>();
+    for (int i = 0; i < 2000; i++) {
+      final Iban iban = new Iban.Builder(random)
+          .countryCode(CountryCode.DE)
+          .bankCode(String.format("%08d", random.nextInt(500)))
+          .buildRandom();
+      final Bic bic = Bic.valueOf(String.format("BANKDE%02d", random.nextInt(100)));
+      builder.add(CountryCode.DE, iban.getBankCode(), bic);
+      expected.put(iban.getBankCode(), bic);
+      bankCodes.put(iban.toString(), iban.getBankCode());
+    }
+    final Path path = directory.resolve("banks.idx");
+
+    assertEquals(expected.size(), builder.write(path));
+    final BankCodeIndex index = BankCodeIndex.open(path);
+
+    bankCodes.forEach((iban, bankCode) -> assertEquals(expected.get(bankCode), index.getBic(iban), iban));
+  }
+
+  @Test
+  public void invalidInputShouldBeRejected() throws IOException {
+    final BankCodeIndex.Builder builder = BankCodeIndex.builder();
+    assertThrows(IbanFormatException.class,
+        () -> builder.add(CountryCode.DE, "3704004", Bic.valueOf("COBADEFF")));
+    assertThrows(IbanFormatException.class,
+        () -> builder.add(CountryCode.DE, "37040044", "123", Bic.valueOf("COBADEFF")));
+    assertThrows(UnsupportedCountryException.class,
+        () -> builder.add(CountryCode.US, "1234", Bic.valueOf("COBADEFF")));
+
+    final Path path = directory.resolve("other.idx");
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+    assertThrows(IOException.class, () -> BankCodeIndex.open(path));
+  }
+}
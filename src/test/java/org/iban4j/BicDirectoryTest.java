@@ -0,0 +1,130 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("BicDirectoryTest")
+public class BicDirectoryTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void bicShouldResolveToMostSpecificEntry() throws IOException {
+    final BicDirectory bics = BicDirectory.fromCsv(csv(
+        "# routing table",
+        "DEUTDEFF500,branch 500",
+        "DEUTDEFF,primary office",
+        "",
+        "DEUTDE,institution, with comma",
+        "COBADEFFXXX,"));
+
+    assertEquals(4, bics.size());
+    assertEquals("branch 500", bics.resolve("DEUTDEFF500").getValue());
+    assertEquals(BicDirectory.Level.BRANCH, bics.resolve("DEUTDEFF500").getLevel());
+    assertEquals("primary office", bics.resolve("DEUTDEFF501").getValue());
+    assertEquals("primary office", bics.resolve("DEUTDEFFXXX").getValue());
+    assertEquals(BicDirectory.Level.PRIMARY_OFFICE, bics.resolve(Bic.valueOf("DEUTDEFF")).getLevel());
+    assertEquals("institution, with comma", bics.resolve("DEUTDEBB").getValue());
+    assertEquals(BicDirectory.Level.INSTITUTION, bics.resolve("DEUTDEBB101").getLevel());
+    assertEquals("", bics.resolve("COBADEFF").getValue());
+    assertEquals(BicDirectory.Level.PRIMARY_OFFICE, bics.resolve("COBADEFF").getLevel());
+    assertNull(bics.resolve("COBADEBB"));
+    assertNull(bics.resolve("DEUTAT2L"));
+    assertNull(bics.resolve("DEUTDE"));
+    assertNull(bics.resolve("deutdeff"));
+    assertNull(bics.resolve((CharSequence) null));
+  }
+
+  @Test
+  public void lastEntryOfKeyShouldWin() throws IOException {
+    final BicDirectory bics = BicDirectory.fromCsv(csv("DEUTDEFF,first", "DEUTDEFFXXX,second"));
+
+    assertEquals(1, bics.size());
+    assertEquals("second", bics.resolve("DEUTDEFF").getValue());
+    assertEquals("DEUTDEFFXXX", bics.resolve("DEUTDEFF").getKey());
+  }
+
+  @Test
+  public void leadingByteOrderMarkShouldBeSkipped() throws IOException {
+    final BicDirectory bics = BicDirectory.fromCsv(csv("\uFEFFDEUTDEFF,first", "COBADEFF,second"));
+
+    assertEquals(2, bics.size());
+    assertEquals("first", bics.resolve("DEUTDEFF").getValue());
+    assertEquals("second", bics.resolve("COBADEFF").getValue());
+  }
+
+  @Test
+  public void indentedCommentShouldBeSkipped() throws IOException {
+    final BicDirectory bics = BicDirectory.fromCsv(csv(
+        "\uFEFF# routing table",
+        "  # indented comment",
+        "\t# tab indented comment",
+        "DEUTDEFF,value"));
+
+    assertEquals(1, bics.size());
+    assertEquals("value", bics.resolve("DEUTDEFF").getValue());
+  }
+
+  @Test
+  public void binaryFileShouldHoldSameEntries() throws IOException {
+    final BicDirectory bics = BicDirectory.fromCsv(csv("DEUTDEFF500,a", "DEUTDEFF,b", "DEUTDE,c"));
+    final Path binary = directory.resolve("bics.bin");
+    bics.writeBinary(binary);
+
+    final BicDirectory loaded = BicDirectory.fromBinary(binary);
+
+    assertEquals(3, loaded.size());
+    assertEquals("a", loaded.resolve("DEUTDEFF500").getValue());
+    assertEquals("b", loaded.resolve("DEUTDEFF").getValue());
+    assertEquals("c", loaded.resolve("DEUTDEBB").getValue());
+  }
+
+  @Test
+  public void reloadShouldReplaceEntries() throws IOException {
+    final Path csv = csv("DEUTDEFF,old");
+    final BicDirectory bics = BicDirectory.fromCsv(csv);
+    Files.write(csv, Arrays.asList("DEUTDEFF,new", "COBADEFF,added"), StandardCharsets.UTF_8);
+
+    bics.reload();
+
+    assertEquals("new", bics.resolve("DEUTDEFF").getValue());
+    assertEquals("added", bics.resolve("COBADEFF").getValue());
+  }
+
+  @Test
+  public void failedReloadShouldKeepEntries() throws IOException {
+    final Path csv = csv("DEUTDEFF,old");
+    final BicDirectory bics = BicDirectory.fromCsv(csv);
+    Files.write(csv, Arrays.asList("DEUTDEFF,new", "DEUTAAFF,unsupported"), StandardCharsets.UTF_8);
+
+    final IOException thrown = assertThrows(IOException.class, bics::reload);
+
+    assertTrue(thrown.getMessage().contains("line 2"));
+    assertEquals("old", bics.resolve("DEUTDEFF").getValue());
+  }
+
+  @Test
+  public void invalidFilesShouldNotLoad() throws IOException {
+    assertThrows(IOException.class, () -> BicDirectory.fromCsv(csv("DEUTDEF,x")));
+    assertThrows(IOException.class, () -> BicDirectory.fromCsv(csv("DEUT_E,x")));
+    assertThrows(IOException.class, () -> BicDirectory.fromBinary(csv("DEUTDEFF,x")));
+  }
+
+  private Path csv(final String... lines) throws IOException {
+    final Path path = Files.createTempFile(directory, "bics", ".csv");
+    Files.write(path, Arrays.asList(lines), StandardCharsets.UTF_8);
+    return path;
+  }
+}
@@ -0,0 +1,101 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BicHashMapTest")
+public class BicHashMapTest {
+
+  @Test
+  public void valuesShouldBeMappedByBic() {
+    final BicHashMap<String> map = new BicHashMap<>();
+
+    assertNull(map.put("DEUTDEFF", "first"));
+    assertEquals("first", map.put(Bic.valueOf("DEUTDEFF"), "second"));
+    assertEquals("second", map.putIfAbsent(Bic.valueOf("DEUTDEFF"), "third"));
+    assertNull(map.put("DEUTDEFFXXX", "branch"));
+
+    assertEquals(2, map.size());
+    assertEquals("second", map.get("DEUTDEFF"));
+    assertEquals("branch", map.get(Bic.valueOf("DEUTDEFFXXX").toString()));
+    assertNull(map.get("COBADEFF"));
+    assertEquals("none", map.getOrDefault("deutdeff", "none"));
+    assertEquals("second", map.remove("DEUTDEFF"));
+    assertEquals("branch", map.remove(Bic.valueOf("DEUTDEFFXXX").toString()));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void invalidBicShouldNotBePut() {
+    final BicHashMap<String> map = new BicHashMap<>();
+
+    assertThrows(UnsupportedCountryException.class, () -> map.put("DEUTAAFF", "x"));
+    assertThrows(BicFormatException.class, () -> map.put((CharSequence) null, "x"));
+    assertFalse(map.containsKey("DEUTAAFF"));
+    assertFalse(map.containsKey(null));
+    assertNull(map.get(null));
+    assertNull(map.remove(null));
+  }
+
+  @Test
+  public void forEachShouldUnpackKeys() {
+    final BicHashMap<Integer> map = new BicHashMap<>();
+    map.put("DEUTDEFF", 1);
+    map.put("DEUTDEFF500", 2);
+    final Map<Bic, Integer> entries = new HashMap<>();
+
+    map.forEach(entries::put);
+
+    assertEquals(2, entries.size());
+    assertEquals(1, entries.get(Bic.valueOf("DEUTDEFF")));
+    assertEquals(2, entries.get(Bic.valueOf("DEUTDEFF500")));
+  }
+
+  @Test
+  public void mapShouldBehaveLikeHashMap() {
+    final Random random = new Random(17);
+    final String[] countries = {"DE", "AT", "FR", "NL"};
+    final String alphabet = "ABCXYZ0129";
+    final List<String> bics = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      final StringBuilder bic = new StringBuilder();
+      for (int j = 0; j < 4; j++) {
+        bic.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      bic.append(countries[random.nextInt(countries.length)]);
+      final int rest = random.nextBoolean() ? 2 : 5;
+      for (int j = 0; j < rest; j++) {
+        bic.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      bics.add(bic.toString());
+    }
+    final BicHashMap<Integer> map = new BicHashMap<>(1000);
+    final Map<String, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      final String bic = bics.get(random.nextInt(bics.size()));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(bic), map.remove(bic));
+      } else {
+        assertEquals(expected.put(bic, i), map.put(bic, i));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    for (final String bic : bics) {
+      assertEquals(expected.get(bic), map.get(bic), bic);
+    }
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(bics.get(0)));
+  }
+}
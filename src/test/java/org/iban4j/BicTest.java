@@ -102,5 +102,35 @@ public class BicTest {
       Bic bic = Bic.valueOf("DEUTDEFF500");
       Assertions.assertEquals(bic.toString(), "DEUTDEFF500");
     }
+
+    @Test
+    public void bicShouldRoundTripThroughLong() {
+      for (final String value : new String[] {"DEUTDEFF", "DEUTDEFF500", "DEUTDEFFXXX", "ZZZZZWZZZZZ", "0000DE00"}) {
+        final Bic bic = Bic.valueOf(value);
+        Assertions.assertTrue(bic.toLong() > 0);
+        Assertions.assertEquals(bic, Bic.fromLong(bic.toLong()));
+      }
+      Assertions.assertNotEquals(Bic.valueOf("DEUTDEFF").toLong(), Bic.valueOf("DEUTDEFFXXX").toLong());
+    }
+
+    @Test
+    public void packedBicsShouldCompareLikeStrings() {
+      final String[] values = {"0000DE00", "DEUTDEFF", "DEUTDEFF0AA", "DEUTDEFF500", "DEUTDEFFXXX", "DEUTDEFG"};
+      for (int i = 1; i < values.length; i++) {
+        Assertions.assertTrue(Bic.valueOf(values[i - 1]).toLong() < Bic.valueOf(values[i]).toLong(), values[i]);
+      }
+    }
+
+    @Test
+    public void invalidPackedBicShouldThrowException() {
+      final long bic8 = Bic.valueOf("DEUTDEFF").toLong();
+      Assertions.assertThrows(IllegalArgumentException.class, () -> Bic.fromLong(0));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> Bic.fromLong(-1));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> Bic.fromLong(Long.MAX_VALUE));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> Bic.fromLong(bic8 + 1));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> Bic.fromLong(bic8 / 37));
+      Assertions.assertThrows(UnsupportedCountryException.class,
+          () -> Bic.fromLong(BicUtil.pack("DEUTAAFF")));
+    }
   }
 }
@@ -18,9 +18,19 @@ package org.iban4j;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.iban4j.TestDataHelper.defaultExceptionMessage;
+import static org.iban4j.BicFormatException.BicFormatViolation.BANK_CODE_ONLY_ALPHANUMERIC;
+import static org.iban4j.BicFormatException.BicFormatViolation.BIC_LENGTH_8_OR_11;
+import static org.iban4j.BicFormatException.BicFormatViolation.BIC_NOT_NULL;
+import static org.iban4j.BicFormatException.BicFormatViolation.BIC_ONLY_UPPER_CASE_LETTERS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -171,4 +181,68 @@ public class BicUtilTest {
                     defaultExceptionMessage);
             assertThat(thrown.getMessage(), containsString("Bank code must contain only alphanumeric"));    
         }
+
+        @Test
+        @DisplayName("validate all BICs should report each item like validate")
+        public void bicBatchValidationShouldReportEachItem() {
+            final List<String> bics = Arrays.asList(
+                    "DEUTDEFF", "DEUTDEFF500", null, "DEUTDEF", "deutdeff", "DEUTAAFF", "DEU_DEFF");
+
+            final BicBatchResult result = BicUtil.validateAll(bics);
+
+            assertEquals(7, result.size());
+            assertEquals(2, result.getValidCount());
+            assertTrue(result.isValid(0));
+            assertTrue(result.isValid(1));
+            assertNull(result.getFormatViolation(1));
+            assertEquals(BIC_NOT_NULL, result.getFormatViolation(2));
+            assertEquals(BIC_LENGTH_8_OR_11, result.getFormatViolation(3));
+            assertEquals(BIC_ONLY_UPPER_CASE_LETTERS, result.getFormatViolation(4));
+            assertTrue(result.isUnsupportedCountry(5));
+            assertNull(result.getFormatViolation(5));
+            assertEquals(BANK_CODE_ONLY_ALPHANUMERIC, result.getFormatViolation(6));
+            assertFalse(result.getValid().get(6));
+        }
+
+        @Test
+        @DisplayName("validation result should match validate for random BICs")
+        public void bicValidationResultShouldMatchValidate() {
+            final char[] alphabet = "ABDEFTUZ019az_ä\u0660Е".toCharArray();
+            final String[] prefixes = {"DEUT", "DEUTDE", "DEUTAA", "DEUTDEFF"};
+            final Random random = new Random(42);
+            for (int i = 0; i < 20_000; i++) {
+                final StringBuilder bic = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+                final int length = random.nextInt(8) == 0 ? random.nextInt(13) : random.nextBoolean() ? 8 : 11;
+                bic.setLength(Math.min(bic.length(), length));
+                while (bic.length() < length) {
+                    bic.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+                if (length > 0 && random.nextInt(4) == 0) {
+                    bic.setCharAt(random.nextInt(length), alphabet[random.nextInt(alphabet.length)]);
+                }
+                assertEquals(expectedResult(bic.toString()), BicUtil.getValidationResult(bic),
+                        bic::toString);
+            }
+        }
+
+        @Test
+        @DisplayName("validation result should report null and unsupported country")
+        public void bicValidationResultShouldReportNullAndUnsupportedCountry() {
+            assertEquals(BicValidationResult.of(BIC_NOT_NULL), BicUtil.getValidationResult(null));
+            assertEquals(BicValidationResult.UNSUPPORTED_COUNTRY, BicUtil.getValidationResult("DEUTAAFF"));
+            assertEquals(BicValidationResult.VALID, BicUtil.getValidationResult("DEUTDEFF500"));
+            assertTrue(BicUtil.isValid("DEUTDEFF"));
+            assertFalse(BicUtil.isValid("DEUTDEF"));
+        }
+
+        private static BicValidationResult expectedResult(final String bic) {
+            try {
+                BicUtil.validateDetailed(bic);
+                return BicValidationResult.VALID;
+            } catch (BicFormatException e) {
+                return BicValidationResult.of(e.getFormatViolation());
+            } catch (UnsupportedCountryException e) {
+                return BicValidationResult.UNSUPPORTED_COUNTRY;
+            }
+        }
 }
@@ -0,0 +1,134 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.iban4j.BicFormatException.BicFormatViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IbanBicValidatorTest")
+public class IbanBicValidatorTest {
+
+  private final IbanBicValidator validator = IbanBicValidator.builder().build();
+
+  @Test
+  public void pairsShouldBeValidatedPerRow() {
+    final List<String> ibans = Arrays.asList("DE89370400440532013000", "DE89370400440532013000",
+        "DE89370400440532013001", "DE89370400440532013000", null, "FR1420041010050500013M02606");
+    final List<String> bics = Arrays.asList("COBADEFFXXX", "BKAUATWW",
+        "COBADEFF", "COBADEF", "COBADEFF", "BNPAGPGP");
+
+    final IbanBicBatchResult result = validator.validateAll(ibans, bics);
+
+    assertEquals(6, result.size());
+    assertEquals(2, result.getValidCount());
+    assertTrue(result.isValid(0));
+    assertTrue(result.isCountryMismatch(1));
+    assertFalse(result.isValid(1));
+    assertEquals(IbanValidationResult.INVALID_CHECK_DIGIT, result.getIbanResult(2));
+    assertEquals(BicValidationResult.VALID, result.getBicResult(2));
+    assertFalse(result.isCountryMismatch(2));
+    assertEquals(BicValidationResult.of(BicFormatViolation.BIC_LENGTH_8_OR_11), result.getBicResult(3));
+    assertEquals(IbanValidationResult.of(IbanFormatException.IbanFormatViolation.IBAN_NOT_NULL),
+        result.getIbanResult(4));
+    assertTrue(result.isValid(5));
+    assertEquals(1, result.getCountryMismatchCount());
+  }
+
+  @Test
+  public void territoriesShouldMatchTheirCountry() {
+    final IbanBicValidator withMonaco = IbanBicValidator.builder()
+        .territory(CountryCode.MC, CountryCode.FR)
+        .build();
+
+    assertTrue(validator.isCountryMatch("FR1420041010050500013M02606", "BNPAREREXXX"));
+    assertTrue(validator.isCountryMatch("GB29NWBK60161331926819", "NWBKJESH"));
+    assertTrue(validator.isCountryMatch("FI2112345600000785", "OKOYAXMH"));
+    assertFalse(validator.isCountryMatch("FI2112345600000785", "NWBKGB2L"));
+    assertFalse(validator.isCountryMatch("FR1420041010050500013M02606", "CMCIMCM1"));
+    assertTrue(withMonaco.isCountryMatch("FR1420041010050500013M02606", "CMCIMCM1"));
+  }
+
+  @Test
+  public void parallelValidationShouldMatchSequential() {
+    final Random random = new Random(5);
+    final List<String> ibans = new ArrayList<>();
+    final List<String> bics = new ArrayList<>();
+    final String[] bicPool = {"COBADEFF", "BKAUATWW", "NWBKGB2L", "DEUTDEF", "deutdeff", "DEUTAAFF"};
+    for (int i = 0; i < 10_000; i++) {
+      final CountryCode country = random.nextBoolean() ? CountryCode.DE : CountryCode.AT;
+      final String iban = new Iban.Builder(random).countryCode(country).buildRandom().toString();
+      ibans.add(random.nextInt(10) == 0 ? iban.substring(1) : iban);
+      bics.add(bicPool[random.nextInt(bicPool.length)]);
+    }
+
+    final IbanBicBatchResult sequential = validator.validateAll(new LinkedList<>(ibans), bics);
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    final IbanBicBatchResult parallel = validator.validateAllParallel(ibans, bics, pool);
+    pool.shutdown();
+
+    assertEquals(sequential.getValid(), parallel.getValid());
+    for (int i = 0; i < ibans.size(); i++) {
+      assertEquals(sequential.getIbanResult(i), parallel.getIbanResult(i));
+      assertEquals(sequential.getBicResult(i), parallel.getBicResult(i));
+      assertEquals(sequential.isCountryMismatch(i), parallel.isCountryMismatch(i));
+      assertEquals(IbanUtil.getValidationResult(ibans.get(i)), parallel.getIbanResult(i));
+    }
+  }
+
+  @Test
+  public void configuredValidatorShouldValidateIbans() {
+    final IbanValidator countryRules = IbanValidator.builder().enableCountryRules().build();
+    final IbanBicValidator withRules = IbanBicValidator.builder().validator(countryRules).build();
+    final Random random = new Random(11);
+    final List<String> ibans = new ArrayList<>();
+    final List<String> bics = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      final CountryCode country = random.nextBoolean() ? CountryCode.DE : CountryCode.FR;
+      ibans.add(new Iban.Builder(random).countryCode(country).buildRandom().toString());
+      bics.add(random.nextBoolean() ? "COBADEFF" : "BNPAFRPP");
+    }
+
+    final IbanBicBatchResult result = withRules.validateAll(ibans, bics);
+
+    for (int i = 0; i < ibans.size(); i++) {
+      final IbanValidationResult expected = countryRules.getValidationResult(ibans.get(i));
+      assertEquals(expected, result.getIbanResult(i));
+      assertEquals(expected.isValid() && ibans.get(i).regionMatches(0, bics.get(i), 4, 2),
+          result.isValid(i));
+    }
+  }
+
+  @Test
+  public void streamedPairsShouldBeReportedInOrder() {
+    final List<String> ibans = Arrays.asList("DE89370400440532013000", "AT611904300234573201");
+    final List<String> bics = Arrays.asList("COBADEFF", "COBADEFF");
+    final List<String> reported = new ArrayList<>();
+
+    final long rows = validator.validate(ibans, bics, (index, ibanResult, bicResult, mismatch) ->
+        reported.add(index + ":" + ibanResult.isValid() + ":" + bicResult.isValid() + ":" + mismatch));
+
+    assertEquals(2, rows);
+    assertEquals(Arrays.asList("0:true:true:false", "1:true:true:true"), reported);
+  }
+
+  @Test
+  public void inputsOfDifferentSizeShouldBeRejected() {
+    final List<String> ibans = Collections.singletonList("DE89370400440532013000");
+
+    assertThrows(IllegalArgumentException.class,
+        () -> validator.validateAll(ibans, Collections.emptyList()));
+    assertThrows(IllegalArgumentException.class,
+        () -> validator.validate(ibans, Collections.emptyList(), (i, a, b, c) -> { }));
+  }
+}
@@ -0,0 +1,144 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.iban4j.IbanCache.Eviction;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IbanCacheTest")
+public class IbanCacheTest {
+
+  @Test
+  public void repeatedIbanShouldBeAHit() {
+    final IbanCache cache = IbanCache.builder().build();
+
+    final Iban first = cache.valueOf("DE89370400440532013000");
+    final Iban second = cache.valueOf(new StringBuilder("DE89370400440532013000"));
+
+    assertSame(first, second);
+    assertEquals(Iban.valueOf("DE89370400440532013000"), first);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5, cache.getHitRate());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void failuresShouldBeCachedAndRethrown() {
+    final IbanCache cache = IbanCache.builder().build();
+
+    assertEquals(IbanValidationResult.INVALID_CHECK_DIGIT,
+        cache.getValidationResult("DE89370400440532013001"));
+    assertThrows(InvalidCheckDigitException.class, () -> cache.valueOf("DE89370400440532013001"));
+    assertFalse(cache.isValid("DE89370400440532013001"));
+    assertEquals(2, cache.getHitCount());
+    assertThrows(IbanFormatException.class, () -> cache.valueOf(null));
+    assertEquals(IbanValidationResult.of(IbanFormatViolation.IBAN_NOT_NULL),
+        cache.getValidationResult(null));
+  }
+
+  @Test
+  public void configuredValidatorShouldBeUsed() {
+    final IbanValidator validator = IbanValidator.builder().enableCountryRules().build();
+    final IbanCache cache = IbanCache.builder().validator(validator).build();
+    final String iban = "DE89370400440532013000";
+
+    assertEquals(validator.getValidationResult(iban), cache.getValidationResult(iban));
+    assertEquals(validator.getValidationResult(iban), cache.getValidationResult(iban));
+  }
+
+  @Test
+  public void cacheShouldNotExceedMaximumSize() {
+    final IbanCache cache = IbanCache.builder().maximumSize(100).build();
+    final Random random = new Random(7);
+    for (int i = 0; i < 1000; i++) {
+      cache.valueOf(new Iban.Builder(random).countryCode(CountryCode.DE).buildRandom().toString());
+    }
+
+    assertTrue(cache.size() <= 100);
+    assertEquals(1000 - cache.size(), cache.getEvictionCount());
+  }
+
+  @Test
+  public void tinyLfuShouldKeepFrequentIbansDuringScan() {
+    final List<String> frequent = randomIbans(new Random(3), 50);
+    final List<String> oneOff = randomIbans(new Random(5), 5000);
+    final IbanCache lru = IbanCache.builder().maximumSize(100).build();
+    final IbanCache tinyLfu = IbanCache.builder().maximumSize(100).eviction(Eviction.TINY_LFU).build();
+    for (final IbanCache cache : new IbanCache[] {lru, tinyLfu}) {
+      for (int round = 0; round < 5; round++) {
+        frequent.forEach(cache::isValid);
+      }
+      for (int i = 0; i < oneOff.size(); i++) {
+        cache.isValid(oneOff.get(i));
+        cache.isValid(frequent.get(i % frequent.size()));
+      }
+    }
+
+    assertTrue(tinyLfu.getHitCount() > lru.getHitCount(),
+        "TinyLFU " + tinyLfu + " should hit more than LRU " + lru);
+  }
+
+  @Test
+  public void zeroSizeCacheShouldOnlyMiss() {
+    final IbanCache cache = IbanCache.builder().maximumSize(0).build();
+
+    assertTrue(cache.isValid("DE89370400440532013000"));
+    assertTrue(cache.isValid("DE89370400440532013000"));
+    assertEquals(0, cache.getHitCount());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void concurrentLookupsShouldAgreeWithValidation() throws Exception {
+    final List<String> ibans = randomIbans(new Random(11), 500);
+    ibans.add("DE89370400440532013001");
+    final IbanCache cache = IbanCache.builder().maximumSize(200)
+        .eviction(Eviction.TINY_LFU).build();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final Random random = new Random(t);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 20000; i++) {
+            final String iban = ibans.get(random.nextInt(ibans.size()));
+            assertEquals(IbanUtil.getValidationResult(iban), cache.getValidationResult(iban));
+          }
+        }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(80000, cache.getHitCount() + cache.getMissCount());
+    assertTrue(cache.size() <= 200);
+  }
+
+  @Test
+  public void negativeMaximumSizeShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> IbanCache.builder().maximumSize(-1));
+  }
+
+  private static List<String> randomIbans(final Random random, final int count) {
+    final List<String> ibans = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ibans.add(new Iban.Builder(random).countryCode(CountryCode.DE).buildRandom().toString());
+    }
+    return ibans;
+  }
+}
@@ -0,0 +1,139 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.iban4j.IbanValidationResult.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("IbanFileScannerTest")
+public class IbanFileScannerTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void invalidRecordsShouldBeReported() throws IOException {
+    final Path file = write("AT611904300234573201\r\n"
+        + "AT621904300234573201\n"
+        + "\n"
+        + "DE89370400440532013000\n"
+        + "at611904300234573201");
+
+    final IbanScanResult result = IbanFileScanner.builder().build().scan(file);
+
+    assertEquals(5, result.getRecordCount());
+    assertEquals(2, result.getValidCount());
+    assertArrayEquals(new long[] {22, 43, 67}, result.getInvalidOffsets());
+    assertEquals(1, result.getCount(Status.INVALID_CHECK_DIGIT));
+    assertEquals(Map.of(IbanFormatViolation.IBAN_NOT_EMPTY, 1L,
+        IbanFormatViolation.COUNTRY_CODE_UPPER_CASE_LETTERS, 1L), result.getCountsByViolation());
+    assertEquals(Map.of(CountryCode.AT, 2L, CountryCode.DE, 1L), result.getCountsByCountry());
+  }
+
+  @Test
+  public void delimitedColumnShouldBeScanned() throws IOException {
+    final Path file = write("1;AT611904300234573201;x\n2;AT611904300234573201\r\n3\n");
+
+    final IbanScanResult result = IbanFileScanner.builder().delimiter(';').column(1).build()
+        .scan(file);
+
+    assertEquals(3, result.getRecordCount());
+    assertArrayEquals(new long[] {49}, result.getInvalidOffsets());
+    assertEquals(Map.of(IbanFormatViolation.IBAN_NOT_EMPTY, 1L), result.getCountsByViolation());
+  }
+
+  @Test
+  public void segmentsShouldMatchStreamingValidation() throws IOException {
+    final Random random = new Random(17);
+    final StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 3000; i++) {
+      final StringBuilder iban = new StringBuilder(Iban.random(random).toString());
+      if (random.nextInt(5) == 0) {
+        iban.setCharAt(random.nextInt(iban.length()), '_');
+      }
+      content.append(iban).append(random.nextBoolean() ? "\n" : "\r\n");
+    }
+    final Path file = write(content.toString());
+
+    final Map<IbanFormatViolation, Long> violations = new EnumMap<>(IbanFormatViolation.class);
+    final Map<CountryCode, Long> countries = new EnumMap<>(CountryCode.class);
+    final long[] invalid = new long[1];
+    IbanStreamValidator.builder().build().validate(file, (line, iban, result) -> {
+      if (!result.isValid()) {
+        invalid[0]++;
+      }
+      if (result.getFormatViolation() != null) {
+        violations.merge(result.getFormatViolation(), 1L, Long::sum);
+      }
+      final CountryCode countryCode = CountryCode.getByAlpha2Code(iban.charAt(0), iban.charAt(1));
+      if (countryCode != null) {
+        countries.merge(countryCode, 1L, Long::sum);
+      }
+    });
+
+    final ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      final IbanScanResult result = IbanFileScanner.builder().segmentSize(1000).pool(pool).build()
+          .scan(file);
+
+      assertEquals(3000, result.getRecordCount());
+      assertEquals(invalid[0], result.getInvalidCount());
+      assertEquals(violations, result.getCountsByViolation());
+      assertEquals(countries, result.getCountsByCountry());
+      final long[] offsets = result.getInvalidOffsets();
+      final byte[] bytes = Files.readAllBytes(file);
+      for (int i = 0; i < offsets.length; i++) {
+        assertEquals(true, offsets[i] == 0 || bytes[(int) offsets[i] - 1] == '\n');
+        assertEquals(true, i == 0 || offsets[i - 1] < offsets[i]);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void leadingByteOrderMarkShouldBeSkipped() throws IOException {
+    final Path file = directory.resolve("ibans.txt");
+    Files.write(file, "\uFEFFAT611904300234573201\n\uFEFFDE89370400440532013000"
+        .getBytes(StandardCharsets.UTF_8));
+
+    final IbanScanResult result = IbanFileScanner.builder().segmentSize(1).build().scan(file);
+
+    assertEquals(2, result.getRecordCount());
+    assertEquals(1, result.getValidCount());
+    assertArrayEquals(new long[] {24}, result.getInvalidOffsets());
+  }
+
+  @Test
+  public void emptyFileShouldHaveNoRecords() throws IOException {
+    final IbanScanResult result = IbanFileScanner.builder().build().scan(write(""));
+
+    assertEquals(0, result.getRecordCount());
+    assertEquals(0, result.getInvalidOffsets().length);
+  }
+
+  @Test
+  public void nonAsciiDelimiterShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class,
+        () -> IbanFileScanner.builder().delimiter('§'));
+  }
+
+  private Path write(final String content) throws IOException {
+    final Path file = directory.resolve("ibans.txt");
+    Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+    return file;
+  }
+}
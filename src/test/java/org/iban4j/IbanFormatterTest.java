@@ -0,0 +1,88 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.iban4j.bban.BbanStructure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IbanFormatterTest")
+public class IbanFormatterTest {
+
+  @Test
+  public void defaultFormatterShouldGroupByFour() {
+    assertEquals("DE89 3704 0044 0532 0130 00",
+        IbanFormatter.DEFAULT.format("DE89370400440532013000"));
+    assertEquals("AT61 1904 3002 3457 3201",
+        IbanFormatter.DEFAULT.format(Iban.valueOf("AT611904300234573201")));
+    assertEquals("", IbanFormatter.DEFAULT.format(""));
+  }
+
+  @Test
+  public void defaultFormatterShouldMatchFormerInsertBasedFormatting() {
+    final Random random = new Random(19);
+    for (final CountryCode countryCode : BbanStructure.supportedCountries()) {
+      final String iban = new Iban.Builder(random).countryCode(countryCode).buildRandom().toString();
+      final StringBuilder expected = new StringBuilder(iban);
+      for (int i = 0; i < iban.length() / 4; i++) {
+        expected.insert((i + 1) * 4 + i, ' ');
+      }
+
+      assertEquals(expected.toString().trim(), IbanFormatter.DEFAULT.format(iban), iban);
+      assertEquals(expected.toString().trim(), Iban.valueOf(iban).toFormattedString(), iban);
+    }
+  }
+
+  @Test
+  public void separatorAndGroupSizesShouldBeConfigurable() {
+    final IbanFormatter formatter = IbanFormatter.builder()
+        .separator('-')
+        .groupSizes(4, 8, 3)
+        .build();
+
+    assertEquals("DE89-37040044-053-201-300-0", formatter.format("DE89370400440532013000"));
+    assertEquals(27, formatter.formattedLength(22));
+  }
+
+  @Test
+  public void formattedIbanShouldBeWrittenToDestinations() throws Exception {
+    final String iban = "DE89370400440532013000";
+    final String formatted = "DE89 3704 0044 0532 0130 00";
+
+    final char[] chars = new char[formatted.length() + 2];
+    assertEquals(formatted.length(), IbanFormatter.DEFAULT.format(iban, chars, 1));
+    assertEquals(formatted, new String(chars, 1, formatted.length()));
+
+    assertEquals("x" + formatted,
+        IbanFormatter.DEFAULT.formatTo(iban, new StringBuilder("x")).toString());
+    assertEquals(formatted, IbanFormatter.DEFAULT.formatTo(iban, new StringWriter()).toString());
+
+    final ByteBuffer buffer = ByteBuffer.allocate(formatted.length());
+    IbanFormatter.DEFAULT.formatTo(iban, buffer);
+    assertArrayEquals(formatted.getBytes(StandardCharsets.US_ASCII), buffer.array());
+  }
+
+  @Test
+  public void tooSmallDestinationsShouldBeRejected() {
+    final String iban = "DE89370400440532013000";
+
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> IbanFormatter.DEFAULT.format(iban, new char[26], 0));
+    final ByteBuffer buffer = ByteBuffer.allocate(26);
+    assertThrows(BufferOverflowException.class, () -> IbanFormatter.DEFAULT.formatTo(iban, buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void invalidGroupSizesShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> IbanFormatter.builder().groupSizes());
+    assertThrows(IllegalArgumentException.class, () -> IbanFormatter.builder().groupSizes(4, 0));
+  }
+}
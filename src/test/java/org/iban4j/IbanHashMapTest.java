@@ -0,0 +1,96 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.iban4j.bban.BbanStructure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IbanHashMapTest")
+public class IbanHashMapTest {
+
+  @Test
+  public void valuesShouldBeMappedByIban() {
+    final IbanHashMap<String> map = new IbanHashMap<>();
+
+    assertNull(map.put("DE89370400440532013000", "first"));
+    assertEquals("first", map.put(Iban.valueOf("DE89370400440532013000"), "second"));
+    assertEquals("second", map.putIfAbsent(Iban.valueOf("DE89370400440532013000"), "third"));
+
+    assertEquals(1, map.size());
+    assertEquals("second", map.get("DE89370400440532013000"));
+    assertEquals("second", map.get(Iban.valueOf("DE89370400440532013000").toString()));
+    assertNull(map.get("AT611904300234573201"));
+    assertEquals("none", map.getOrDefault("not an iban", "none"));
+    assertEquals("second", map.remove("DE89370400440532013000"));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void nullValuesShouldBeKept() {
+    final IbanHashMap<String> map = new IbanHashMap<>();
+    map.put("DE89370400440532013000", null);
+
+    assertTrue(map.containsKey("DE89370400440532013000"));
+    assertNull(map.get("DE89370400440532013000"));
+    assertNull(map.putIfAbsent(Iban.valueOf("DE89370400440532013000"), "value"));
+    assertEquals("value", map.get("DE89370400440532013000"));
+  }
+
+  @Test
+  public void nullKeyShouldBeLookedUp() {
+    final IbanHashMap<String> map = new IbanHashMap<>();
+    map.put("DE89370400440532013000", "value");
+
+    assertNull(map.get(null));
+    assertFalse(map.containsKey(null));
+    assertNull(map.remove(null));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void invalidIbanShouldNotBePut() {
+    final IbanHashMap<String> map = new IbanHashMap<>();
+
+    assertThrows(UnsupportedCountryException.class, () -> map.put("US89370400440532013000", "x"));
+    assertFalse(map.containsKey("US89370400440532013000"));
+  }
+
+  @Test
+  public void mapShouldBehaveLikeHashMap() {
+    final Random random = new Random(17);
+    final List<CountryCode> countries = BbanStructure.supportedCountries();
+    final List<String> ibans = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      ibans.add(new Iban.Builder(random)
+          .countryCode(countries.get(random.nextInt(countries.size())))
+          .buildRandom().toString());
+    }
+    final IbanHashMap<Integer> map = new IbanHashMap<>(1000);
+    final Map<String, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      final String iban = ibans.get(random.nextInt(ibans.size()));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(iban), map.remove(iban));
+      } else {
+        assertEquals(expected.put(iban, i), map.put(iban, i));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    for (final String iban : ibans) {
+      assertEquals(expected.get(iban), map.get(iban), iban);
+    }
+    final Map<String, Integer> iterated = new HashMap<>();
+    map.forEach((iban, value) -> iterated.put(iban.toString(), value));
+    assertEquals(expected, iterated);
+  }
+}
@@ -0,0 +1,93 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.iban4j.bban.BbanStructure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IbanHashSetTest")
+public class IbanHashSetTest {
+
+  @Test
+  public void addedIbansShouldBeContained() {
+    final IbanHashSet set = new IbanHashSet();
+
+    assertTrue(set.add(Iban.valueOf("DE89370400440532013000")));
+    assertTrue(set.add("AT611904300234573201"));
+    assertFalse(set.add("DE89370400440532013000"));
+
+    assertEquals(2, set.size());
+    assertTrue(set.contains("DE89370400440532013000"));
+    assertTrue(set.contains(new StringBuilder("AT611904300234573201")));
+    assertTrue(set.contains(Iban.valueOf("AT611904300234573201").toString()));
+    assertFalse(set.contains("DE89370400440532013001"));
+  }
+
+  @Test
+  public void anyValueShouldBeLookedUp() {
+    final IbanHashSet set = new IbanHashSet();
+    set.add("DE89370400440532013000");
+
+    assertFalse(set.contains(null));
+    assertFalse(set.contains(""));
+    assertFalse(set.contains("de89370400440532013000"));
+    assertFalse(set.contains("DE89 3704 0044 0532 0130 00"));
+    assertFalse(set.contains("XX89370400440532013000"));
+  }
+
+  @Test
+  public void invalidIbanShouldNotBeAdded() {
+    final IbanHashSet set = new IbanHashSet();
+
+    assertThrows(InvalidCheckDigitException.class, () -> set.add("DE89370400440532013001"));
+    assertThrows(IbanFormatException.class, () -> set.add((CharSequence) null));
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  public void setShouldBehaveLikeHashSet() {
+    final Random random = new Random(13);
+    final List<CountryCode> countries = BbanStructure.supportedCountries();
+    final List<String> ibans = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      ibans.add(new Iban.Builder(random)
+          .countryCode(countries.get(random.nextInt(countries.size())))
+          .buildRandom().toString());
+    }
+    final IbanHashSet set = new IbanHashSet();
+    final Set<String> expected = new HashSet<>();
+    for (int i = 0; i < 20000; i++) {
+      final String iban = ibans.get(random.nextInt(ibans.size()));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(iban), set.remove(iban));
+      } else {
+        assertEquals(expected.add(iban), set.add(iban));
+      }
+      assertEquals(expected.size(), set.size());
+    }
+    for (final String iban : ibans) {
+      assertEquals(expected.contains(iban), set.contains(iban), iban);
+    }
+    final Set<String> iterated = new HashSet<>();
+    set.forEach(iban -> assertTrue(iterated.add(iban.toString())));
+    assertEquals(expected, iterated);
+
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(ibans.get(0)));
+  }
+
+  @Test
+  public void negativeExpectedSizeShouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new IbanHashSet(-1));
+  }
+}
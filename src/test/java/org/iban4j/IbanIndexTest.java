@@ -0,0 +1,110 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.iban4j.bban.BbanStructure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("IbanIndexTest")
+public class IbanIndexTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void writtenIbansShouldBeFound() throws IOException {
+    final Path path = directory.resolve("ibans.idx");
+    final long written = IbanIndex.builder()
+        .add("DE89370400440532013000")
+        .add(Iban.valueOf("AT611904300234573201"))
+        .add("DE89370400440532013000")
+        .write(path);
+    final IbanIndex index = IbanIndex.open(path);
+
+    assertEquals(2, written);
+    assertEquals(2, index.size());
+    assertTrue(index.contains("DE89370400440532013000"));
+    assertTrue(index.contains(Iban.valueOf("AT611904300234573201")));
+    assertTrue(index.contains("AT611904300234573201".getBytes(StandardCharsets.US_ASCII)));
+    assertTrue(index.contains("xxAT611904300234573201".getBytes(StandardCharsets.US_ASCII), 2, 20));
+    assertFalse(index.contains("DE89370400440532013001"));
+    assertFalse(index.contains("not an iban"));
+    assertFalse(index.contains((CharSequence) null));
+    // 16 byte records as both ibans pack into two words
+    assertEquals(24 + 2 * 16, Files.size(path));
+  }
+
+  @Test
+  public void indexShouldContainExactlyTheWrittenIbans() throws IOException {
+    final Random random = new Random(23);
+    final List<CountryCode> countries = BbanStructure.supportedCountries();
+    final IbanIndex.Builder builder = IbanIndex.builder();
+    final Set<String> written = new HashSet<>();
+    final List<String> absent = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      final String iban = new Iban.Builder(random)
+          .countryCode(countries.get(random.nextInt(countries.size())))
+          .buildRandom().toString();
+      if (random.nextInt(4) == 0) {
+        absent.add(iban);
+      } else {
+        builder.add(iban);
+        written.add(iban);
+      }
+    }
+    final Path path = directory.resolve("ibans.idx");
+    assertEquals(written.size(), builder.write(path));
+    final IbanIndex index = IbanIndex.open(path);
+
+    assertEquals(written.size(), index.size());
+    for (final String iban : written) {
+      assertTrue(index.contains(iban), iban);
+      assertTrue(index.contains(iban.getBytes(StandardCharsets.US_ASCII)), iban);
+    }
+    for (final String iban : absent) {
+      assertEquals(written.contains(iban), index.contains(iban), iban);
+    }
+  }
+
+  @Test
+  public void emptyIndexShouldContainNothing() throws IOException {
+    final Path path = directory.resolve("empty.idx");
+    IbanIndex.builder().write(path);
+
+    final IbanIndex index = IbanIndex.open(path);
+    assertEquals(0, index.size());
+    assertFalse(index.contains("DE89370400440532013000"));
+  }
+
+  @Test
+  public void otherFilesShouldBeRejected() throws IOException {
+    final Path path = directory.resolve("other.idx");
+    Files.write(path, "DE89370400440532013000\n".getBytes(StandardCharsets.US_ASCII));
+
+    assertThrows(IOException.class, () -> IbanIndex.open(path));
+  }
+
+  @Test
+  public void truncatedFileShouldBeRejected() throws IOException {
+    final Path path = directory.resolve("ibans.idx");
+    IbanIndex.builder().add("DE89370400440532013000").write(path);
+    final byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+
+    assertThrows(IOException.class, () -> IbanIndex.open(path));
+  }
+}
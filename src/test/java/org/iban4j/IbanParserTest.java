@@ -0,0 +1,106 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("IbanParserTest")
+public class IbanParserTest {
+
+  private static final Iban IBAN = Iban.valueOf("DE89370400440532013000");
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "DE89370400440532013000",
+      "de89 3704 0044 0532 0130 00",
+      "  DE89\t3704 0044-0532.0130 00 ",
+      "IBAN DE89 3704 0044 0532 0130 00",
+      "iban:DE89370400440532013000",
+      "DE89–3704—0044053201300 0"
+  })
+  public void userInputShouldBeNormalized(final String input) {
+    final IbanParseResult result = IbanParser.parse(input);
+
+    assertTrue(result.isValid(), result.toString());
+    assertEquals(IBAN, result.getIban());
+    assertEquals(IBAN, result.toIban());
+    assertEquals("DE89370400440532013000", result.getNormalized());
+    assertEquals(-1, result.getErrorIndex());
+    assertEquals(IBAN, Iban.valueOf(input, IbanFormat.Lenient));
+    assertTrue(IbanUtil.isValid(input, IbanFormat.Lenient));
+  }
+
+  @Test
+  public void invalidCharacterShouldBeLocatedInInput() {
+    final IbanParseResult result = IbanParser.parse("DE89 3704 0044 05X2 0130 00");
+
+    assertFalse(result.isValid());
+    assertNull(result.getIban());
+    assertEquals(IbanFormatViolation.BBAN_ONLY_DIGITS,
+        result.getValidationResult().getFormatViolation());
+    assertEquals(17, result.getErrorIndex());
+    final IbanFormatException exception =
+        assertThrows(IbanFormatException.class, result::toIban);
+    assertEquals(IbanFormatViolation.BBAN_ONLY_DIGITS, exception.getFormatViolation());
+  }
+
+  @Test
+  public void invalidCheckDigitShouldPointAtCheckDigit() {
+    final IbanParseResult result = IbanParser.parse("IBAN DE88 3704 0044 0532 0130 00");
+
+    assertEquals(IbanValidationResult.INVALID_CHECK_DIGIT, result.getValidationResult());
+    assertEquals(7, result.getErrorIndex());
+    assertThrows(InvalidCheckDigitException.class,
+        () -> IbanUtil.validate("IBAN DE88 3704 0044 0532 0130 00", IbanFormat.Lenient));
+  }
+
+  @Test
+  public void lengthViolationsShouldBeLocated() {
+    final IbanParseResult tooLong = IbanParser.parse("DE89 3704 0044 0532 0130 001");
+    final IbanParseResult tooShort = IbanParser.parse("DE89 3704 0044 0532 0130 0");
+
+    assertEquals(IbanFormatViolation.BBAN_LENGTH,
+        tooLong.getValidationResult().getFormatViolation());
+    assertEquals(27, tooLong.getErrorIndex());
+    assertEquals(IbanFormatViolation.BBAN_LENGTH,
+        tooShort.getValidationResult().getFormatViolation());
+    assertEquals(26, tooShort.getErrorIndex());
+  }
+
+  @Test
+  public void headerViolationsShouldBeLocated() {
+    assertEquals(1, IbanParser.parse("D1 89").getErrorIndex());
+    assertEquals(4, IbanParser.parse(" DE8X370400440532013000").getErrorIndex());
+    assertEquals(0, IbanParser.parse("US89370400440532013000").getErrorIndex());
+    assertEquals(3, IbanParser.parse(" - ").getErrorIndex());
+    assertEquals(IbanFormatViolation.IBAN_NOT_EMPTY,
+        IbanParser.parse(" - ").getValidationResult().getFormatViolation());
+  }
+
+  @Test
+  public void veryLongInputShouldBeTooLong() {
+    final StringBuilder input = new StringBuilder("DE89370400440532013000");
+    for (int i = 0; i < 100; i++) {
+      input.append('0');
+    }
+
+    assertEquals(IbanFormatViolation.BBAN_LENGTH,
+        IbanParser.parse(input).getValidationResult().getFormatViolation());
+    assertEquals(22, IbanParser.parse(input).getErrorIndex());
+  }
+
+  @Test
+  public void nullInputShouldBeRejected() {
+    assertEquals(IbanFormatViolation.IBAN_NOT_NULL,
+        IbanParser.parse(null).getValidationResult().getFormatViolation());
+    assertThrows(IbanFormatException.class, () -> IbanParser.parse(null).toIban());
+  }
+}
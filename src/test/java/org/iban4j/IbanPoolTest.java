@@ -0,0 +1,91 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IbanPoolTest")
+public class IbanPoolTest {
+
+  @Test
+  public void equalIbansShouldShareOneInstance() {
+    final IbanPool pool = new IbanPool();
+    final Iban first = Iban.valueOf("DE89370400440532013000");
+    final Iban second = Iban.valueOf("DE89370400440532013000");
+    assertNotSame(first, second);
+
+    assertSame(first, pool.intern(first));
+    assertSame(first, pool.intern(second));
+    assertSame(first, pool.valueOf("DE89370400440532013000"));
+    assertSame(first, pool.valueOf(new StringBuilder("DE89370400440532013000")));
+    assertEquals(4, pool.getRequestCount());
+    assertEquals(3, pool.getHitCount());
+    assertEquals(0.75, pool.getHitRate());
+    assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void invalidIbanShouldNotBePooled() {
+    final IbanPool pool = new IbanPool();
+
+    assertThrows(InvalidCheckDigitException.class, () -> pool.valueOf("DE89370400440532013001"));
+    assertThrows(IbanFormatException.class, () -> pool.valueOf(null));
+    assertEquals(0, pool.size());
+    assertEquals(0, pool.getRequestCount());
+  }
+
+  @Test
+  public void internShouldUseDefaultPool() {
+    final Iban iban = Iban.valueOf("AT611904300234573201").intern();
+
+    assertSame(iban, Iban.valueOf("AT611904300234573201").intern());
+    assertSame(iban, IbanPool.getDefault().valueOf("AT611904300234573201"));
+  }
+
+  @Test
+  public void clearedPoolShouldPoolAgain() {
+    final IbanPool pool = new IbanPool();
+    final Iban first = pool.valueOf("DE89370400440532013000");
+    pool.clear();
+    final Iban second = Iban.valueOf("DE89370400440532013000");
+
+    assertEquals(0, pool.size());
+    assertSame(second, pool.intern(second));
+    assertNotSame(first, pool.intern(second));
+  }
+
+  @Test
+  public void concurrentInterningShouldAgreeOnOneInstance() throws Exception {
+    final IbanPool pool = new IbanPool();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Iban>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          Iban last = null;
+          for (int i = 0; i < 1000; i++) {
+            last = pool.intern(Iban.valueOf("DE89370400440532013000"));
+          }
+          return last;
+        }));
+      }
+      final Iban canonical = futures.get(0).get();
+      for (final Future<Iban> future : futures) {
+        assertSame(canonical, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(4000, pool.getRequestCount());
+    assertEquals(3999, pool.getHitCount());
+  }
+}
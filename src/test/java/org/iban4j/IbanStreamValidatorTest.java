@@ -0,0 +1,132 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("IbanStreamValidatorTest")
+public class IbanStreamValidatorTest {
+
+  private final List<String> lines = new ArrayList<>();
+  private final List<IbanValidationResult> results = new ArrayList<>();
+
+  @Test
+  public void everyLineShouldBeValidated() throws IOException {
+    final long records = IbanStreamValidator.builder().build().validate(
+        new StringReader("AT611904300234573201\r\nAT621904300234573201\n\nAT61\rX\n"
+            + "DE89370400440532013000"),
+        this::collect);
+
+    assertEquals(5, records);
+    assertEquals(List.of("1:AT611904300234573201", "2:AT621904300234573201", "3:",
+        "4:AT61\rX", "5:DE89370400440532013000"), lines);
+    assertSame(IbanValidationResult.VALID, results.get(0));
+    assertSame(IbanValidationResult.INVALID_CHECK_DIGIT, results.get(1));
+    assertSame(IbanValidationResult.of(IbanFormatViolation.IBAN_NOT_EMPTY), results.get(2));
+    assertSame(IbanValidationResult.of(IbanFormatViolation.BBAN_LENGTH), results.get(3));
+    assertSame(IbanValidationResult.VALID, results.get(4));
+  }
+
+  @Test
+  public void delimitedColumnShouldBeValidated() throws IOException {
+    final IbanStreamValidator validator = IbanStreamValidator.builder()
+        .delimiter(';').column(1).bufferSize(7).build();
+
+    final long records = validator.validate(new StringReader(
+        "1;AT611904300234573201;x\r\n2;PT52000201231234567850154\n3\n"), this::collect);
+
+    assertEquals(3, records);
+    assertEquals(List.of("1:AT611904300234573201", "2:PT52000201231234567850154", "3:"), lines);
+    assertSame(IbanValidationResult.VALID, results.get(0));
+    assertSame(IbanValidationResult.VALID, results.get(1));
+    assertSame(IbanValidationResult.of(IbanFormatViolation.IBAN_NOT_EMPTY), results.get(2));
+  }
+
+  @Test
+  public void configuredValidatorShouldBeUsed() throws IOException {
+    IbanStreamValidator.builder()
+        .validator(IbanValidator.builder().enableCountryRules().build())
+        .build()
+        .validate(new ByteArrayInputStream(
+            "PT52000201231234567850154".getBytes(StandardCharsets.US_ASCII)), this::collect);
+
+    assertSame(IbanValidationResult.of(IbanFormatViolation.COUNTRY_RULES_FAILED), results.get(0));
+  }
+
+  @Test
+  public void resultsShouldMatchSingleValidation(@TempDir final Path directory) throws IOException {
+    final Random random = new Random(3);
+    final List<String> values = new ArrayList<>();
+    final StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      final StringBuilder value = new StringBuilder(Iban.random(random).toString());
+      switch (random.nextInt(4)) {
+        case 0:
+          value.setCharAt(random.nextInt(value.length()), 'x');
+          break;
+        case 1:
+          // far longer than any iban
+          value.append(value).append(value).append(value);
+          break;
+        default:
+          break;
+      }
+      values.add(value.toString());
+      content.append(value).append('\n');
+    }
+    final Path file = directory.resolve("ibans.txt");
+    Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+    final long records = IbanStreamValidator.builder().bufferSize(100).build()
+        .validate(file, this::collect);
+
+    assertEquals(values.size(), records);
+    for (int i = 0; i < values.size(); i++) {
+      assertSame(IbanUtil.getValidationResult(values.get(i)), results.get(i), values.get(i));
+    }
+  }
+
+  @Test
+  public void leadingByteOrderMarkShouldBeSkipped(@TempDir final Path directory)
+      throws IOException {
+    final byte[] content = "\uFEFFAT611904300234573201\n\uFEFFDE89370400440532013000"
+        .getBytes(StandardCharsets.UTF_8);
+    final Path file = directory.resolve("ibans.txt");
+    Files.write(file, content);
+    final IbanStreamValidator validator = IbanStreamValidator.builder().build();
+
+    validator.validate(new ByteArrayInputStream(content), this::collect);
+    validator.validate(file, this::collect);
+
+    assertEquals(List.of("1:AT611904300234573201", "2:\uFEFFDE89370400440532013000",
+        "1:AT611904300234573201", "2:\uFEFFDE89370400440532013000"), lines);
+    assertSame(IbanValidationResult.VALID, results.get(0));
+    assertSame(IbanValidationResult.VALID, results.get(2));
+  }
+
+  @Test
+  public void lineTerminatorShouldNotBeDelimiter() {
+    assertThrows(IllegalArgumentException.class,
+        () -> IbanStreamValidator.builder().delimiter('\n'));
+  }
+
+  private void collect(final long lineNumber, final CharSequence iban,
+      final IbanValidationResult result) {
+    lines.add(lineNumber + ":" + iban);
+    results.add(result);
+  }
+}
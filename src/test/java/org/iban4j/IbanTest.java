@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Random;
+import org.iban4j.bban.BbanStructure;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -444,4 +445,22 @@ final class IbanTest {
     assertThat(
         thrown.getMessage(), containsString("nationalCheckDigit is required; it cannot be null"));
   }
+
+  @Test
+  @DisplayName("ibanComponentsShouldMatchIbanUtilExtraction")
+  public void ibanComponentsShouldMatchIbanUtilExtraction() {
+    for (final CountryCode countryCode : BbanStructure.supportedCountries()) {
+      final Iban iban = Iban.random(countryCode);
+      final String value = iban.toString();
+      assertAll(
+          () -> assertEquals(countryCode, iban.getCountryCode()),
+          () -> assertEquals(IbanUtil.getBankCode(value), iban.getBankCode()),
+          () -> assertEquals(IbanUtil.getBranchCode(value), iban.getBranchCode()),
+          () -> assertEquals(IbanUtil.getAccountNumber(value), iban.getAccountNumber()),
+          () -> assertEquals(IbanUtil.getNationalCheckDigit(value), iban.getNationalCheckDigit()),
+          () -> assertEquals(IbanUtil.getAccountType(value), iban.getAccountType()),
+          () -> assertEquals(IbanUtil.getOwnerAccountType(value), iban.getOwnerAccountType()),
+          () -> assertEquals(IbanUtil.getIdentificationNumber(value), iban.getIdentificationNumber()));
+    }
+  }
 }
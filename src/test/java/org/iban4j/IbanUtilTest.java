@@ -17,9 +17,16 @@ package org.iban4j;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.Random;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.iban4j.bban.BbanStructure;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -65,7 +72,152 @@ public class IbanUtilTest {
         public void formattedIbanIsValidWithDefaultFormattingShouldNotThrowException() {
             assertTrue(IbanUtil.isValid("AT61 1904 3002 3457 3201", IbanFormat.Default));
         }
+
+    @DisplayName("charBufferSliceShouldBeValidatedAndParsed")
+    @Test
+    public void charBufferSliceShouldBeValidatedAndParsed() {
+        final CharBuffer line = CharBuffer.wrap("x;DE89370400440532013000;y");
+        final CharSequence iban = line.subSequence(2, 24);
+
+        assertTrue(IbanUtil.isValid(iban));
+        IbanUtil.validate(iban);
+        assertThat(IbanUtil.getCountryCode(iban), is(equalTo("DE")));
+        assertThat(IbanUtil.getCheckDigit(iban), is(equalTo("89")));
+        assertThat(IbanUtil.getBankCode(iban), is(equalTo("37040044")));
+        assertThat(IbanUtil.getAccountNumber(iban), is(equalTo("0532013000")));
+        assertThat(IbanUtil.getBban(iban), is(equalTo("370400440532013000")));
+        assertThat(Iban.valueOf(iban), is(equalTo(Iban.valueOf("DE89370400440532013000"))));
+    }
+
+    @DisplayName("reusedStringBuilderShouldBeValidatedAndParsed")
+    @Test
+    public void reusedStringBuilderShouldBeValidatedAndParsed() {
+        final StringBuilder buffer = new StringBuilder("AT611904300234573201");
+        final Iban iban = Iban.valueOf(buffer);
+        buffer.setLength(0);
+        buffer.append("AT61 1904 3002 3457 3201");
+
+        assertThat(iban.toString(), is(equalTo("AT611904300234573201")));
+        assertThat(Iban.valueOf(buffer, IbanFormat.Default), is(equalTo(iban)));
+        assertThat(IbanUtil.calculateCheckDigit(new StringBuilder("AT001904300234573201")),
+                is(equalTo("61")));
+        assertThrows(InvalidCheckDigitException.class,
+                () -> IbanUtil.validate(new StringBuilder("AT621904300234573201")));
+    }
+
+    @DisplayName("formattedIbanResultShouldMatchStripAndReformat")
+    @Test
+    public void formattedIbanResultShouldMatchStripAndReformat() {
+        final Random random = new Random(41);
+        final List<CountryCode> countries = BbanStructure.supportedCountries();
+        for (int i = 0; i < 20000; i++) {
+            final String iban = new Iban.Builder(random)
+                    .countryCode(countries.get(random.nextInt(countries.size())))
+                    .buildRandom().toFormattedString();
+            final StringBuilder input = new StringBuilder(iban);
+            switch (random.nextInt(6)) {
+                case 0:
+                    input.setCharAt(random.nextInt(input.length()), "0A a".charAt(random.nextInt(4)));
+                    break;
+                case 1:
+                    input.deleteCharAt(random.nextInt(input.length()));
+                    break;
+                case 2:
+                    input.insert(random.nextInt(input.length() + 1), ' ');
+                    break;
+                case 3:
+                    input.setLength(random.nextInt(input.length() + 1));
+                    break;
+                default:
+                    break;
+            }
+
+            assertThat(input.toString(), IbanUtil.getValidationResult(input, IbanFormat.Default),
+                    is(equalTo(stripAndReformatResult(input.toString()))));
+            assertThat(input.toString(), IbanUtil.isValid(input, IbanFormat.Default),
+                    is(equalTo(stripAndReformatResult(input.toString()).isValid())));
+        }
+    }
+
+    @DisplayName("formattedIbanViolationsShouldBeThrown")
+    @Test
+    public void formattedIbanViolationsShouldBeThrown() {
+        final IbanFormatException formatting = assertThrows(IbanFormatException.class,
+                () -> IbanUtil.validate("AT61 1904 3002 34573201", IbanFormat.Default));
+        assertThat(formatting.getFormatViolation(), is(equalTo(IbanFormatViolation.IBAN_FORMATTING)));
+        assertThrows(InvalidCheckDigitException.class,
+                () -> IbanUtil.validate("AT62 1904 3002 34573201", IbanFormat.Default));
+        assertThrows(InvalidCheckDigitException.class,
+                () -> Iban.valueOf("AT62 1904 3002 3457 3201", IbanFormat.Default));
+        assertThat(IbanUtil.getValidationResult(null, IbanFormat.Default).getFormatViolation(),
+                is(equalTo(IbanFormatViolation.IBAN_NOT_NULL)));
+    }
+
+    @DisplayName("rejectedIbanShouldThrowEvenIfDetailedChecksPass")
+    @Test
+    public void rejectedIbanShouldThrowEvenIfDetailedChecksPass() {
+        final IbanFormatException thrown = assertThrows(IbanFormatException.class,
+                () -> IbanUtil.throwInvalid("DE89370400440532013000", IbanValidationResult.INVALID_CHECK_DIGIT));
+        assertThat(thrown.getFormatViolation(), is(equalTo(IbanFormatViolation.UNKNOWN)));
+        assertTrue(thrown.getMessage().contains(IbanValidationResult.INVALID_CHECK_DIGIT.toString()));
+        assertThrows(InvalidCheckDigitException.class,
+                () -> IbanUtil.throwInvalid("DE88370400440532013000", IbanValidationResult.INVALID_CHECK_DIGIT));
+    }
+
+    @DisplayName("stringSignaturesShouldStayCallable")
+    @Test
+    public void stringSignaturesShouldStayCallable() throws NoSuchMethodException {
+        final String iban = "DE89370400440532013000";
+        final String formatted = "DE89 3704 0044 0532 0130 00";
+        final IbanValidator validator = IbanValidator.builder().build();
+
+        IbanUtil.validate(iban);
+        IbanUtil.validate(formatted, IbanFormat.Default);
+        IbanUtil.validateWithCountryRules(iban);
+        validator.validate(iban);
+        assertThat(IbanUtil.isValid(iban), is(true));
+        assertThat(IbanUtil.isValid(iban, ValidationConfig.builder().build()), is(true));
+        assertThat(IbanUtil.isValid(formatted, IbanFormat.Default), is(true));
+        assertThat(IbanUtil.isValidWithCountryRules(iban), is(true));
+        assertThat(validator.isValid(iban), is(true));
+        assertThat(IbanUtil.calculateCheckDigit(iban), is(equalTo("89")));
+        assertThat(IbanUtil.getCheckDigit(iban), is(equalTo("89")));
+        assertThat(IbanUtil.getCountryCode(iban), is(equalTo("DE")));
+        assertThat(IbanUtil.getCountryCodeAndCheckDigit(iban), is(equalTo("DE89")));
+        assertThat(IbanUtil.getBban(iban), is(equalTo("370400440532013000")));
+        assertThat(IbanUtil.getAccountNumber(iban), is(equalTo("0532013000")));
+        assertThat(IbanUtil.getBankCode(iban), is(equalTo("37040044")));
+        assertThat(IbanUtil.getBankCodeExt(iban), is(nullValue()));
+        assertThat(Iban.valueOf(iban).toString(), is(equalTo(iban)));
+        assertThat(Iban.valueOf(formatted, IbanFormat.Default).toString(), is(equalTo(iban)));
+
+        // clients compiled against the former signatures link against these exact methods
+        for (final String name : new String[] {"validate", "isValid", "calculateCheckDigit", "getCheckDigit",
+                "getCountryCode", "getCountryCodeAndCheckDigit", "getBban", "getAccountNumber", "getBankCode",
+                "getBankCodeExt", "validateWithCountryRules", "isValidWithCountryRules"}) {
+            IbanUtil.class.getMethod(name, String.class);
+        }
+        IbanUtil.class.getMethod("validate", String.class, IbanFormat.class);
+        IbanUtil.class.getMethod("isValid", String.class, IbanFormat.class);
+        IbanUtil.class.getMethod("isValid", String.class, ValidationConfig.class);
+        IbanValidator.class.getMethod("validate", String.class);
+        IbanValidator.class.getMethod("isValid", String.class);
+        Iban.class.getMethod("valueOf", String.class);
+        Iban.class.getMethod("valueOf", String.class, IbanFormat.class);
+    }
+
+    /**
+     * The former implementation: validate the iban without spaces, then compare with its print format.
+     */
+    private static IbanValidationResult stripAndReformatResult(final String iban) {
+        final String stripped = iban.replace(" ", "");
+        final IbanValidationResult result = IbanUtil.getValidationResult(stripped);
+        if (result.isValid() && !IbanFormatter.DEFAULT.format(stripped).equals(iban)) {
+            return IbanValidationResult.of(IbanFormatViolation.IBAN_FORMATTING);
+        }
+        return result;
     }
+}
 
 
 
@@ -0,0 +1,183 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.iban4j.IbanValidationResult.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@DisplayName("IbanValidationResultTest")
+public class IbanValidationResultTest {
+
+  static Stream<Arguments> invalidIbans() {
+    return Stream.of(
+        Arguments.of(null, IbanFormatViolation.IBAN_NOT_NULL),
+        Arguments.of("", IbanFormatViolation.IBAN_NOT_EMPTY),
+        Arguments.of("A", IbanFormatViolation.COUNTRY_CODE_TWO_LETTERS),
+        Arguments.of("AT", IbanFormatViolation.CHECK_DIGIT_TWO_DIGITS),
+        Arguments.of("AT4T", IbanFormatViolation.CHECK_DIGIT_ONLY_DIGITS),
+        Arguments.of("AT48", IbanFormatViolation.BBAN_LENGTH),
+        Arguments.of("at611904300234573201", IbanFormatViolation.COUNTRY_CODE_UPPER_CASE_LETTERS),
+        Arguments.of(" _611904300234573201", IbanFormatViolation.COUNTRY_CODE_UPPER_CASE_LETTERS),
+        Arguments.of("JJ611904300234573201", IbanFormatViolation.COUNTRY_CODE_EXISTS),
+        Arguments.of("AT61 1904300234573201", IbanFormatViolation.BBAN_LENGTH),
+        Arguments.of("AT611C04300234573201", IbanFormatViolation.BBAN_ONLY_DIGITS),
+        Arguments.of("DE8937040044053201300A", IbanFormatViolation.BBAN_ONLY_DIGITS),
+        Arguments.of("IT6010542811101000000123456", IbanFormatViolation.BBAN_ONLY_UPPER_CASE_LETTERS),
+        Arguments.of("AL47212110090000000235698a41", IbanFormatViolation.BBAN_ONLY_DIGITS_OR_LETTERS));
+  }
+
+  @ParameterizedTest
+  @MethodSource("invalidIbans")
+  public void formatViolationShouldMatchThrowingValidation(String iban, IbanFormatViolation violation) {
+    final IbanValidationResult result = IbanUtil.getValidationResult(iban);
+
+    assertFalse(result.isValid());
+    assertEquals(Status.INVALID_FORMAT, result.getStatus());
+    assertEquals(violation, result.getFormatViolation());
+    try {
+      IbanUtil.validate(iban);
+      fail("validate should have thrown");
+    } catch (IbanFormatException e) {
+      assertEquals(violation, e.getFormatViolation());
+    }
+  }
+
+  @Test
+  public void unsupportedCountryShouldBeReported() {
+    assertSame(IbanValidationResult.UNSUPPORTED_COUNTRY,
+        IbanUtil.getValidationResult("AM611904300234573201"));
+  }
+
+  @Test
+  public void invalidCheckDigitShouldBeReported() {
+    assertSame(IbanValidationResult.INVALID_CHECK_DIGIT,
+        IbanUtil.getValidationResult("AT621904300234573201"));
+  }
+
+  @Test
+  public void validIbanShouldBeReportedAsValid() {
+    final IbanValidationResult result = IbanUtil.getValidationResult("AT611904300234573201");
+
+    assertSame(IbanValidationResult.VALID, result);
+    assertTrue(result.isValid());
+    assertNull(result.getFormatViolation());
+  }
+
+  @Test
+  public void resultsShouldBeShared() {
+    assertSame(IbanValidationResult.of(IbanFormatViolation.BBAN_LENGTH),
+        IbanUtil.getValidationResult("AT48"));
+  }
+
+  @Test
+  public void validatorShouldReportCountryRulesViolation() {
+    final IbanValidator validator = IbanValidator.builder().enableCountryRules().build();
+
+    assertEquals(IbanFormatViolation.COUNTRY_RULES_FAILED,
+        validator.getValidationResult("PT52000201231234567850154").getFormatViolation());
+    assertSame(IbanValidationResult.VALID,
+        validator.getValidationResult("AT611904300234573201"));
+  }
+
+  @Test
+  public void randomlyCorruptedIbansShouldMatchThrowingValidation() {
+    final Random random = new Random(7);
+    final String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZaz -_\u00c9";
+    for (int i = 0; i < 5000; i++) {
+      final StringBuilder iban = new StringBuilder(Iban.random(random).toString());
+      final int position = random.nextInt(iban.length());
+      switch (random.nextInt(3)) {
+        case 0:
+          iban.setCharAt(position, alphabet.charAt(random.nextInt(alphabet.length())));
+          break;
+        case 1:
+          iban.deleteCharAt(position);
+          break;
+        default:
+          iban.insert(position, alphabet.charAt(random.nextInt(alphabet.length())));
+          break;
+      }
+      final String value = iban.toString();
+      final IbanValidationResult expected = expectedResult(value);
+      assertSame(expected, IbanUtil.getValidationResult(value), value);
+
+      final byte[] line = ("|" + value + "|").getBytes(StandardCharsets.ISO_8859_1);
+      assertSame(expected, IbanUtil.getValidationResult(line, 1, value.length()), value);
+      final ByteBuffer direct = ByteBuffer.allocateDirect(line.length).put(line);
+      direct.position(1).limit(line.length - 1);
+      assertSame(expected, IbanUtil.getValidationResult(direct), value);
+    }
+  }
+
+  @Test
+  public void byteBufferShouldBeLeftUnchanged() {
+    final byte[] line = "DE89370400440532013000;AT621904300234573201".getBytes(StandardCharsets.US_ASCII);
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(line.length).put(line);
+    buffer.position(0).limit(22);
+
+    assertTrue(IbanUtil.isValid(buffer, 0, 22));
+    assertSame(IbanValidationResult.VALID, IbanUtil.getValidationResult(buffer));
+    assertEquals(0, buffer.position());
+    assertEquals(22, buffer.limit());
+    assertThrows(IndexOutOfBoundsException.class, () -> IbanUtil.getValidationResult(buffer, 23, 20));
+
+    buffer.limit(line.length).position(23);
+    assertSame(IbanValidationResult.INVALID_CHECK_DIGIT, IbanUtil.getValidationResult(buffer));
+    assertEquals(23, buffer.position());
+    final InvalidCheckDigitException thrown =
+        assertThrows(InvalidCheckDigitException.class, () -> IbanUtil.validate(buffer, 23, 20));
+    assertTrue(thrown.getMessage().contains("AT621904300234573201"));
+    assertEquals(23, buffer.position());
+    assertEquals(line.length, buffer.limit());
+  }
+
+  @Test
+  public void heapByteBufferSliceShouldBeValidated() {
+    final byte[] line = "xxDE89370400440532013000".getBytes(StandardCharsets.US_ASCII);
+    final ByteBuffer slice = ByteBuffer.wrap(line, 2, 22).slice();
+
+    assertSame(IbanValidationResult.VALID, IbanUtil.getValidationResult(slice));
+    assertTrue(IbanUtil.isValid(slice, 0, 22));
+    assertFalse(IbanUtil.isValid(slice, 1, 21));
+  }
+
+  @Test
+  public void byteArrayRangeShouldBeValidated() {
+    final byte[] line = "xDE89370400440532013000x".getBytes(StandardCharsets.US_ASCII);
+
+    assertTrue(IbanUtil.isValid(line, 1, 22));
+    assertFalse(IbanUtil.isValid(line, 0, 22));
+    assertThrows(IbanFormatException.class, () -> IbanUtil.validate(line, 2, 22 - 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> IbanUtil.getValidationResult(line, 3, 22));
+    assertSame(IbanValidationResult.of(IbanFormatViolation.IBAN_NOT_EMPTY),
+        IbanUtil.getValidationResult(line, 5, 0));
+  }
+
+  static IbanValidationResult expectedResult(final String iban) {
+    try {
+      IbanUtil.validate(iban);
+      return IbanValidationResult.VALID;
+    } catch (IbanFormatException e) {
+      return IbanValidationResult.of(e.getFormatViolation());
+    } catch (InvalidCheckDigitException e) {
+      return IbanValidationResult.INVALID_CHECK_DIGIT;
+    } catch (UnsupportedCountryException e) {
+      return IbanValidationResult.UNSUPPORTED_COUNTRY;
+    }
+  }
+}
@@ -1,11 +1,18 @@
 package org.iban4j;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -122,4 +129,81 @@ public class IbanValidatorTest {
         assertDoesNotThrow(() -> validator.validate(ibanWithoutCountryRules));
         assertTrue(validator.isValid(ibanWithoutCountryRules));
     }
+
+    @Test
+    public void testValidateAllMatchesSingleValidation() {
+        IbanValidator validator = IbanValidator.builder()
+            .enableCountryRules()
+            .build();
+        List<String> ibans = Arrays.asList(
+            "DE89370400440532013000",
+            "AT611904300234573201",
+            "DE89370400440532013001",
+            null,
+            "PT52000201231234567850154",
+            "AT611904300234573201",
+            "at611904300234573201",
+            "AM611904300234573201",
+            "AT61 1904300234573201",
+            "");
+
+        IbanBatchResult result = validator.validateAll(ibans);
+
+        assertEquals(ibans.size(), result.size());
+        assertEquals(3, result.getValidCount());
+        for (int i = 0; i < ibans.size(); i++) {
+            assertSame(validator.getValidationResult(ibans.get(i)), result.getResult(i));
+            assertEquals(validator.isValid(ibans.get(i)), result.isValid(i));
+        }
+        assertEquals(IbanFormatException.IbanFormatViolation.COUNTRY_RULES_FAILED,
+            result.getResult(4).getFormatViolation());
+        assertThrows(IndexOutOfBoundsException.class, () -> result.isValid(ibans.size()));
+    }
+
+    @Test
+    public void testValidateAllRandomIbans() {
+        Random random = new Random(11);
+        List<CharSequence> ibans = new LinkedList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder iban = new StringBuilder(Iban.random(random).toString());
+            if (random.nextInt(4) == 0) {
+                iban.setCharAt(random.nextInt(iban.length()), 'X');
+            }
+            ibans.add(iban);
+        }
+        IbanValidator validator = IbanValidator.builder().build();
+
+        IbanBatchResult result = validator.validateAll(ibans);
+
+        int index = 0;
+        for (CharSequence iban : ibans) {
+            assertSame(IbanUtil.getValidationResult(iban), result.getResult(index++));
+        }
+    }
+
+    @Test
+    public void testValidateAllParallelMatchesSequential() {
+        Random random = new Random(5);
+        CharSequence[] ibans = new CharSequence[10_000];
+        for (int i = 0; i < ibans.length; i++) {
+            String iban = Iban.random(random).toString();
+            ibans[i] = random.nextInt(10) == 0 ? iban.substring(1) : iban;
+        }
+        IbanValidator validator = IbanValidator.builder().enableCountryRules().build();
+        IbanBatchResult sequential = validator.validateAll(Arrays.asList(ibans));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            IbanBatchResult parallel = validator.validateAllParallel(ibans, pool);
+
+            assertEquals(sequential.getValid(), parallel.getValid());
+            for (int i = 0; i < ibans.length; i++) {
+                assertSame(sequential.getResult(i), parallel.getResult(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(sequential.getValid(), validator.validateAllParallel(ibans).getValid());
+        assertEquals(0, validator.validateAllParallel(new CharSequence[0]).size());
+    }
 }
@@ -0,0 +1,74 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LazyIbanTest")
+public class LazyIbanTest {
+
+  @Test
+  public void validIbanShouldExposeComponents() {
+    final LazyIban lazy = LazyIban.of("DE89370400440532013000");
+    final Iban iban = Iban.valueOf("DE89370400440532013000");
+
+    assertEquals(CountryCode.DE, lazy.getCountryCode());
+    assertTrue(lazy.isValid());
+    assertEquals(iban, lazy.toIban());
+    assertSame(lazy.toIban(), lazy.toIban());
+    assertEquals(iban.getCheckDigit(), lazy.getCheckDigit());
+    assertEquals(iban.getBankCode(), lazy.getBankCode());
+    assertEquals(iban.getAccountNumber(), lazy.getAccountNumber());
+    assertEquals(iban.getBban(), lazy.getBban());
+    assertEquals(iban.getBranchCode(), lazy.getBranchCode());
+    assertEquals("DE89370400440532013000", lazy.toString());
+  }
+
+  @Test
+  public void headerViolationsShouldBeReportedUpFront() {
+    final IbanFormatException tooShort = assertThrows(IbanFormatException.class,
+        () -> LazyIban.of("DE8937040044053201300"));
+    assertEquals(IbanFormatViolation.BBAN_LENGTH, tooShort.getFormatViolation());
+    final IbanFormatException lowerCase = assertThrows(IbanFormatException.class,
+        () -> LazyIban.of("de89370400440532013000"));
+    assertEquals(IbanFormatViolation.COUNTRY_CODE_UPPER_CASE_LETTERS,
+        lowerCase.getFormatViolation());
+    assertThrows(UnsupportedCountryException.class, () -> LazyIban.of("US89370400440532013000"));
+    assertThrows(IbanFormatException.class, () -> LazyIban.of(null));
+  }
+
+  @Test
+  public void bbanViolationsShouldBeReportedOnFirstUse() {
+    final LazyIban badCheckDigit = LazyIban.of("DE89370400440532013001");
+    final LazyIban badCharacter = LazyIban.of("DE8937040044053201300A");
+
+    assertFalse(badCheckDigit.isValid());
+    assertEquals(IbanValidationResult.INVALID_CHECK_DIGIT, badCheckDigit.getValidationResult());
+    assertThrows(InvalidCheckDigitException.class, badCheckDigit::getBankCode);
+    final IbanFormatException exception =
+        assertThrows(IbanFormatException.class, badCharacter::toIban);
+    assertEquals(IbanFormatViolation.BBAN_ONLY_DIGITS, exception.getFormatViolation());
+  }
+
+  @Test
+  public void configuredValidatorShouldBeApplied() {
+    final IbanValidator validator = IbanValidator.builder().enableCountryRules().build();
+    final String iban = "DE89370400440532013000";
+
+    assertEquals(validator.getValidationResult(iban),
+        LazyIban.of(iban, validator).getValidationResult());
+  }
+
+  @Test
+  public void equalValuesShouldBeEqual() {
+    assertEquals(LazyIban.of("DE89370400440532013000"), LazyIban.of("DE89370400440532013000"));
+    assertEquals(LazyIban.of("DE89370400440532013000").hashCode(),
+        LazyIban.of("DE89370400440532013000").hashCode());
+  }
+}
@@ -0,0 +1,77 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@DisplayName("Mod97Test")
+public class Mod97Test {
+
+  @ParameterizedTest
+  @CsvSource({
+      "13,13",
+      "97,0",
+      "12345,26",
+      "A,10",
+      "a,10",
+      "1A,13",
+      "1234a5678,92",
+      "12+4,-1",
+      "\"\",-1",
+      ",-1"
+  })
+  public void remainder(String value, int expected) {
+    assertEquals(expected, Mod97.remainder(value));
+  }
+
+  @Test
+  public void validIbanShouldHaveRemainderOne() {
+    final String iban = "DE89370400440532013000";
+
+    assertEquals(1, Mod97.ibanRemainder(iban));
+    assertTrue(Mod97.hasValidCheckDigit(iban));
+    assertEquals(1, Mod97.ibanRemainder(iban.getBytes(StandardCharsets.US_ASCII), 0, iban.length()));
+  }
+
+  @Test
+  public void invalidIbanShouldNotHaveRemainderOne() {
+    assertFalse(Mod97.hasValidCheckDigit("DE88370400440532013000"));
+    assertEquals(-1, Mod97.ibanRemainder("DE89 370400440532013000"));
+    assertEquals(-1, Mod97.ibanRemainder("DE8"));
+    assertEquals(-1, Mod97.ibanRemainder((CharSequence) null));
+  }
+
+  @Test
+  public void rangesShouldBeRespected() {
+    final String line = "xx;DE89370400440532013000;yy";
+
+    assertEquals(1, Mod97.ibanRemainder(line, 3, 22));
+    assertEquals(1, Mod97.ibanRemainder(line.getBytes(StandardCharsets.US_ASCII), 3, 22));
+    assertEquals(-1, Mod97.ibanRemainder(line, 2, 22));
+  }
+
+  @Test
+  public void remainderShouldMatchBigInteger() {
+    final Random random = new Random(11);
+    for (int i = 0; i < 1000; i++) {
+      final String iban = Iban.random(random).toString();
+      final String rotated = iban.substring(4) + iban.substring(0, 4);
+      final StringBuilder numeric = new StringBuilder();
+      for (final char ch : rotated.toCharArray()) {
+        numeric.append(Character.getNumericValue(ch));
+      }
+      final int expected = new BigInteger(numeric.toString()).mod(BigInteger.valueOf(97)).intValue();
+
+      assertEquals(expected, Mod97.remainder(rotated), rotated);
+      assertEquals(expected, Mod97.ibanRemainder(iban), iban);
+    }
+  }
+}
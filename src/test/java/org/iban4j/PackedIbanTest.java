@@ -0,0 +1,112 @@
+package org.iban4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.iban4j.bban.BbanStructure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PackedIbanTest")
+public class PackedIbanTest {
+
+  @Test
+  public void everySupportedCountryShouldRoundTrip() {
+    final Random random = new Random(29);
+    for (final CountryCode countryCode : BbanStructure.supportedCountries()) {
+      for (int i = 0; i < 20; i++) {
+        final Iban iban = new Iban.Builder(random).countryCode(countryCode).buildRandom();
+        final byte[] bytes = iban.toBytes();
+
+        assertTrue(bytes.length < iban.toString().length(), iban.toString());
+        assertEquals(iban, Iban.fromBytes(bytes));
+        final PackedIban packed = PackedIban.fromBytes(bytes);
+        assertEquals(iban.toString(), packed.toString());
+        assertEquals(iban, packed.toIban());
+        assertEquals(countryCode, packed.getCountryCode());
+        assertEquals(PackedIban.of(iban), packed);
+        assertEquals(PackedIban.of(iban).hashCode(), packed.hashCode());
+        assertArrayEquals(bytes, packed.toBytes());
+      }
+    }
+  }
+
+  @Test
+  public void packedWordsShouldHoldPackedBytes() {
+    final Random random = new Random(31);
+    for (final CountryCode countryCode : BbanStructure.supportedCountries()) {
+      final String iban = new Iban.Builder(random).countryCode(countryCode).buildRandom().toString();
+      final BbanStructure structure = PackedIban.packableStructure(iban);
+      final long[] words = new long[PackedIban.WORDS];
+      for (int i = 0; i < words.length; i++) {
+        words[i] = PackedIban.packWord(iban, structure, i);
+      }
+      final byte[] bytes = PackedIban.pack(iban);
+      final byte[] fromWords = new byte[PackedIban.WORDS * Long.BYTES];
+      java.nio.ByteBuffer.wrap(fromWords).asLongBuffer().put(words);
+
+      assertTrue(bytes.length <= fromWords.length, iban);
+      assertArrayEquals(bytes, java.util.Arrays.copyOf(fromWords, bytes.length), iban);
+      assertEquals(iban, PackedIban.unpack(words));
+    }
+  }
+
+  @Test
+  public void unpackableValuesShouldHaveNoStructure() {
+    assertEquals(null, PackedIban.packableStructure(null));
+    assertEquals(null, PackedIban.packableStructure("DE8937040044053201300"));
+    assertEquals(null, PackedIban.packableStructure("de89370400440532013000"));
+    assertEquals(null, PackedIban.packableStructure("DE8X370400440532013000"));
+    assertEquals(null, PackedIban.packableStructure("DE89370400440532O13000"));
+    assertEquals(null, PackedIban.packableStructure("US89370400440532013000"));
+  }
+
+  @Test
+  public void germanIbanShouldTakeTwelveBytes() {
+    assertEquals(12, Iban.valueOf("DE89370400440532013000").toBytes().length);
+  }
+
+  @Test
+  public void differentIbansShouldNotBeEqual() {
+    assertNotEquals(PackedIban.of(Iban.valueOf("DE89370400440532013000")),
+        PackedIban.of(Iban.valueOf("AT611904300234573201")));
+  }
+
+  @Test
+  public void malformedBytesShouldBeRejected() {
+    final byte[] bytes = Iban.valueOf("DE89370400440532013000").toBytes();
+
+    assertThrows(IllegalArgumentException.class, () -> PackedIban.fromBytes(new byte[0]));
+    assertThrows(IllegalArgumentException.class,
+        () -> PackedIban.fromBytes(java.util.Arrays.copyOf(bytes, bytes.length + 1)));
+    final byte[] padded = bytes.clone();
+    padded[padded.length - 1] |= 1;
+    assertThrows(IllegalArgumentException.class, () -> Iban.fromBytes(padded));
+    final byte[] invalidDigit = bytes.clone();
+    // first bban digit becomes 15
+    invalidDigit[2] |= 0x78;
+    assertThrows(IllegalArgumentException.class, () -> Iban.fromBytes(invalidDigit));
+  }
+
+  @Test
+  public void unpackableIbanShouldBeRejected() {
+    assertEquals(BbanStructure.forCountry(CountryCode.DE),
+        PackedIban.requirePackableStructure("DE89370400440532013000"));
+    assertThrows(IllegalArgumentException.class,
+        () -> PackedIban.requirePackableStructure("DE8937040044053201300X"));
+    assertThrows(IllegalArgumentException.class, () -> PackedIban.pack("XX89370400440532013000"));
+  }
+
+  @Test
+  public void brokenCheckDigitShouldBeRejected() {
+    final byte[] bytes = Iban.valueOf("DE89370400440532013000").toBytes();
+    // check digit 89 becomes 88
+    bytes[2] ^= (byte) 0x80;
+
+    assertThrows(InvalidCheckDigitException.class, () -> PackedIban.fromBytes(bytes));
+  }
+}
@@ -3,7 +3,12 @@ package org.iban4j.bban;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.iban4j.CountryCode;
 import org.iban4j.IbanFormatException;
@@ -307,5 +312,54 @@ public class BbanStructureTest {
         );
         assertThat(thrown.getMessage(), containsString("Entry type [account_type] does not exist for country [FR]"));
     }
-}
 
+    @Test
+    @DisplayName("Precompiles bban length and per position character types")
+    public void precompilesPositionTables() {
+        // GB: bank code 4a, branch code 6n, account number 8n
+        BbanStructure structure = BbanStructure.forCountry(CountryCode.GB);
+
+        assertEquals(18, structure.getBbanLength());
+        assertEquals(BbanStructureEntry.EntryCharacterType.a, structure.getCharacterType(0));
+        assertEquals(BbanStructureEntry.EntryCharacterType.n, structure.getCharacterType(4));
+        assertTrue(structure.isValidCharacter(3, 'Z'));
+        assertFalse(structure.isValidCharacter(3, '9'));
+        assertTrue(structure.isValidCharacter(4, '9'));
+        assertFalse(structure.isValidCharacter(4, 'A'));
+        assertFalse(structure.isValidCharacter(4, '\u0661'));
+    }
+
+    @Test
+    @DisplayName("Alphanumeric positions accept digits and upper case letters only")
+    public void alphanumericPositions() {
+        // FR: bank code 5n, branch code 5n, account number 11c, national check digit 2n
+        BbanStructure structure = BbanStructure.forCountry(CountryCode.FR);
+
+        assertTrue(structure.isValidCharacter(10, 'M'));
+        assertTrue(structure.isValidCharacter(10, '0'));
+        assertFalse(structure.isValidCharacter(10, 'm'));
+        assertFalse(structure.isValidCharacter(10, ' '));
+    }
+
+    @Test
+    @DisplayName("Returns entry by type and null for missing entry types")
+    public void getEntryByType() {
+        BbanStructure structure = BbanStructure.forCountry(CountryCode.FR);
+
+        assertEquals(5, structure.getEntry(BbanEntryType.branch_code).getLength());
+        assertNull(structure.getEntry(BbanEntryType.account_type));
+        assertSame(structure.getEntries(), structure.getEntries());
+    }
+
+    @Test
+    @DisplayName("Returns entry offsets within the bban and -1 for missing entry types")
+    public void getEntryOffsetByType() {
+        BbanStructure structure = BbanStructure.forCountry(CountryCode.FR);
+
+        assertEquals(0, structure.getEntryOffset(BbanEntryType.bank_code));
+        assertEquals(5, structure.getEntryOffset(BbanEntryType.branch_code));
+        assertEquals(10, structure.getEntryOffset(BbanEntryType.account_number));
+        assertEquals(21, structure.getEntryOffset(BbanEntryType.national_check_digit));
+        assertEquals(-1, structure.getEntryOffset(BbanEntryType.account_type));
+    }
+}
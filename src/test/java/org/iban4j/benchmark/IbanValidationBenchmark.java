@@ -0,0 +1,183 @@
+package org.iban4j.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.iban4j.CharacterUtil;
+import org.iban4j.CountryCode;
+import org.iban4j.Iban;
+import org.iban4j.Iban4jException;
+import org.iban4j.IbanFormatException;
+import org.iban4j.IbanFormatException.IbanFormatViolation;
+import org.iban4j.IbanUtil;
+import org.iban4j.InvalidCheckDigitException;
+import org.iban4j.UnsupportedCountryException;
+import org.iban4j.bban.BbanStructure;
+import org.iban4j.bban.BbanStructureEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing the exception based validation with the single-pass validation result.
+ *
+ * <p>The exception based baseline is a private copy of the validation {@code IbanUtil.validate}
+ * performed before the single-pass rewrite, so it keeps measuring the old path.</p>
+ *
+ * <p>Run {@link #main(String[])} with the test classpath, e.g. from the IDE.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbanValidationBenchmark {
+
+  private static final int SIZE = 1024;
+
+  /** Percentage of ibans with a broken check digit. */
+  @Param({"0", "10"})
+  public int invalidPercent;
+
+  private String[] ibans;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    ibans = new String[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      final String iban = Iban.random(random).toString();
+      ibans[i] = random.nextInt(100) < invalidPercent ? breakCheckDigit(iban) : iban;
+    }
+  }
+
+  @Benchmark
+  public void exceptionBasedValidation(final Blackhole blackhole) {
+    for (final String iban : ibans) {
+      boolean valid;
+      try {
+        exceptionBasedValidate(iban);
+        valid = true;
+      } catch (Exception e) {
+        valid = false;
+      }
+      blackhole.consume(valid);
+    }
+  }
+
+  @Benchmark
+  public void validationResult(final Blackhole blackhole) {
+    for (final String iban : ibans) {
+      blackhole.consume(IbanUtil.getValidationResult(iban));
+    }
+  }
+
+  private static final long MOD = 97;
+  private static final long MAX = 999999999;
+
+  private static void exceptionBasedValidate(final String iban) {
+    try {
+      if (iban == null) {
+        throw new IbanFormatException(IbanFormatViolation.IBAN_NOT_NULL,
+            "Null can't be a valid Iban.");
+      }
+      if (iban.length() == 0) {
+        throw new IbanFormatException(IbanFormatViolation.IBAN_NOT_EMPTY,
+            "Empty string can't be a valid Iban.");
+      }
+      if (iban.length() < 2) {
+        throw new IbanFormatException(IbanFormatViolation.COUNTRY_CODE_TWO_LETTERS, iban,
+            "Iban must contain 2 char country code.");
+      }
+      final String countryCode = iban.substring(0, 2);
+      if (!countryCode.equals(countryCode.toUpperCase())
+          || !Character.isLetter(countryCode.charAt(0))
+          || !Character.isLetter(countryCode.charAt(1))) {
+        throw new IbanFormatException(IbanFormatViolation.COUNTRY_CODE_UPPER_CASE_LETTERS,
+            countryCode, "Iban country code must contain upper case letters.");
+      }
+      final CountryCode country = CountryCode.getByCode(countryCode);
+      if (country == null) {
+        throw new IbanFormatException(IbanFormatViolation.COUNTRY_CODE_EXISTS, countryCode,
+            "Iban contains non existing country code.");
+      }
+      final BbanStructure structure = BbanStructure.forCountry(country);
+      if (structure == null) {
+        throw new UnsupportedCountryException(countryCode, "Country code is not supported.");
+      }
+      if (iban.length() < 4) {
+        throw new IbanFormatException(IbanFormatViolation.CHECK_DIGIT_TWO_DIGITS,
+            iban.substring(2), "Iban must contain 2 digit check digit.");
+      }
+      final String checkDigit = iban.substring(2, 4);
+      if (!CharacterUtil.isAsciiDigit(checkDigit.charAt(0))
+          || !CharacterUtil.isAsciiDigit(checkDigit.charAt(1))) {
+        throw new IbanFormatException(IbanFormatViolation.CHECK_DIGIT_ONLY_DIGITS, checkDigit,
+            "Iban's check digit should contain only digits.");
+      }
+
+      final String bban = iban.substring(4);
+      if (structure.getBbanLength() != bban.length()) {
+        throw new IbanFormatException(IbanFormatViolation.BBAN_LENGTH,
+            bban.length(), structure.getBbanLength(),
+            String.format("[%s] length is %d, expected BBAN length is: %d",
+                bban, bban.length(), structure.getBbanLength()));
+      }
+      int offset = 0;
+      for (final BbanStructureEntry entry : structure.getEntries()) {
+        final String entryValue = bban.substring(offset, offset + entry.getLength());
+        offset += entry.getLength();
+        BbanStructure.validateBbanEntry(country, entry.getEntryType(), entryValue);
+      }
+
+      final String reformattedIban = bban + iban.substring(0, 4);
+      long total = 0;
+      for (int i = 0; i < reformattedIban.length(); i++) {
+        final int numericValue = Character.getNumericValue(reformattedIban.charAt(i));
+        if (numericValue < 0 || numericValue > 35) {
+          throw new IbanFormatException(IbanFormatViolation.IBAN_VALID_CHARACTERS, null, null,
+              reformattedIban.charAt(i),
+              String.format("Invalid Character[%d] = '%d'", i, numericValue));
+        }
+        total = (numericValue > 9 ? total * 100 : total * 10) + numericValue;
+        if (total > MAX) {
+          total = total % MOD;
+        }
+      }
+      if (total % MOD != 1) {
+        final String expectedCheckDigit = IbanUtil.calculateCheckDigit(iban);
+        throw new InvalidCheckDigitException(checkDigit, expectedCheckDigit,
+            String.format("[%s] has invalid check digit: %s, expected check digit is: %s",
+                iban, checkDigit, expectedCheckDigit));
+      }
+    } catch (Iban4jException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      throw new IbanFormatException(IbanFormatViolation.UNKNOWN, e.getMessage());
+    }
+  }
+
+  static String breakCheckDigit(final String iban) {
+    final char digit = iban.charAt(3);
+    final char broken = digit == '9' ? '0' : (char) (digit + 1);
+    return iban.substring(0, 3) + broken + iban.substring(4);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(IbanValidationBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,92 @@
+package org.iban4j.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.iban4j.Iban;
+import org.iban4j.Mod97;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark comparing the table driven modulo 97 kernel with the former
+ * {@code Character.getNumericValue} based calculation on the rotated string.
+ *
+ * <p>Run {@link #main(String[])} with the test classpath, e.g. from the IDE.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Mod97Benchmark {
+
+  private static final int SIZE = 1024;
+
+  private String[] ibans;
+  private byte[][] asciiIbans;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    ibans = new String[SIZE];
+    asciiIbans = new byte[SIZE][];
+    for (int i = 0; i < SIZE; i++) {
+      ibans[i] = Iban.random(random).toString();
+      asciiIbans[i] = ibans[i].getBytes(StandardCharsets.US_ASCII);
+    }
+  }
+
+  @Benchmark
+  public void numericValueOnRotatedString(final Blackhole blackhole) {
+    for (final String iban : ibans) {
+      blackhole.consume(legacyMod(iban));
+    }
+  }
+
+  @Benchmark
+  public void kernelOnCharSequence(final Blackhole blackhole) {
+    for (final String iban : ibans) {
+      blackhole.consume(Mod97.ibanRemainder(iban));
+    }
+  }
+
+  @Benchmark
+  public void kernelOnBytes(final Blackhole blackhole) {
+    for (final byte[] iban : asciiIbans) {
+      blackhole.consume(Mod97.ibanRemainder(iban, 0, iban.length));
+    }
+  }
+
+  private static int legacyMod(final String iban) {
+    final String reformattedIban = iban.substring(4) + iban.substring(0, 4);
+    long total = 0;
+    for (int i = 0; i < reformattedIban.length(); i++) {
+      final int numericValue = Character.getNumericValue(reformattedIban.charAt(i));
+      total = (numericValue > 9 ? total * 100 : total * 10) + numericValue;
+      if (total > 999999999) {
+        total = (total % 97);
+      }
+    }
+    return (int) (total % 97);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(Mod97Benchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
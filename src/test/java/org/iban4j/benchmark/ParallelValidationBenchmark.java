@@ -0,0 +1,81 @@
+package org.iban4j.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.iban4j.Iban;
+import org.iban4j.IbanBatchResult;
+import org.iban4j.IbanValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark showing how bulk validation scales with the number of cores.
+ *
+ * <p>Run {@link #main(String[])} with the test classpath, e.g. from the IDE.
+ * Parallelism values above the number of available cores only add scheduling overhead.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelValidationBenchmark {
+
+  private static final int SIZE = 1_000_000;
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  private final IbanValidator validator = IbanValidator.builder().build();
+  private List<String> ibans;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    ibans = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      final String iban = Iban.random(random).toString();
+      ibans.add(random.nextInt(10) == 0 ? IbanValidationBenchmark.breakCheckDigit(iban) : iban);
+    }
+    pool = new ForkJoinPool(parallelism);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public IbanBatchResult sequential() {
+    return validator.validateAll(ibans);
+  }
+
+  @Benchmark
+  public IbanBatchResult parallel() {
+    return validator.validateAllParallel(ibans, pool);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ParallelValidationBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}